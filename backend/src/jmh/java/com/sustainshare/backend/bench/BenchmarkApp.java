@@ -0,0 +1,64 @@
+package com.sustainshare.backend.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.BackendApplication;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.FoodItemImporter;
+
+// Boots the backend on a random port against its own in-memory H2 database
+final class BenchmarkApp {
+
+	private BenchmarkApp() {}
+
+	static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(BackendApplication.class)
+				.logStartupInfo(false)
+				// Command line arguments, so they win over application.properties
+				.run("--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+						"--spring.jpa.show-sql=false",
+						"--spring.h2.console.enabled=false",
+						"--spring.devtools.restart.enabled=false",
+						"--logging.level.root=WARN");
+	}
+
+	// size users, roles assigned round robin; user i logs in as user{i}@bench.test / pw{i}
+	static List<User> seedUsers(ConfigurableApplicationContext context, int size) {
+		Role[] roles = Role.values();
+		List<User> users = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			users.add(new User("u" + i, "User " + i, "user" + i, "user" + i + "@bench.test", "pw" + i, roles[i % roles.length]));
+		}
+		return context.getBean(UserRepository.class).saveAll(users);
+	}
+
+	// size listings that stay live for the whole run
+	static void seedFood(ConfigurableApplicationContext context, int size, int quantity) {
+		FoodItemImporter importer = context.getBean(FoodItemImporter.class);
+		LocalDateTime expiry = LocalDateTime.now().plusDays(7);
+		List<FoodItem> chunk = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			FoodItem item = new FoodItem("Item " + i, quantity, "Location " + (i % 100), expiry, (long) (i % 50));
+			item.setLatitude(12.9 + (i % 1000) * 0.0001);
+			item.setLongitude(77.5 + (i / 1000) * 0.0001);
+			chunk.add(item);
+			if (chunk.size() == FoodItemImporter.MAX_BATCH_ITEMS) {
+				importer.importItems(chunk);
+				chunk = new ArrayList<>();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			importer.importItems(chunk);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.sustainshare.backend.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.service.DonationLogService;
+
+// POST /api/donations against a log that already holds size rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DonationLogBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	int size;
+
+	ConfigurableApplicationContext context;
+	DonationLogService donationLogService;
+	List<User> donors;
+	List<User> charities;
+	List<FoodItem> items;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start();
+		List<User> users = BenchmarkApp.seedUsers(context, 300);
+		donors = users.stream().filter(u -> u.getRole() == Role.DONOR).toList();
+		charities = users.stream().filter(u -> u.getRole() == Role.CHARITY).toList();
+		BenchmarkApp.seedFood(context, 1000, 10);
+		items = context.getBean(FoodItemRepository.class).findAll();
+
+		DonationLogRepository repository = context.getBean(DonationLogRepository.class);
+		LocalDateTime start = LocalDateTime.now().minusDays(365);
+		List<DonationLog> history = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			history.add(new DonationLog(donors.get(i % donors.size()), charities.get(i % charities.size()),
+					items.get(i % items.size()), start.plusMinutes(i)));
+			if (history.size() == 5000) {
+				repository.saveAll(history);
+				history.clear();
+			}
+		}
+		repository.saveAll(history);
+		donationLogService = context.getBean(DonationLogService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public DonationLog saveDonation() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		FoodItem item = new FoodItem();
+		item.setId(items.get(random.nextInt(items.size())).getId());
+		DonationLog log = new DonationLog(donors.get(random.nextInt(donors.size())),
+				charities.get(random.nextInt(charities.size())), item, null);
+		return donationLogService.saveDonation(log);
+	}
+}
@@ -0,0 +1,65 @@
+package com.sustainshare.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.service.FoodItemService;
+
+// GET /api/food and /api/food/page without the servlet layer: query + JSON serialization
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FoodListBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	int size;
+
+	ConfigurableApplicationContext context;
+	FoodItemService foodItemService;
+	ObjectMapper objectMapper;
+	List<FoodItem> loaded;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start();
+		BenchmarkApp.seedFood(context, size, 10);
+		foodItemService = context.getBean(FoodItemService.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+		loaded = foodItemService.getAllFoodItems();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public byte[] listAll() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(foodItemService.getAllFoodItems());
+	}
+
+	@Benchmark
+	public byte[] serializeOnly() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(loaded);
+	}
+
+	@Benchmark
+	public byte[] firstPage() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(foodItemService.getFoodItemPage(null, null, null, null, null));
+	}
+}
@@ -0,0 +1,66 @@
+package com.sustainshare.backend.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.service.PickupScheduleService;
+
+// POST /api/pickups for one portion of a random listing (goes through the claim engine)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PickupSchedulingBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	int size;
+
+	ConfigurableApplicationContext context;
+	PickupScheduleService pickupScheduleService;
+	long firstId;
+	User charity;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start();
+		charity = BenchmarkApp.seedUsers(context, 3).stream()
+				.filter(u -> u.getRole() == Role.CHARITY)
+				.findFirst().orElseThrow();
+		// Enough portions that no listing runs out during a run
+		BenchmarkApp.seedFood(context, size, 1_000_000);
+		firstId = context.getBean(FoodItemRepository.class).findAll().stream()
+				.mapToLong(FoodItem::getId).min().orElseThrow();
+		pickupScheduleService = context.getBean(PickupScheduleService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public PickupSchedule schedulePickup() {
+		FoodItem item = new FoodItem();
+		item.setId(firstId + ThreadLocalRandom.current().nextInt(size));
+		PickupSchedule pickup = new PickupSchedule(null, PickupStatus.SCHEDULED, item, charity);
+		pickup.setQuantity(1);
+		return pickupScheduleService.schedulePickup(pickup);
+	}
+}
@@ -0,0 +1,121 @@
+package com.sustainshare.backend.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sustainshare.backend.dto.DonationResponse;
+import com.sustainshare.backend.dto.PickupResponse;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+
+// Serializing 1,000 donations or pickups as GET /api/donations and /api/pickups return them:
+// the entities as before, or the compact responses, in JSON, CBOR, Smile and gzipped JSON.
+// The body size of each combination is printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseEncodingBenchmark {
+
+	static final int RECORDS = 1000;
+
+	@Param({"donations", "pickups"})
+	String list;
+
+	@Param({"entity", "compact"})
+	String shape;
+
+	@Param({"json", "cbor", "smile", "json+gzip"})
+	String format;
+
+	ObjectMapper mapper;
+	boolean gzip;
+	List<?> body;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		if (format.equals("cbor")) {
+			builder.factory(new CBORFactory());
+		} else if (format.equals("smile")) {
+			builder.factory(new SmileFactory());
+		}
+		mapper = builder.build();
+		gzip = format.equals("json+gzip");
+
+		List<User> donors = users(Role.DONOR, 50);
+		List<User> charities = users(Role.CHARITY, 50);
+		LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+		List<DonationLog> donations = new ArrayList<>();
+		List<PickupSchedule> pickups = new ArrayList<>();
+		for (int i = 0; i < RECORDS; i++) {
+			FoodItem item = new FoodItem("Veg biryani " + i, 20, "Plot " + i + ", Road 12, Banjara Hills",
+					start.plusDays(2), (long) (i % 50));
+			item.setId((long) i + 1);
+			DonationLog donation = new DonationLog(donors.get(i % 50), charities.get(i % 50), item, start.plusMinutes(i));
+			donation.setId((long) i + 1);
+			donation.setQuantity(5);
+			donations.add(donation);
+			PickupSchedule pickup = new PickupSchedule(start.plusHours(i), PickupStatus.SCHEDULED, item, charities.get(i % 50));
+			pickup.setId((long) i + 1);
+			pickup.setQuantity(5);
+			pickups.add(pickup);
+		}
+		boolean compact = shape.equals("compact");
+		if (list.equals("donations")) {
+			body = compact ? donations.stream().map(DonationResponse::from).toList() : donations;
+		} else {
+			body = compact ? pickups.stream().map(PickupResponse::from).toList() : pickups;
+		}
+		System.out.printf("%n%s, %s, %s: %,d bytes per %,d records%n", list, shape, format, encode().length, RECORDS);
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		if (!gzip) {
+			return mapper.writeValueAsBytes(body);
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			mapper.writeValue(out, body);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static List<User> users(Role role, int count) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String id = role.name().toLowerCase() + "-" + i;
+			User user = new User(id, "Seva Foundation " + i, id, id + "@example.org", "$2a$10$abcdefghijklmnopqrstuv", role);
+			user.setPhone("+9198480" + String.format("%05d", i));
+			user.setLatitude(17.4 + i / 1000.0);
+			user.setLongitude(78.4 + i / 1000.0);
+			users.add(user);
+		}
+		return users;
+	}
+}
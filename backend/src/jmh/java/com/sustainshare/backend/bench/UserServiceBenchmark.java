@@ -0,0 +1,68 @@
+package com.sustainshare.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserSummary;
+import com.sustainshare.backend.service.RoleDirectory;
+import com.sustainshare.backend.service.UserService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	int size;
+
+	ConfigurableApplicationContext context;
+	UserService userService;
+	RoleDirectory roleDirectory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start();
+		BenchmarkApp.seedUsers(context, size);
+		userService = context.getBean(UserService.class);
+		roleDirectory = context.getBean(RoleDirectory.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public User loginUser() {
+		int i = ThreadLocalRandom.current().nextInt(size);
+		return userService.loginUser("user" + i + "@bench.test", "pw" + i);
+	}
+
+	// Served from the role directory after the first call
+	@Benchmark
+	public List<UserSummary> getUsersByRole() {
+		return userService.getUsersByRole("charity");
+	}
+
+	// Every call misses the role directory and hits the database
+	@Benchmark
+	public List<UserSummary> getUsersByRoleUncached() {
+		roleDirectory.invalidate(Role.CHARITY);
+		return userService.getUsersByRole("charity");
+	}
+}
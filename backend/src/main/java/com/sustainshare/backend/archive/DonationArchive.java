@@ -0,0 +1,286 @@
+package com.sustainshare.backend.archive;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sustainshare.backend.dto.DonationLogView;
+
+// Cold storage for closed DonationLog months: gzip-compressed NDJSON segment files on local
+// disk, one or more per month, never modified once written. archive-manifest.json lists the
+// committed segments with their row counts and id ranges; a segment is only read once the
+// manifest naming it has been written, so a crash mid-write leaves nothing half visible.
+//
+// The directory belongs to one database (rows keep their DonationLog ids). Archiving is off
+// and the archive empty when sustainshare.archive.dir is not set.
+@Component
+public class DonationArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationArchive.class);
+    private static final String MANIFEST = "archive-manifest.json";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // One committed segment file; rows inside it are in ascending id order
+    public record Segment(String month, String file, long rows, long minId, long maxId) {
+
+        boolean covers(YearMonth from, YearMonth to) {
+            YearMonth m = YearMonth.parse(month);
+            return (from == null || !m.isBefore(from)) && (to == null || !m.isAfter(to));
+        }
+    }
+
+    record Manifest(List<Segment> segments) {}
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final ObjectWriter rowWriter;
+
+    // Replaced as a whole when a segment is committed
+    private volatile List<Segment> segments = List.of();
+
+    public DonationArchive(ObjectMapper objectMapper,
+                           @Value("${sustainshare.archive.dir:}") String directory) throws IOException {
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(DonationLogView.class);
+        this.rowWriter = objectMapper.writerFor(DonationLogView.class);
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        if (this.directory != null) {
+            Files.createDirectories(this.directory);
+            Path manifest = this.directory.resolve(MANIFEST);
+            if (Files.exists(manifest)) {
+                segments = List.copyOf(objectMapper.readValue(manifest.toFile(), Manifest.class).segments());
+            }
+            log.info("Donation archive at {}: {} segments, {} rows", this.directory, segments.size(),
+                    segments.stream().mapToLong(Segment::rows).sum());
+        }
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    // Every archived row of the months in [from, to] (null for open-ended), segment by segment
+    public void forEach(YearMonth from, YearMonth to, Consumer<DonationLogView> sink) {
+        forEach(segments, from, to, sink);
+    }
+
+    // As above, over a list taken earlier from getSegments(), so the caller knows exactly which
+    // segments were read even if the archiver commits another one meanwhile
+    public void forEach(List<Segment> segments, YearMonth from, YearMonth to, Consumer<DonationLogView> sink) {
+        for (Segment segment : segments) {
+            if (segment.covers(from, to)) {
+                scan(segment, row -> {
+                    sink.accept(row);
+                    return true;
+                });
+            }
+        }
+    }
+
+    public Optional<DonationLogView> findById(long id) {
+        DonationLogView[] found = new DonationLogView[1];
+        for (Segment segment : segments) {
+            if (id >= segment.minId() && id <= segment.maxId()) {
+                scan(segment, row -> {
+                    if (row.getId() == id) {
+                        found[0] = row;
+                    }
+                    return row.getId() < id;
+                });
+                if (found[0] != null) {
+                    return Optional.of(found[0]);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // The first limit archived rows with id > after that pass the filter, ascending by id.
+    // Segments whose ids are all at or below the cursor are skipped without being read.
+    public List<DonationLogView> findAfter(long after, int limit, Predicate<DonationLogView> filter) {
+        PriorityQueue<DonationLogView> lowest = new PriorityQueue<>(
+                Comparator.comparingLong(DonationLogView::getId).reversed());
+        for (Segment segment : segments) {
+            if (segment.maxId() <= after
+                    || (lowest.size() == limit && segment.minId() > lowest.peek().getId())) {
+                continue;
+            }
+            scan(segment, row -> {
+                if (lowest.size() == limit && row.getId() > lowest.peek().getId()) {
+                    return false;
+                }
+                if (row.getId() > after && filter.test(row)) {
+                    lowest.add(row);
+                    if (lowest.size() > limit) {
+                        lowest.poll();
+                    }
+                }
+                return true;
+            });
+        }
+        List<DonationLogView> rows = new ArrayList<>(lowest);
+        rows.sort(Comparator.comparingLong(DonationLogView::getId));
+        return rows;
+    }
+
+    // Ids already archived for a month, so an interrupted move is not archived twice
+    public Set<Long> archivedIds(YearMonth month) {
+        Set<Long> ids = new HashSet<>();
+        forEach(month, month, row -> ids.add(row.getId()));
+        return ids;
+    }
+
+    // Ids of the rows in one segment
+    public Set<Long> ids(Segment segment) {
+        Set<Long> ids = new HashSet<>();
+        scan(segment, row -> {
+            ids.add(row.getId());
+            return true;
+        });
+        return ids;
+    }
+
+    // Starts a new segment for the month; nothing is visible until SegmentWriter.commit()
+    public SegmentWriter openSegment(YearMonth month) throws IOException {
+        if (directory == null) {
+            throw new IllegalStateException("sustainshare.archive.dir is not set");
+        }
+        long existing = segments.stream().filter(s -> s.month().equals(month.toString())).count();
+        return new SegmentWriter(month, "donations-" + month + "-" + (existing + 1) + ".ndjson.gz");
+    }
+
+    // Reads one segment until the visitor returns false
+    private void scan(Segment segment, Predicate<DonationLogView> visitor) {
+        Path file = directory.resolve(segment.file());
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty() && !visitor.test(rowReader.readValue(line))) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + file, e);
+        }
+    }
+
+    private synchronized void publish(Segment segment) throws IOException {
+        List<Segment> next = new ArrayList<>(segments);
+        next.add(segment);
+        next.sort(Comparator.comparing(Segment::month).thenComparingLong(Segment::minId));
+        Path tmp = directory.resolve(MANIFEST + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+            out.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(new Manifest(next)));
+            out.getFD().sync();
+        }
+        Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        segments = List.copyOf(next);
+    }
+
+    // Writes one segment to a temp file; commit() syncs it, moves it into place and adds it to
+    // the manifest. Closing without a commit discards it. Rows must come in ascending id order.
+    public final class SegmentWriter implements Closeable {
+
+        private final YearMonth month;
+        private final String file;
+        private final Path tmp;
+        private final FileOutputStream out;
+        private final GZIPOutputStream gzip;
+        private final Writer writer;
+        private long rows;
+        private long minId;
+        private long maxId;
+        private boolean done;
+
+        private SegmentWriter(YearMonth month, String file) throws IOException {
+            this.month = month;
+            this.file = file;
+            this.tmp = directory.resolve(file + ".tmp");
+            this.out = new FileOutputStream(tmp.toFile());
+            this.gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            this.writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        public void write(DonationLogView row) throws IOException {
+            if (rows > 0 && row.getId() <= maxId) {
+                throw new IllegalArgumentException("Archive rows must be written in ascending id order");
+            }
+            writer.write(rowWriter.writeValueAsString(row));
+            writer.write('\n');
+            if (rows++ == 0) {
+                minId = row.getId();
+            }
+            maxId = row.getId();
+        }
+
+        // The committed segment, or null when no rows were written
+        public Segment commit() throws IOException {
+            done = true;
+            if (rows == 0) {
+                discard();
+                return null;
+            }
+            writer.flush();
+            gzip.finish();
+            out.getFD().sync();
+            writer.close();
+            Files.move(tmp, directory.resolve(file), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Segment segment = new Segment(month.toString(), file, rows, minId, maxId);
+            publish(segment);
+            return segment;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!done) {
+                done = true;
+                discard();
+            }
+        }
+
+        private void discard() throws IOException {
+            writer.close();
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
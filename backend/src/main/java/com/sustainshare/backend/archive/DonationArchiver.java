@@ -0,0 +1,114 @@
+package com.sustainshare.backend.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.dto.DonationLogView;
+import com.sustainshare.backend.repository.DonationLogRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Moves closed months of the donation log into the cold archive. Each month partition older
+// than keep-months is streamed into a new archive segment, and its rows are deleted from the
+// table once the segment is committed. A month that gains rows later (backdated donations)
+// gets another segment on the next run. If the process dies between the commit and the
+// delete, the next run deletes the rows that are already archived instead of copying them again.
+@Component
+public class DonationArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationArchiver.class);
+    private static final int DELETE_BATCH = 1000;
+
+    private final DonationArchive archive;
+    private final DonationLogRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int keepMonths;
+    private final Counter archivedRows;
+
+    public DonationArchiver(DonationArchive archive, DonationLogRepository repository,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry,
+                            @Value("${sustainshare.archive.keep-months:3}") int keepMonths) {
+        this.archive = archive;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.keepMonths = keepMonths;
+        this.archivedRows = Counter.builder("sustainshare.archive.rows")
+                .description("Donation log rows moved to the cold archive")
+                .register(registry);
+    }
+
+    // The current month and the keep-months before it stay in the table
+    @Scheduled(cron = "${sustainshare.archive.cron:0 30 3 * * *}")
+    public int archiveClosedMonths() {
+        return archiveBefore(YearMonth.now().minusMonths(keepMonths));
+    }
+
+    // Archives every month before the given one; returns the number of rows moved
+    public synchronized int archiveBefore(YearMonth cutoff) {
+        if (!archive.isEnabled()) {
+            return 0;
+        }
+        transactionTemplate.execute(status -> repository.assignMissingMonths());
+        List<Integer> months = readOnlyTransaction.execute(
+                status -> repository.findMonthsBefore(cutoff.getYear() * 100 + cutoff.getMonthValue()));
+        int moved = 0;
+        for (int key : months) {
+            YearMonth month = YearMonth.of(key / 100, key % 100);
+            try {
+                moved += archiveMonth(key, month);
+            } catch (RuntimeException | IOException e) {
+                // Rows stay in the table and are picked up again on the next run
+                log.warn("Archiving donations of {} failed", month, e);
+            }
+        }
+        return moved;
+    }
+
+    private int archiveMonth(int key, YearMonth month) throws IOException {
+        Set<Long> alreadyArchived = archive.archivedIds(month);
+        List<Long> ids = new ArrayList<>();
+        DonationArchive.Segment segment;
+        try (DonationArchive.SegmentWriter writer = archive.openSegment(month)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DonationLogView> rows = repository.streamMonth(key)) {
+                    rows.forEach(row -> {
+                        if (!alreadyArchived.contains(row.getId())) {
+                            try {
+                                writer.write(row);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                        ids.add(row.getId());
+                    });
+                }
+            });
+            segment = writer.commit();
+        }
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + DELETE_BATCH, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> repository.deleteAllByIdInBatch(batch));
+        }
+        long written = segment == null ? 0 : segment.rows();
+        archivedRows.increment(written);
+        log.info("Archived {} donations of {} ({} were already archived)", written, month, ids.size() - written);
+        return ids.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sustainshare.backend.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Caffeine caches for hot single-row lookups; sizes and TTL in spring.cache.caffeine.spec.
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String FOOD_ITEMS = "foodItems";
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager manager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new LoadAwareCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        manager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        manager.setCacheNames(cacheProperties.getCacheNames());
+        return manager;
+    }
+
+    // Caffeine's invalidate() does not wait for a load of the same key that is in flight, so
+    // a lookup that read the row just before a write committed could put its stale result
+    // back after the eviction. Evicting through compute() waits for that load (lookups use
+    // sync = true, i.e. the same per-key computation) and then removes what it stored.
+    // clear() (allEntries = true) has no such guarantee, so write paths evict by key.
+    static class LoadAwareCaffeineCache extends CaffeineCache {
+
+        LoadAwareCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                               boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        public void evict(Object key) {
+            getNativeCache().asMap().compute(key, (k, v) -> null);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean[] present = new boolean[1];
+            getNativeCache().asMap().compute(key, (k, v) -> {
+                present[0] = v != null;
+                return null;
+            });
+            return present[0];
+        }
+    }
+}
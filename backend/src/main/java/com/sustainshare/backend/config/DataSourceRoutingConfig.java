@@ -0,0 +1,60 @@
+package com.sustainshare.backend.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.sustainshare.backend.datasource.ReplicaPool;
+
+// Read replicas (sustainshare.datasource.replicas). With none configured the application keeps
+// Boot's DataSource as it is. With some, that DataSource is wrapped in a
+// LazyConnectionDataSourceProxy: a connection is only taken when a transaction runs its first
+// statement, and one marked read-only by then (@Transactional(readOnly = true)) is taken from
+// the replica side, which ReadRouting and the replica pool narrow down.
+// Decided at startup rather than with @ConditionalOnProperty so an AOT-processed build can still
+// be pointed at replicas.
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(Environment environment,
+                                   @Value("${sustainshare.datasource.max-lag:PT2S}") Duration maxLag,
+                                   @Value("${sustainshare.datasource.heartbeat-interval:PT1S}") Duration heartbeatInterval,
+                                   @Value("${sustainshare.datasource.replica-pool-size:10}") int poolSize,
+                                   @Value("${sustainshare.datasource.replica-connect-timeout:PT0.5S}") Duration connectTimeout) {
+        List<ReplicaPool.Settings> replicas = Binder.get(environment)
+                .bind("sustainshare.datasource.replicas", Bindable.listOf(ReplicaPool.Settings.class))
+                .orElse(List.of());
+        return new ReplicaPool(replicas, maxLag, heartbeatInterval, poolSize, connectTimeout);
+    }
+
+    @Bean
+    static BeanPostProcessor replicaRouting(ObjectProvider<ReplicaPool> replicaPool) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                ReplicaPool pool = replicaPool.getObject();
+                if (pool.isEmpty()) {
+                    return bean;
+                }
+                LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+                routing.setReadOnlyDataSource(pool.routingTo(primary));
+                return routing;
+            }
+        };
+    }
+}
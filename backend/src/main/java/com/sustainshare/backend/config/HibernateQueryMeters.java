@@ -0,0 +1,51 @@
+package com.sustainshare.backend.config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Per-query execution timers (hibernate.query{query=...}) read from Hibernate statistics.
+// Session factory wide counters (hibernate.statements, hibernate.query.executions, ...) are
+// bound by Spring Boot. New queries are picked up on a timer rather than on every entity
+// load, so the cost does not grow with result sizes. Nothing is registered while
+// statistics are off (metrics-lite profile).
+@Component
+public class HibernateQueryMeters {
+
+    private final Statistics statistics;
+    private final MeterRegistry registry;
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+    public HibernateQueryMeters(EntityManagerFactory entityManagerFactory, MeterRegistry registry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.registry = registry;
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.metrics.query-refresh:PT30S}")
+    public void registerNewQueries() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String query : statistics.getQueries()) {
+            if (registered.add(query)) {
+                QueryStatistics stats = statistics.getQueryStatistics(query);
+                FunctionTimer.builder("hibernate.query", stats,
+                                QueryStatistics::getExecutionCount,
+                                QueryStatistics::getExecutionTotalTime, TimeUnit.MILLISECONDS)
+                        .description("Executions and total time of one HQL/JPQL query")
+                        .tag("query", query)
+                        .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sustainshare.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.sustainshare.backend.notification.LoggingNotificationSender;
+import com.sustainshare.backend.notification.NotificationSender;
+import com.sustainshare.backend.notification.TwilioNotificationSender;
+
+// Twilio when credentials are configured, otherwise the logging stub. Chosen when the bean is
+// created rather than by a bean condition, which AOT processing would fix at build time.
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    public NotificationSender notificationSender(
+            @Value("${sustainshare.notifications.twilio.account-sid:}") String accountSid,
+            @Value("${sustainshare.notifications.twilio.auth-token:}") String authToken,
+            @Value("${sustainshare.notifications.twilio.from-number:}") String fromNumber,
+            @Value("${sustainshare.notifications.stub.latency:PT0S}") Duration latency,
+            @Value("${sustainshare.notifications.stub.failure-rate:0}") double failureRate) {
+        if (StringUtils.hasText(accountSid)) {
+            return new TwilioNotificationSender(accountSid, authToken, fromNumber);
+        }
+        return new LoggingNotificationSender(latency, failureRate);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sustainshare.backend.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Under spring.main.lazy-initialization (production profile) a bean nothing asks for is
+    // never created, so its @Scheduled methods would never run: keep those beans eager
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> type) {
+        Map<Method, Set<Scheduled>> scheduled = MethodIntrospector.selectMethods(type,
+                (MethodIntrospector.MetadataLookup<Set<Scheduled>>) method -> {
+                    Set<Scheduled> annotations = AnnotatedElementUtils.getMergedRepeatableAnnotations(
+                            method, Scheduled.class, Schedules.class);
+                    return annotations.isEmpty() ? null : annotations;
+                });
+        return !scheduled.isEmpty();
+    }
+}
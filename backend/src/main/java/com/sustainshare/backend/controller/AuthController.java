@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.sustainshare.backend.model.User;
 import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.CharityLocationIndex;
+import com.sustainshare.backend.service.RoleDirectory;
 import java.util.Optional;
 
 @RestController
@@ -20,6 +22,12 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RoleDirectory roleDirectory;
+
+    @Autowired
+    private CharityLocationIndex charityLocationIndex;
+
     @PostMapping("/signup")
     public ResponseEntity<String> registerUser(@RequestBody User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -29,6 +37,8 @@ public class AuthController {
             return ResponseEntity.badRequest().body("Email already exists!");
         }
         userRepository.save(user);
+        roleDirectory.invalidate(user.getRole());
+        charityLocationIndex.track(user);
         return ResponseEntity.ok("User registered successfully!");
     }
 
@@ -1,9 +1,23 @@
 package com.sustainshare.backend.controller;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,8 +25,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.DonationLogView;
+import com.sustainshare.backend.dto.DonationResponse;
 import com.sustainshare.backend.model.DonationLog;
 import com.sustainshare.backend.service.DonationLogService;
 
@@ -21,22 +43,148 @@ import com.sustainshare.backend.service.DonationLogService;
 @RequestMapping("/api/donations")
 public class DonationLogController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String CSV_HEADER =
+            "id,donatedAt,donorId,donorName,charityId,charityName,foodItemId,foodItemName,quantity\r\n";
+    private static final int FLUSH_EVERY = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     @Autowired
     private DonationLogService donationLogService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
-    public DonationLog saveDonation(@RequestBody DonationLog log) {
-        return donationLogService.saveDonation(log);
+    public DonationResponse saveDonation(@RequestBody DonationLog log) {
+        return DonationResponse.from(donationLogService.saveDonation(log));
     }
 
+    // Deprecated: the whole history, archive included, in one response. Clients should page
+    // through /view instead (or download /export); responses carry Deprecation and Link headers.
+    @Deprecated
     @GetMapping
-    public List<DonationLog> getAllDonations() {
-        return donationLogService.getAllDonations();
+    public ResponseEntity<List<DonationResponse>> getAllDonations() {
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/donations/view>; rel=\"successor-version\"")
+                .body(donationLogService.getAllDonations().stream().map(DonationResponse::from).toList());
+    }
+
+    // Paged, flat donation rows: GET /api/donations/view?after={nextCursor}&limit=&donorId=&charityId=
+    @GetMapping("/view")
+    public CursorPage<DonationLogView> getDonationViews(@RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String donorId,
+                                                        @RequestParam(required = false) String charityId) {
+        return donationLogService.getDonationViews(after, limit, donorId, charityId);
+    }
+
+    // Full donation history for audits, streamed row by row in constant memory:
+    // GET /api/donations/export?format=csv|ndjson&from=2025-01-01&to=2025-12-31&donorId=&charityId=&gzip=true
+    // from/to are inclusive dates. With gzip=true the download is a .gz file.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDonations(@RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                 @RequestParam(required = false) String donorId,
+                                                                 @RequestParam(required = false) String charityId,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime start = from == null ? null : from.atStartOfDay();
+        LocalDateTime end = to == null ? null : to.plusDays(1).atStartOfDay();
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            if (csv) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+                writer.write(CSV_HEADER);
+                int[] written = {0};
+                donationLogService.exportDonations(start, end, donorId, charityId, row -> {
+                    try {
+                        writeCsvRow(writer, row);
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.close();
+            } else {
+                try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(target)) {
+                    int[] written = {0};
+                    donationLogService.exportDonations(start, end, donorId, charityId, row -> {
+                        try {
+                            writer.write(row);
+                            if (++written[0] % FLUSH_EVERY == 0) {
+                                writer.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        };
+
+        String filename = "donations." + (csv ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+        MediaType type = gzip ? MediaType.parseMediaType("application/gzip")
+                : csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : NDJSON;
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private static void writeCsvRow(Writer writer, DonationLogView row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getDonatedAt() == null ? "" : row.getDonatedAt().toString());
+        writer.write(',');
+        writeCsvField(writer, row.getDonorId());
+        writer.write(',');
+        writeCsvField(writer, row.getDonorName());
+        writer.write(',');
+        writeCsvField(writer, row.getCharityId());
+        writer.write(',');
+        writeCsvField(writer, row.getCharityName());
+        writer.write(',');
+        writer.write(row.getFoodItemId() == null ? "" : row.getFoodItemId().toString());
+        writer.write(',');
+        writeCsvField(writer, row.getFoodItemName());
+        writer.write(',');
+        writer.write(Integer.toString(row.getQuantity()));
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting. Text starting with = + - @ is prefixed with ' so spreadsheets
+    // do not evaluate user-supplied names as formulas.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
     }
 
     @GetMapping("/{id}")
-    public Optional<DonationLog> getDonationById(@PathVariable Long id) {
-        return donationLogService.getDonationById(id);
+    public Optional<DonationResponse> getDonationById(@PathVariable Long id) {
+        return donationLogService.getDonationById(id).map(DonationResponse::from);
     }
 
     @DeleteMapping("/{id}")
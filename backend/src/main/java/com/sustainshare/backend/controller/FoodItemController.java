@@ -1,8 +1,15 @@
 package com.sustainshare.backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,32 +17,184 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sustainshare.backend.dto.BatchImportResult;
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.FoodChanges;
+import com.sustainshare.backend.dto.MatchProposal;
+import com.sustainshare.backend.dto.NearbyFoodItem;
 import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.service.FoodChangeTracker;
+import com.sustainshare.backend.service.FoodEventBroadcaster;
+import com.sustainshare.backend.service.FoodItemImporter;
 import com.sustainshare.backend.service.FoodItemService;
+import com.sustainshare.backend.service.MatchingService;
 
 @CrossOrigin(origins = "http://localhost:3000") // Allow frontend to access
 @RestController
 @RequestMapping("/api/food")
 public class FoodItemController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int FLUSH_EVERY = 256;
+
     @Autowired
     private FoodItemService foodItemService;
 
+    @Autowired
+    private FoodItemImporter foodItemImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FoodEventBroadcaster foodEventBroadcaster;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private FoodChangeTracker foodChangeTracker;
+
     @PostMapping
     public FoodItem addFoodItem(@RequestBody FoodItem item) {
         return foodItemService.addFood(item);
     }
 
+    // Bulk listing upload: valid items are saved in JDBC batches, invalid ones reported per row
+    @PostMapping("/batch")
+    public ResponseEntity<BatchImportResult> addFoodItems(@RequestBody List<FoodItem> items) {
+        try {
+            return ResponseEntity.ok(foodItemImporter.importItems(items));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Streaming CSV upload; header row names the columns (name,quantity,pickupLocation,expiryTime,...)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<BatchImportResult> importFoodItems(InputStream csv) throws IOException {
+        try {
+            return ResponseEntity.ok(foodItemImporter.importCsv(csv));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Whole list with a strong ETag; If-None-Match with the current tag gets a 304 without a query
     @GetMapping
-    public List<FoodItem> getAllFoodItems() {
-        return foodItemService.getAllFoodItems();
+    public ResponseEntity<List<FoodItem>> getAllFoodItems(WebRequest request) {
+        String etag = foodChangeTracker.listTag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(foodItemService.getAllFoodItems());
+    }
+
+    // Delta sync: GET /api/food/changes?since={version from the last call, 0 at first}&limit=
+    @GetMapping("/changes")
+    public FoodChanges getChanges(@RequestParam(defaultValue = "0") long since,
+                                  @RequestParam(required = false) Integer limit) {
+        return foodItemService.getChangesSince(since, limit);
+    }
+
+    // Cursor pagination: GET /api/food/page?after={nextCursor}&limit=100&donorId=&location=&minQuantity=
+    @GetMapping("/page")
+    public CursorPage<FoodItem> getFoodItemPage(@RequestParam(required = false) Long after,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(required = false) Long donorId,
+                                        @RequestParam(required = false) String location,
+                                        @RequestParam(required = false) Integer minQuantity) {
+        return foodItemService.getFoodItemPage(after, limit, donorId, location, minQuantity);
+    }
+
+    // Streams every matching listing as newline-delimited JSON, one row at a time
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamFoodItems(@RequestParam(required = false) Long donorId,
+                                                                 @RequestParam(required = false) String location,
+                                                                 @RequestParam(required = false) Integer minQuantity) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                int[] written = {0};
+                foodItemService.streamFoodItems(donorId, location, minQuantity, item -> {
+                    try {
+                        writer.write(item);
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Server-sent events for created, deleted, claimed and expired listings.
+    // Clients apply these to the list they already have instead of re-fetching it.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToFoodEvents() {
+        SseEmitter emitter = foodEventBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Live listings expiring within an ISO-8601 duration, e.g. GET /api/food/expiring?within=PT2H
+    @GetMapping("/expiring")
+    public List<FoodItem> getExpiringFood(@RequestParam(defaultValue = "PT1H") Duration within,
+                                          @RequestParam(required = false) Integer limit) {
+        return foodItemService.getExpiringFood(within, limit);
+    }
+
+    // Nearest live listings: GET /api/food/nearby?lat=17.40&lng=78.48&limit=10 (add radiusKm= for a radius search)
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyFoodItem>> getNearbyFood(@RequestParam double lat,
+                                                              @RequestParam double lng,
+                                                              @RequestParam(required = false) Double radiusKm,
+                                                              @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(foodItemService.getNearbyFood(lat, lng, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Charities proposed for a listing, best first; matched on demand if it has not been yet
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<List<MatchProposal>> getMatches(@PathVariable Long id) {
+        List<MatchProposal> matches = matchingService.getProposals(id);
+        if (matches == null) {
+            FoodItem item = foodItemService.getFoodById(id);
+            if (item == null) {
+                return ResponseEntity.notFound().build();
+            }
+            matches = matchingService.match(item);
+        }
+        return ResponseEntity.ok(matches);
     }
 
+    // Served from the listing cache; the ETag is the listing's change version
     @GetMapping("/{id}")
-    public FoodItem getFoodById(@PathVariable Long id) {
-        return foodItemService.getFoodById(id);
+    public ResponseEntity<FoodItem> getFoodById(@PathVariable Long id, WebRequest request) {
+        FoodItem item = foodItemService.getFoodById(id);
+        if (item == null || item.getChangeVersion() == null) {
+            return ResponseEntity.ok(item);
+        }
+        String etag = "\"" + id + "-" + item.getChangeVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(item);
     }
 
     @DeleteMapping("/{id}")
@@ -1,9 +1,13 @@
 package com.sustainshare.backend.controller;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +15,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sustainshare.backend.dto.ClaimRequest;
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.PickupResponse;
+import com.sustainshare.backend.dto.PickupView;
+import com.sustainshare.backend.dto.RoutePlan;
 import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.service.FoodClaimService;
 import com.sustainshare.backend.service.PickupScheduleService;
+import com.sustainshare.backend.service.RouteService;
 
 
 
@@ -26,26 +38,126 @@ public class PickupScheduleController {
     @Autowired
     private PickupScheduleService pickupScheduleService;
 
+    private static final Duration MAX_ROUTE_WINDOW = Duration.ofDays(7);
 
+    @Autowired
+    private FoodClaimService foodClaimService;
 
-    @PostMapping
-    public PickupSchedule schedulePickup(@RequestBody PickupSchedule pickup) {
-        PickupSchedule savedPickup = pickupScheduleService.schedulePickup(pickup);
+    @Autowired
+    private RouteService routeService;
 
-  
 
-    return savedPickup;
-}
+
+    @PostMapping
+    public PickupResponse schedulePickup(@RequestBody PickupSchedule pickup) {
+        return PickupResponse.from(pickupScheduleService.schedulePickup(pickup));
+    }
+
+    // Reserve some or all of a food item; 409 if it is gone or another charity got there first
+    @PostMapping("/claim")
+    public ResponseEntity<PickupResponse> claimFood(@RequestBody ClaimRequest request) {
+        try {
+            return ResponseEntity.ok(PickupResponse.from(foodClaimService.claim(request.getFoodItemId(),
+                    request.getCharityId(), request.getQuantity(), request.getScheduledTime())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
     
 
     @GetMapping
-    public List<PickupSchedule> getAllPickups() {
-        return pickupScheduleService.getAllPickups();
+    public List<PickupResponse> getAllPickups() {
+        return pickupScheduleService.getAllPickups().stream().map(PickupResponse::from).toList();
+    }
+
+    // Paged, flat pickup rows: GET /api/pickups/view?after={nextCursor}&limit=&charityId=&status=
+    @GetMapping("/view")
+    public ResponseEntity<CursorPage<PickupView>> getPickupViews(@RequestParam(required = false) Long after,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(required = false) String charityId,
+                                                                 @RequestParam(required = false) String status) {
+        try {
+            return ResponseEntity.ok(pickupScheduleService.getPickupViews(after, limit, charityId, status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Every pickup of a food listing, earliest first: GET /api/pickups/food/{foodItemId}
+    @GetMapping("/food/{foodItemId}")
+    public List<PickupView> getPickupsForFood(@PathVariable Long foodItemId) {
+        return pickupScheduleService.getPickupsForFood(foodItemId);
+    }
+
+    // A charity's pickups in a window (default the next 7 days, at most 31):
+    // GET /api/pickups/charity/{charityId}?from=&to=&limit=
+    @GetMapping("/charity/{charityId}")
+    public ResponseEntity<List<PickupView>> getPickupsForCharity(@PathVariable String charityId,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                 @RequestParam(required = false) Integer limit) {
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        try {
+            return ResponseEntity.ok(pickupScheduleService.getPickupsForCharity(charityId, start,
+                    to == null ? start.plusDays(7) : to, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Pickups in one status in a window, e.g. overdue ones:
+    // GET /api/pickups/status/Scheduled?from=&to=&limit= (default the next 7 days, at most 31)
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<PickupView>> getPickupsByStatus(@PathVariable String status,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                               @RequestParam(required = false) Integer limit) {
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        try {
+            return ResponseEntity.ok(pickupScheduleService.getPickupsByStatus(status, start,
+                    to == null ? start.plusDays(7) : to, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Optimized visiting order for a charity's scheduled pickups:
+    // GET /api/pickups/route/{charityId}?from=&to=&departAt= (ISO date-times; defaults to the
+    // next 24 hours, leaving now or at the start of the window)
+    @GetMapping("/route/{charityId}")
+    public ResponseEntity<RoutePlan> planRoute(@PathVariable String charityId,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departAt) {
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        LocalDateTime end = to == null ? start.plusDays(1) : to;
+        if (!end.isAfter(start) || end.isAfter(start.plus(MAX_ROUTE_WINDOW))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(routeService.planForCharity(charityId, start, end, departAt == null ? laterOfNowAnd(start) : departAt));
+    }
+
+    // Same for every charity with scheduled pickups in the window, planned in parallel
+    @GetMapping("/routes")
+    public ResponseEntity<List<RoutePlan>> planRoutes(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departAt) {
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        LocalDateTime end = to == null ? start.plusDays(1) : to;
+        if (!end.isAfter(start) || end.isAfter(start.plus(MAX_ROUTE_WINDOW))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(routeService.planAll(start, end, departAt == null ? laterOfNowAnd(start) : departAt));
+    }
+
+    private static LocalDateTime laterOfNowAnd(LocalDateTime time) {
+        LocalDateTime now = LocalDateTime.now();
+        return time.isAfter(now) ? time : now;
     }
 
     @GetMapping("/{id}")
-    public Optional<PickupSchedule> getPickupById(@PathVariable Long id) {
-        return pickupScheduleService.getPickupById(id);
+    public Optional<PickupResponse> getPickupById(@PathVariable Long id) {
+        return pickupScheduleService.getPickupById(id).map(PickupResponse::from);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,59 @@
+package com.sustainshare.backend.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sustainshare.backend.dto.StatsSummary;
+import com.sustainshare.backend.dto.StatsTotals;
+import com.sustainshare.backend.service.DonationStatsService;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private static final int MAX_DAYS = 366;
+
+    @Autowired
+    private DonationStatsService donationStatsService;
+
+    // Served from the in-memory rollups; no query runs per request
+    @GetMapping("/summary")
+    public StatsSummary getSummary() {
+        return donationStatsService.getSummary();
+    }
+
+    @GetMapping("/donors/{id}")
+    public StatsTotals getDonorTotals(@PathVariable String id) {
+        return donationStatsService.getDonorTotals(id);
+    }
+
+    @GetMapping("/charities/{id}")
+    public StatsTotals getCharityTotals(@PathVariable String id) {
+        return donationStatsService.getCharityTotals(id);
+    }
+
+    // GET /api/stats/daily?from=2025-01-01&to=2025-01-31 (defaults to the last 30 days)
+    @GetMapping("/daily")
+    public ResponseEntity<?> getDailyTotals(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(29) : from;
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            return ResponseEntity.badRequest().body("from must be on or before to, at most " + MAX_DAYS + " days apart");
+        }
+        Map<LocalDate, StatsTotals> days = donationStatsService.getDailyTotals(start, end);
+        return ResponseEntity.ok(days);
+    }
+}
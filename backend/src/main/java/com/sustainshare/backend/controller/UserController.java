@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserSummary;
 import com.sustainshare.backend.service.UserService;
 
 
@@ -39,7 +40,7 @@ public class UserController {
     }
 
     @GetMapping("/role/{role}")
-    public List<User> getUsersByRole(@PathVariable String role) {
+    public List<UserSummary> getUsersByRole(@PathVariable String role) {
         return userService.getUsersByRole(role);
     }
 }
@@ -0,0 +1,56 @@
+package com.sustainshare.backend.datasource;
+
+import java.util.function.Supplier;
+
+// Which database the current thread's reads may use. Only read-only transactions started inside
+// fromReplica() go to a replica; everything else, including any read-only transaction outside
+// it (sweepers, the outbox relay, reads that follow a write), stays on the primary. onPrimary()
+// wins over fromReplica(), so a pinned request keeps reading its own writes.
+//
+// The replica is picked when the transaction's first statement runs. Under open-in-view a
+// request's EntityManager then keeps that connection until the request ends, so a request that
+// wrote after a replica read would write to the replica: ReadYourWritesFilter pins every request
+// that is not a GET, HEAD or OPTIONS to the primary for that reason as well.
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    // Restores the previous routing of the thread when closed
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static <T> T fromReplica(Supplier<T> read) {
+        try (Scope scope = enter(REPLICA)) {
+            return read.get();
+        }
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        try (Scope scope = pinToPrimary()) {
+            return work.get();
+        }
+    }
+
+    static Scope pinToPrimary() {
+        return enter(PRIMARY);
+    }
+
+    static boolean replicaAllowed() {
+        return REPLICA.get() != null && PRIMARY.get() == null;
+    }
+
+    private static Scope enter(ThreadLocal<Boolean> flag) {
+        Boolean previous = flag.get();
+        flag.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                flag.remove();
+            }
+        };
+    }
+}
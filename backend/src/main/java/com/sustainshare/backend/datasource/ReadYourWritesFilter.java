@@ -0,0 +1,57 @@
+package com.sustainshare.backend.datasource;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Read-your-writes: once a client has sent a write (anything but GET, HEAD or OPTIONS), its
+// requests read from the primary for ReplicaPool.window(), by which time every replica still
+// in rotation has the write. Clients are told apart by address (the frontend sends no
+// credentials cross-origin, so a cookie would not come back); clients behind one address share
+// the pin, which only costs replica offload. Pins are kept per instance: behind a load balancer
+// with several instances, use address affinity.
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReplicaPool replicaPool;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(replicaPool.window())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (replicaPool.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String client = request.getRemoteAddr();
+        if (!READS.contains(request.getMethod())) {
+            recentWriters.put(client, Boolean.TRUE);
+        } else if (recentWriters.getIfPresent(client) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadRouting.Scope scope = ReadRouting.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.sustainshare.backend.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Measures replica lag with a heartbeat row (replica_heartbeat) that the primary rewrites every
+// heartbeat interval. Each round reads the primary's current beat and each replica's copy of
+// it, then writes the next beat: a replica that has caught up holds the same beat (lag 0), one
+// that has not is behind by the difference. Any database works, as long as the table is
+// replicated; several instances may share the row. Lags are published as
+// sustainshare.datasource.replica.lag{replica}.
+@Component
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String READ_BEAT = "select beat_millis from replica_heartbeat where id = 1";
+
+    private final ReplicaPool replicaPool;
+    private final JdbcTemplate primary;
+    private final Map<ReplicaPool.Replica, JdbcTemplate> replicas = new LinkedHashMap<>();
+
+    public ReplicaLagMonitor(ReplicaPool replicaPool, JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.replicaPool = replicaPool;
+        this.primary = jdbcTemplate;
+        for (ReplicaPool.Replica replica : replicaPool.replicas()) {
+            replicas.put(replica, new JdbcTemplate(replica.dataSource()));
+            Gauge.builder("sustainshare.datasource.replica.lag", replica, ReplicaPool.Replica::lagMillis)
+                    .description("Replica lag at the last heartbeat, -1 while out of reach")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+        if (!replicaPool.isEmpty()) {
+            FunctionCounter.builder("sustainshare.datasource.replica.fallbacks", replicaPool, ReplicaPool::fallbacks)
+                    .description("Replica reads served by the primary because no replica was in rotation")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.datasource.heartbeat-interval:PT1S}",
+            initialDelayString = "${sustainshare.datasource.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        heartbeat(System.currentTimeMillis());
+    }
+
+    public synchronized void heartbeat(long now) {
+        if (replicaPool.isEmpty()) {
+            return;
+        }
+        Long beat = primary.query(READ_BEAT, rs -> rs.next() ? rs.getLong(1) : null);
+        replicas.forEach((replica, jdbc) -> {
+            long lag;
+            try {
+                Long seen = jdbc.query(READ_BEAT, rs -> rs.next() ? rs.getLong(1) : null);
+                lag = beat == null || seen == null ? -1 : Math.max(0, beat - seen);
+            } catch (DataAccessException e) {
+                log.debug("Heartbeat check of {} failed", replica.name(), e);
+                lag = -1;
+            }
+            if (replicaPool.update(replica, lag)) {
+                if (replica.healthy()) {
+                    log.info("Read replica {} back in rotation ({} ms behind)", replica.name(), lag);
+                } else {
+                    log.warn("Read replica {} taken out of rotation ({})", replica.name(),
+                            lag < 0 ? "unreachable or no heartbeat" : lag + " ms behind");
+                }
+            }
+        });
+        if (beat == null) {
+            try {
+                primary.update("insert into replica_heartbeat (id, beat_millis) values (1, ?)", now);
+            } catch (DuplicateKeyException e) {
+                // another instance wrote the first beat
+            }
+        } else {
+            primary.update("update replica_heartbeat set beat_millis = ? where id = 1", Math.max(now, beat + 1));
+        }
+    }
+}
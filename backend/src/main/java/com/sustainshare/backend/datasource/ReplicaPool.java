@@ -0,0 +1,130 @@
+package com.sustainshare.backend.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// The read replicas and how far behind each one is. A replica takes reads only while its last
+// measured lag (ReplicaLagMonitor) is at most maxLag; until it has been measured, after a failed
+// check or a failed connection it is out of rotation. Healthy replicas are used in turn.
+public class ReplicaPool implements AutoCloseable {
+
+    // sustainshare.datasource.replicas[n].*
+    public record Settings(String url, String username, String password) {}
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile long lagMillis = -1;
+        private volatile boolean healthy;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() { return name; }
+        public HikariDataSource dataSource() { return dataSource; }
+
+        // -1 until measured or while unreachable
+        public long lagMillis() { return lagMillis; }
+        public boolean healthy() { return healthy; }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final Duration heartbeatInterval;
+    private final AtomicInteger turn = new AtomicInteger();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaPool(List<Settings> settings, Duration maxLag, Duration heartbeatInterval,
+                       int poolSize, Duration connectTimeout) {
+        this.maxLag = maxLag;
+        this.heartbeatInterval = heartbeatInterval;
+        for (int i = 0; i < settings.size(); i++) {
+            Settings replica = settings.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            String name = "replica-" + (i + 1);
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setReadOnly(true);
+            // A replica that is down costs a read this long before it falls back to the primary
+            dataSource.setConnectionTimeout(connectTimeout.toMillis());
+            replicas.add(new Replica(name, dataSource));
+        }
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    // How long after a change a read may still miss it on a replica in rotation: the replica
+    // was at most maxLag behind when last measured, which is at most one heartbeat ago
+    public Duration window() {
+        return maxLag.plus(heartbeatInterval);
+    }
+
+    // Reads that wanted a replica but got the primary because none was in rotation
+    public long fallbacks() {
+        return fallbacks.get();
+    }
+
+    // Connections for read-only transactions: a replica in rotation when ReadRouting allows it,
+    // otherwise the primary
+    public DataSource routingTo(DataSource primary) {
+        return new ReplicaRoutingDataSource(primary, this);
+    }
+
+    // The next healthy replica in turn, or null when there is none
+    Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(turn.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        fallbacks.incrementAndGet();
+        return null;
+    }
+
+    // Returns true when the replica joins or leaves the rotation
+    boolean update(Replica replica, long lagMillis) {
+        boolean healthy = lagMillis >= 0 && lagMillis <= maxLag.toMillis();
+        boolean changed = healthy != replica.healthy;
+        replica.lagMillis = lagMillis;
+        replica.healthy = healthy;
+        return changed;
+    }
+
+    // Out of rotation until the next successful check
+    boolean markDown(Replica replica) {
+        return update(replica, -1);
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+}
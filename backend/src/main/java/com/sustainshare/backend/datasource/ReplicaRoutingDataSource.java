@@ -0,0 +1,49 @@
+package com.sustainshare.backend.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+// The read-only side of the application's DataSource (LazyConnectionDataSourceProxy asks it
+// for a connection once a read-only transaction runs its first statement): a replica in
+// rotation when the thread may read from one, otherwise, or when that replica cannot be
+// reached, the primary.
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+
+    ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadRouting.replicaAllowed()) {
+            ReplicaPool.Replica replica;
+            while ((replica = replicaPool.next()) != null) {
+                try {
+                    return replica.dataSource().getConnection();
+                } catch (SQLException e) {
+                    if (replicaPool.markDown(replica)) {
+                        log.warn("Read replica {} taken out of rotation: {}", replica.name(), e.getMessage());
+                    }
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+}
@@ -0,0 +1,66 @@
+package com.sustainshare.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk food listing import (JSON batch or CSV)
+public class BatchImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private int received;
+    private int saved;
+    private int rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void reject(int row, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public void finish(long elapsedNanos) {
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : saved / (elapsedNanos / 1e9);
+    }
+
+    // Getters & Setters
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+
+    public int getSaved() { return saved; }
+    public void setSaved(int saved) { this.saved = saved; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public static class RowError {
+        private int row; // 1-based; for CSV this is the line number
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sustainshare.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Body of POST /api/pickups/claim; quantity may be omitted to claim everything left
+public class ClaimRequest {
+
+    private Long foodItemId;
+    private String charityId;
+    private Integer quantity;
+    private LocalDateTime scheduledTime;
+
+    // Getters & Setters
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+}
@@ -0,0 +1,54 @@
+package com.sustainshare.backend.dto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+// Helpers for the hand-written response serializers. Field names are encoded once, up front
+// (SerializedString caches their quoted UTF-8 form), and values are written straight to the
+// generator, so JSON, CBOR and Smile all skip bean introspection and per-call lookups.
+final class CompactJson {
+
+    static final SerializedString ID = new SerializedString("id");
+    static final SerializedString NAME = new SerializedString("name");
+    static final SerializedString QUANTITY = new SerializedString("quantity");
+
+    private CompactJson() {}
+
+    // Same text as the default LocalDateTime serialization, e.g. "2025-07-01T18:30:00"
+    static void writeTime(JsonGenerator gen, SerializableString name, LocalDateTime time) throws IOException {
+        gen.writeFieldName(name);
+        if (time == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+        }
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    // A nested {"id": ..., "name": ...} reference to another entity, or null without an id
+    static void writeRef(JsonGenerator gen, SerializableString name, String id, String refName) throws IOException {
+        gen.writeFieldName(name);
+        if (id == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        gen.writeString(id);
+        writeString(gen, NAME, refName);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,47 @@
+package com.sustainshare.backend.dto;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// One keyset page of rows ordered by id; pass nextCursor as "after" to fetch the next page
+public class CursorPage<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private List<T> items;
+    private Long nextCursor; // null when there are no more rows
+    private int limit;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, Long nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    // A full page means there may be more rows after the last id
+    public static <T> CursorPage<T> of(List<T> items, int limit, ToLongFunction<T> idOf) {
+        Long nextCursor = items.size() < limit ? null : idOf.applyAsLong(items.get(items.size() - 1));
+        return new CursorPage<>(items, nextCursor, limit);
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Getters & Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
@@ -0,0 +1,63 @@
+package com.sustainshare.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Flat read model of a DonationLog: ids and display names only, no nested entities or passwords.
+// Built directly by a JPQL constructor expression, so a page is a single joined select.
+public class DonationLogView {
+
+    private Long id;
+    private LocalDateTime donatedAt;
+    private String donorId;
+    private String donorName;
+    private String charityId;
+    private String charityName;
+    private Long foodItemId;
+    private String foodItemName;
+    private int quantity;
+
+    // Constructors
+    public DonationLogView() {}
+
+    public DonationLogView(Long id, LocalDateTime donatedAt, String donorId, String donorName,
+                           String charityId, String charityName, Long foodItemId, String foodItemName,
+                           int quantity) {
+        this.id = id;
+        this.donatedAt = donatedAt;
+        this.donorId = donorId;
+        this.donorName = donorName;
+        this.charityId = charityId;
+        this.charityName = charityName;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+        this.quantity = quantity;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getDonatedAt() { return donatedAt; }
+    public void setDonatedAt(LocalDateTime donatedAt) { this.donatedAt = donatedAt; }
+
+    public String getDonorId() { return donorId; }
+    public void setDonorId(String donorId) { this.donorId = donorId; }
+
+    public String getDonorName() { return donorName; }
+    public void setDonorName(String donorName) { this.donorName = donorName; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public String getCharityName() { return charityName; }
+    public void setCharityName(String charityName) { this.charityName = charityName; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+}
@@ -0,0 +1,122 @@
+package com.sustainshare.backend.dto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+
+// A donation as returned by /api/donations: the entity's shape, with donor, charity and food
+// item cut down to {"id", "name"} references
+@JsonSerialize(using = DonationResponse.Serializer.class)
+public class DonationResponse {
+
+    private Long id;
+    private LocalDateTime donatedAt;
+    private int quantity;
+    private String donorId;
+    private String donorName;
+    private String charityId;
+    private String charityName;
+    private Long foodItemId;
+    private String foodItemName;
+
+    // Constructors
+    public DonationResponse() {}
+
+    public DonationResponse(Long id, LocalDateTime donatedAt, int quantity, String donorId, String donorName,
+                            String charityId, String charityName, Long foodItemId, String foodItemName) {
+        this.id = id;
+        this.donatedAt = donatedAt;
+        this.quantity = quantity;
+        this.donorId = donorId;
+        this.donorName = donorName;
+        this.charityId = charityId;
+        this.charityName = charityName;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+    }
+
+    public static DonationResponse from(DonationLog log) {
+        User donor = log.getDonor();
+        User charity = log.getCharity();
+        FoodItem item = log.getFoodItem();
+        return new DonationResponse(log.getId(), log.getDonatedAt(), log.getQuantity(),
+                donor == null ? null : donor.getId(), donor == null ? null : donor.getName(),
+                charity == null ? null : charity.getId(), charity == null ? null : charity.getName(),
+                item == null ? null : item.getId(), item == null ? null : item.getName());
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getDonatedAt() { return donatedAt; }
+    public void setDonatedAt(LocalDateTime donatedAt) { this.donatedAt = donatedAt; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public String getDonorId() { return donorId; }
+    public void setDonorId(String donorId) { this.donorId = donorId; }
+
+    public String getDonorName() { return donorName; }
+    public void setDonorName(String donorName) { this.donorName = donorName; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public String getCharityName() { return charityName; }
+    public void setCharityName(String charityName) { this.charityName = charityName; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public static class Serializer extends StdSerializer<DonationResponse> {
+
+        private static final SerializedString DONATED_AT = new SerializedString("donatedAt");
+        private static final SerializedString DONOR = new SerializedString("donor");
+        private static final SerializedString CHARITY = new SerializedString("charity");
+        private static final SerializedString FOOD_ITEM = new SerializedString("foodItem");
+
+        public Serializer() {
+            super(DonationResponse.class);
+        }
+
+        @Override
+        public void serialize(DonationResponse donation, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(donation);
+            gen.writeFieldName(CompactJson.ID);
+            if (donation.id == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(donation.id);
+            }
+            CompactJson.writeTime(gen, DONATED_AT, donation.donatedAt);
+            gen.writeFieldName(CompactJson.QUANTITY);
+            gen.writeNumber(donation.quantity);
+            CompactJson.writeRef(gen, DONOR, donation.donorId, donation.donorName);
+            CompactJson.writeRef(gen, CHARITY, donation.charityId, donation.charityName);
+            gen.writeFieldName(FOOD_ITEM);
+            if (donation.foodItemId == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject();
+                gen.writeFieldName(CompactJson.ID);
+                gen.writeNumber(donation.foodItemId);
+                CompactJson.writeString(gen, CompactJson.NAME, donation.foodItemName);
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
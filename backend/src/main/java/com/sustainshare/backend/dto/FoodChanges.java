@@ -0,0 +1,44 @@
+package com.sustainshare.backend.dto;
+
+import java.util.List;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// Delta of the food list since a change version: listings to insert or replace and ids to
+// drop, oldest change first. Pass version as "since" on the next call; while hasMore is
+// true there are further changes to fetch straight away.
+public class FoodChanges {
+
+    private long since;
+    private long version;
+    private boolean hasMore;
+    private List<FoodItem> items;
+    private List<Long> deleted;
+
+    // Constructors
+    public FoodChanges() {}
+
+    public FoodChanges(long since, long version, boolean hasMore, List<FoodItem> items, List<Long> deleted) {
+        this.since = since;
+        this.version = version;
+        this.hasMore = hasMore;
+        this.items = items;
+        this.deleted = deleted;
+    }
+
+    // Getters & Setters
+    public long getSince() { return since; }
+    public void setSince(long since) { this.since = since; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public List<FoodItem> getItems() { return items; }
+    public void setItems(List<FoodItem> items) { this.items = items; }
+
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+}
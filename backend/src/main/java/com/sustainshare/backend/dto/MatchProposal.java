@@ -0,0 +1,60 @@
+package com.sustainshare.backend.dto;
+
+// A charity suggested for a new listing, with the parts of its score (each 0..1)
+public class MatchProposal {
+
+    private Long foodItemId;
+    private String charityId;
+    private String charityName;
+    private double distanceKm;
+    private double score;
+    private double distanceScore;
+    private double expiryScore;
+    private double quantityScore;
+    private double loadScore;
+
+    // Constructors
+    public MatchProposal() {}
+
+    public MatchProposal(Long foodItemId, String charityId, String charityName, double distanceKm,
+                         double score, double distanceScore, double expiryScore, double quantityScore,
+                         double loadScore) {
+        this.foodItemId = foodItemId;
+        this.charityId = charityId;
+        this.charityName = charityName;
+        this.distanceKm = distanceKm;
+        this.score = score;
+        this.distanceScore = distanceScore;
+        this.expiryScore = expiryScore;
+        this.quantityScore = quantityScore;
+        this.loadScore = loadScore;
+    }
+
+    // Getters & Setters
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public String getCharityName() { return charityName; }
+    public void setCharityName(String charityName) { this.charityName = charityName; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public double getDistanceScore() { return distanceScore; }
+    public void setDistanceScore(double distanceScore) { this.distanceScore = distanceScore; }
+
+    public double getExpiryScore() { return expiryScore; }
+    public void setExpiryScore(double expiryScore) { this.expiryScore = expiryScore; }
+
+    public double getQuantityScore() { return quantityScore; }
+    public void setQuantityScore(double quantityScore) { this.quantityScore = quantityScore; }
+
+    public double getLoadScore() { return loadScore; }
+    public void setLoadScore(double loadScore) { this.loadScore = loadScore; }
+}
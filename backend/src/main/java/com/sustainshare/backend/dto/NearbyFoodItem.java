@@ -0,0 +1,25 @@
+package com.sustainshare.backend.dto;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// A listing returned by the nearby search together with its distance from the caller
+public class NearbyFoodItem {
+
+    private FoodItem item;
+    private double distanceKm;
+
+    // Constructors
+    public NearbyFoodItem() {}
+
+    public NearbyFoodItem(FoodItem item, double distanceKm) {
+        this.item = item;
+        this.distanceKm = distanceKm;
+    }
+
+    // Getters & Setters
+    public FoodItem getItem() { return item; }
+    public void setItem(FoodItem item) { this.item = item; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,125 @@
+package com.sustainshare.backend.dto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.User;
+
+// A pickup as returned by /api/pickups. Same shape clients already read from the entity
+// ({"foodItem": {"id", "name", "pickupLocation"}, "charity": {"id", "name"}}), but the nested
+// listing and charity carry only those fields instead of the whole entities (and no password).
+@JsonSerialize(using = PickupResponse.Serializer.class)
+public class PickupResponse {
+
+    private Long id;
+    private LocalDateTime scheduledTime;
+    private PickupStatus status;
+    private int quantity;
+    private Long foodItemId;
+    private String foodItemName;
+    private String pickupLocation;
+    private String charityId;
+    private String charityName;
+
+    // Constructors
+    public PickupResponse() {}
+
+    public PickupResponse(Long id, LocalDateTime scheduledTime, PickupStatus status, int quantity, Long foodItemId,
+                          String foodItemName, String pickupLocation, String charityId, String charityName) {
+        this.id = id;
+        this.scheduledTime = scheduledTime;
+        this.status = status;
+        this.quantity = quantity;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+        this.pickupLocation = pickupLocation;
+        this.charityId = charityId;
+        this.charityName = charityName;
+    }
+
+    public static PickupResponse from(PickupSchedule pickup) {
+        FoodItem item = pickup.getFoodItem();
+        User charity = pickup.getCharity();
+        return new PickupResponse(pickup.getId(), pickup.getScheduledTime(), pickup.getStatus(), pickup.getQuantity(),
+                item == null ? null : item.getId(), item == null ? null : item.getName(),
+                item == null ? null : item.getPickupLocation(),
+                charity == null ? null : charity.getId(), charity == null ? null : charity.getName());
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+
+    public PickupStatus getStatus() { return status; }
+    public void setStatus(PickupStatus status) { this.status = status; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public String getCharityName() { return charityName; }
+    public void setCharityName(String charityName) { this.charityName = charityName; }
+
+    public static class Serializer extends StdSerializer<PickupResponse> {
+
+        private static final SerializedString SCHEDULED_TIME = new SerializedString("scheduledTime");
+        private static final SerializedString STATUS = new SerializedString("status");
+        private static final SerializedString FOOD_ITEM = new SerializedString("foodItem");
+        private static final SerializedString PICKUP_LOCATION = new SerializedString("pickupLocation");
+        private static final SerializedString CHARITY = new SerializedString("charity");
+
+        public Serializer() {
+            super(PickupResponse.class);
+        }
+
+        @Override
+        public void serialize(PickupResponse pickup, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(pickup);
+            gen.writeFieldName(CompactJson.ID);
+            if (pickup.id == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(pickup.id);
+            }
+            CompactJson.writeTime(gen, SCHEDULED_TIME, pickup.scheduledTime);
+            CompactJson.writeString(gen, STATUS, pickup.status == null ? null : pickup.status.getLabel());
+            gen.writeFieldName(CompactJson.QUANTITY);
+            gen.writeNumber(pickup.quantity);
+            gen.writeFieldName(FOOD_ITEM);
+            if (pickup.foodItemId == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject();
+                gen.writeFieldName(CompactJson.ID);
+                gen.writeNumber(pickup.foodItemId);
+                CompactJson.writeString(gen, CompactJson.NAME, pickup.foodItemName);
+                CompactJson.writeString(gen, PICKUP_LOCATION, pickup.pickupLocation);
+                gen.writeEndObject();
+            }
+            CompactJson.writeRef(gen, CHARITY, pickup.charityId, pickup.charityName);
+            gen.writeEndObject();
+        }
+    }
+}
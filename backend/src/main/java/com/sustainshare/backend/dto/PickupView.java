@@ -0,0 +1,63 @@
+package com.sustainshare.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.sustainshare.backend.model.PickupStatus;
+
+// Flat read model of a PickupSchedule, built by a single joined JPQL select
+public class PickupView {
+
+    private Long id;
+    private LocalDateTime scheduledTime;
+    private PickupStatus status;
+    private int quantity;
+    private Long foodItemId;
+    private String foodItemName;
+    private String pickupLocation;
+    private String charityId;
+    private String charityName;
+
+    // Constructors
+    public PickupView() {}
+
+    public PickupView(Long id, LocalDateTime scheduledTime, PickupStatus status, int quantity, Long foodItemId,
+                      String foodItemName, String pickupLocation, String charityId, String charityName) {
+        this.id = id;
+        this.scheduledTime = scheduledTime;
+        this.status = status;
+        this.quantity = quantity;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+        this.pickupLocation = pickupLocation;
+        this.charityId = charityId;
+        this.charityName = charityName;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+
+    public PickupStatus getStatus() { return status; }
+    public void setStatus(PickupStatus status) { this.status = status; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public String getCharityName() { return charityName; }
+    public void setCharityName(String charityName) { this.charityName = charityName; }
+}
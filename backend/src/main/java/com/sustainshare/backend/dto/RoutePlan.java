@@ -0,0 +1,52 @@
+package com.sustainshare.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Visiting order for one charity's pending pickups (see RouteService)
+public class RoutePlan {
+
+    private String charityId;
+    private LocalDateTime departAt;
+    private double totalKm;
+    private int lateStops;
+    private List<RouteStop> stops;
+    private List<Long> unroutedPickupIds;
+    private long planningMillis;
+
+    // Constructors
+    public RoutePlan() {}
+
+    public RoutePlan(String charityId, LocalDateTime departAt, double totalKm, int lateStops,
+                     List<RouteStop> stops, List<Long> unroutedPickupIds, long planningMillis) {
+        this.charityId = charityId;
+        this.departAt = departAt;
+        this.totalKm = totalKm;
+        this.lateStops = lateStops;
+        this.stops = stops;
+        this.unroutedPickupIds = unroutedPickupIds;
+        this.planningMillis = planningMillis;
+    }
+
+    // Getters & Setters
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public LocalDateTime getDepartAt() { return departAt; }
+    public void setDepartAt(LocalDateTime departAt) { this.departAt = departAt; }
+
+    public double getTotalKm() { return totalKm; }
+    public void setTotalKm(double totalKm) { this.totalKm = totalKm; }
+
+    public int getLateStops() { return lateStops; }
+    public void setLateStops(int lateStops) { this.lateStops = lateStops; }
+
+    public List<RouteStop> getStops() { return stops; }
+    public void setStops(List<RouteStop> stops) { this.stops = stops; }
+
+    public List<Long> getUnroutedPickupIds() { return unroutedPickupIds; }
+    public void setUnroutedPickupIds(List<Long> unroutedPickupIds) { this.unroutedPickupIds = unroutedPickupIds; }
+
+    public long getPlanningMillis() { return planningMillis; }
+    public void setPlanningMillis(long planningMillis) { this.planningMillis = planningMillis; }
+}
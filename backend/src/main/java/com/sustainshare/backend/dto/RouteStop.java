@@ -0,0 +1,77 @@
+package com.sustainshare.backend.dto;
+
+import java.time.LocalDateTime;
+
+// One stop of a planned pickup route, in visiting order
+public class RouteStop {
+
+    private int sequence;
+    private Long pickupId;
+    private Long foodItemId;
+    private String foodItemName;
+    private String pickupLocation;
+    private Double latitude;
+    private Double longitude;
+    private int quantity;
+    private double legKm;
+    private LocalDateTime eta;
+    private LocalDateTime expiryTime;
+    private boolean late;
+
+    // Constructors
+    public RouteStop() {}
+
+    public RouteStop(int sequence, Long pickupId, Long foodItemId, String foodItemName,
+                     String pickupLocation, Double latitude, Double longitude, int quantity, double legKm,
+                     LocalDateTime eta, LocalDateTime expiryTime, boolean late) {
+        this.sequence = sequence;
+        this.pickupId = pickupId;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+        this.pickupLocation = pickupLocation;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.quantity = quantity;
+        this.legKm = legKm;
+        this.eta = eta;
+        this.expiryTime = expiryTime;
+        this.late = late;
+    }
+
+    // Getters & Setters
+    public int getSequence() { return sequence; }
+    public void setSequence(int sequence) { this.sequence = sequence; }
+
+    public Long getPickupId() { return pickupId; }
+    public void setPickupId(Long pickupId) { this.pickupId = pickupId; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public double getLegKm() { return legKm; }
+    public void setLegKm(double legKm) { this.legKm = legKm; }
+
+    public LocalDateTime getEta() { return eta; }
+    public void setEta(LocalDateTime eta) { this.eta = eta; }
+
+    public LocalDateTime getExpiryTime() { return expiryTime; }
+    public void setExpiryTime(LocalDateTime expiryTime) { this.expiryTime = expiryTime; }
+
+    public boolean isLate() { return late; }
+    public void setLate(boolean late) { this.late = late; }
+}
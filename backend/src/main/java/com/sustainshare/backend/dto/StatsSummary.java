@@ -0,0 +1,40 @@
+package com.sustainshare.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Home page and admin dashboard counters
+public class StatsSummary {
+
+    private StatsTotals total;
+    private StatsTotals today;
+    private int activeDonors;
+    private int activeCharities;
+    private LocalDateTime rebuiltAt;
+
+    // Constructors
+    public StatsSummary() {}
+
+    public StatsSummary(StatsTotals total, StatsTotals today, int activeDonors, int activeCharities, LocalDateTime rebuiltAt) {
+        this.total = total;
+        this.today = today;
+        this.activeDonors = activeDonors;
+        this.activeCharities = activeCharities;
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    // Getters & Setters
+    public StatsTotals getTotal() { return total; }
+    public void setTotal(StatsTotals total) { this.total = total; }
+
+    public StatsTotals getToday() { return today; }
+    public void setToday(StatsTotals today) { this.today = today; }
+
+    public int getActiveDonors() { return activeDonors; }
+    public void setActiveDonors(int activeDonors) { this.activeDonors = activeDonors; }
+
+    public int getActiveCharities() { return activeCharities; }
+    public void setActiveCharities(int activeCharities) { this.activeCharities = activeCharities; }
+
+    public LocalDateTime getRebuiltAt() { return rebuiltAt; }
+    public void setRebuiltAt(LocalDateTime rebuiltAt) { this.rebuiltAt = rebuiltAt; }
+}
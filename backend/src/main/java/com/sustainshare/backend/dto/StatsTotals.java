@@ -0,0 +1,33 @@
+package com.sustainshare.backend.dto;
+
+// Running totals for one scope (everything, one donor, one charity or one day)
+public class StatsTotals {
+
+    private long donations;
+    private long mealsDonated;
+    private long pickups;
+    private long portionsPickedUp;
+
+    // Constructors
+    public StatsTotals() {}
+
+    public StatsTotals(long donations, long mealsDonated, long pickups, long portionsPickedUp) {
+        this.donations = donations;
+        this.mealsDonated = mealsDonated;
+        this.pickups = pickups;
+        this.portionsPickedUp = portionsPickedUp;
+    }
+
+    // Getters & Setters
+    public long getDonations() { return donations; }
+    public void setDonations(long donations) { this.donations = donations; }
+
+    public long getMealsDonated() { return mealsDonated; }
+    public void setMealsDonated(long mealsDonated) { this.mealsDonated = mealsDonated; }
+
+    public long getPickups() { return pickups; }
+    public void setPickups(long pickups) { this.pickups = pickups; }
+
+    public long getPortionsPickedUp() { return portionsPickedUp; }
+    public void setPortionsPickedUp(long portionsPickedUp) { this.portionsPickedUp = portionsPickedUp; }
+}
@@ -0,0 +1,49 @@
+package com.sustainshare.backend.event;
+
+import java.time.LocalDateTime;
+
+// Outbox payload: a donation was recorded in the donation log
+public class DonationLoggedEvent {
+
+    private Long donationId;
+    private String donorId;
+    private String charityId;
+    private Long foodItemId;
+    private String foodItemName;
+    private int quantity;
+    private LocalDateTime donatedAt;
+
+    public DonationLoggedEvent() {}
+
+    public DonationLoggedEvent(Long donationId, String donorId, String charityId, Long foodItemId,
+                               String foodItemName, int quantity, LocalDateTime donatedAt) {
+        this.donationId = donationId;
+        this.donorId = donorId;
+        this.charityId = charityId;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+        this.quantity = quantity;
+        this.donatedAt = donatedAt;
+    }
+
+    public Long getDonationId() { return donationId; }
+    public void setDonationId(Long donationId) { this.donationId = donationId; }
+
+    public String getDonorId() { return donorId; }
+    public void setDonorId(String donorId) { this.donorId = donorId; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public LocalDateTime getDonatedAt() { return donatedAt; }
+    public void setDonatedAt(LocalDateTime donatedAt) { this.donatedAt = donatedAt; }
+}
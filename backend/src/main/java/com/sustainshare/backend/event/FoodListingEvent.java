@@ -0,0 +1,67 @@
+package com.sustainshare.backend.event;
+
+import java.time.LocalDateTime;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// Published whenever the set of food on offer changes
+public class FoodListingEvent {
+
+    public enum Type {
+        CREATED,
+        DELETED,
+        CLAIMED,
+        EXPIRED,
+        RELEASED
+    }
+
+    private final Type type;
+    private final Long foodItemId;
+    private final FoodItem item;    // current state of the listing, when known
+    private final Long pickupId;    // set for CLAIMED
+    private final String charityId; // set for CLAIMED
+    private final LocalDateTime occurredAt;
+
+    public FoodListingEvent(Type type, Long foodItemId, FoodItem item, Long pickupId, String charityId) {
+        this.type = type;
+        this.foodItemId = foodItemId;
+        this.item = item;
+        this.pickupId = pickupId;
+        this.charityId = charityId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static FoodListingEvent created(FoodItem item) {
+        return new FoodListingEvent(Type.CREATED, item.getId(), item, null, null);
+    }
+
+    public static FoodListingEvent deleted(Long foodItemId) {
+        return new FoodListingEvent(Type.DELETED, foodItemId, null, null, null);
+    }
+
+    public static FoodListingEvent expired(Long foodItemId) {
+        return new FoodListingEvent(Type.EXPIRED, foodItemId, null, null, null);
+    }
+
+    // Portions reserved by a missed pickup went back on offer
+    public static FoodListingEvent released(FoodItem item) {
+        return new FoodListingEvent(Type.RELEASED, item.getId(), item, null, null);
+    }
+
+    public static FoodListingEvent claimed(FoodItem item, Long pickupId, String charityId) {
+        return new FoodListingEvent(Type.CLAIMED, item.getId(), item, pickupId, charityId);
+    }
+
+    // Getters
+    public Type getType() { return type; }
+
+    public Long getFoodItemId() { return foodItemId; }
+
+    public FoodItem getItem() { return item; }
+
+    public Long getPickupId() { return pickupId; }
+
+    public String getCharityId() { return charityId; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
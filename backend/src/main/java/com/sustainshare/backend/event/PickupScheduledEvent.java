@@ -0,0 +1,54 @@
+package com.sustainshare.backend.event;
+
+import java.time.LocalDateTime;
+
+// Outbox payload: a pickup was scheduled (through the claim engine or directly)
+public class PickupScheduledEvent {
+
+    private Long pickupId;
+    private Long foodItemId;
+    private String foodItemName;
+    private Long donorId;
+    private String charityId;
+    private int quantity;
+    private int remaining;
+    private LocalDateTime scheduledTime;
+
+    public PickupScheduledEvent() {}
+
+    public PickupScheduledEvent(Long pickupId, Long foodItemId, String foodItemName, Long donorId,
+                                String charityId, int quantity, int remaining, LocalDateTime scheduledTime) {
+        this.pickupId = pickupId;
+        this.foodItemId = foodItemId;
+        this.foodItemName = foodItemName;
+        this.donorId = donorId;
+        this.charityId = charityId;
+        this.quantity = quantity;
+        this.remaining = remaining;
+        this.scheduledTime = scheduledTime;
+    }
+
+    public Long getPickupId() { return pickupId; }
+    public void setPickupId(Long pickupId) { this.pickupId = pickupId; }
+
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public String getFoodItemName() { return foodItemName; }
+    public void setFoodItemName(String foodItemName) { this.foodItemName = foodItemName; }
+
+    public Long getDonorId() { return donorId; }
+    public void setDonorId(Long donorId) { this.donorId = donorId; }
+
+    public String getCharityId() { return charityId; }
+    public void setCharityId(String charityId) { this.charityId = charityId; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public int getRemaining() { return remaining; }
+    public void setRemaining(int remaining) { this.remaining = remaining; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+}
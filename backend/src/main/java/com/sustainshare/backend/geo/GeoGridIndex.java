@@ -0,0 +1,266 @@
+package com.sustainshare.backend.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Fixed-size lat/lon grid (a flat geohash). Each point lives in exactly one cell,
+// so radius and k-nearest queries only visit the cells around the query point
+// instead of every point. Columns wrap at the antimeridian, so a search near ±180°
+// longitude also finds the points just across it. Safe for concurrent reads and writes.
+public class GeoGridIndex<V> {
+
+    // Queries whose search area reaches further towards a pole are rejected
+    public static final double MAX_QUERY_LATITUDE = 80.0;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final Map<Long, Map<Long, Entry<V>>> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry<V>> byId = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.round(360 / cellDegrees);
+        // A partial last column would make the wrap-around seam narrower than a cell
+        if (columns < 1 || Math.abs(columns * cellDegrees - 360) > 1e-9) {
+            throw new IllegalArgumentException("cellDegrees must divide 360 evenly");
+        }
+    }
+
+    // Inserts the point or moves it to its new cell
+    public void put(long id, double lat, double lon, V value) {
+        byId.compute(id, (key, previous) -> {
+            if (previous != null) {
+                unlink(previous);
+            }
+            Entry<V> entry = new Entry<>(key, lat, lon, value);
+            cells.computeIfAbsent(cellKey(row(lat), col(lon)), c -> new ConcurrentHashMap<>()).put(key, entry);
+            return entry;
+        });
+    }
+
+    public void remove(long id) {
+        byId.computeIfPresent(id, (key, previous) -> {
+            unlink(previous);
+            return null;
+        });
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        cells.clear();
+    }
+
+    // Every point within radiusKm, nearest first
+    public List<Neighbor<V>> withinRadius(double lat, double lon, double radiusKm, int limit) {
+        checkSearchable(lat, radiusKm);
+        int rowSpan = (int) Math.ceil(radiusKm / cellHeightKm());
+        int colSpan = columnSpan(lat, radiusKm, rowSpan);
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+
+        PriorityQueue<Neighbor<V>> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbor<V>::distanceKm).reversed());
+        for (int r = centerRow - rowSpan; r <= centerRow + rowSpan; r++) {
+            for (int c = centerCol - colSpan; c <= centerCol + colSpan; c++) {
+                collect(cells.get(cellKey(r, c)), lat, lon, radiusKm, limit, best);
+            }
+        }
+        return drain(best);
+    }
+
+    // Every point within radiusKm in no particular order; for callers that rank by
+    // something other than distance
+    public List<Neighbor<V>> allWithinRadius(double lat, double lon, double radiusKm) {
+        checkSearchable(lat, radiusKm);
+        int rowSpan = (int) Math.ceil(radiusKm / cellHeightKm());
+        int colSpan = columnSpan(lat, radiusKm, rowSpan);
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+
+        List<Neighbor<V>> found = new ArrayList<>();
+        for (int r = centerRow - rowSpan; r <= centerRow + rowSpan; r++) {
+            for (int c = centerCol - colSpan; c <= centerCol + colSpan; c++) {
+                Map<Long, Entry<V>> cell = cells.get(cellKey(r, c));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<V> entry : cell.values()) {
+                    double d = GeoMath.haversineKm(lat, lon, entry.lat, entry.lon);
+                    if (d <= radiusKm) {
+                        found.add(new Neighbor<>(entry.id, entry.value, d));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // The k closest points, searched ring by ring outwards and stopped as soon as
+    // no unvisited ring can hold anything closer than the current k-th result. Rings
+    // grow by about the same distance north-south and east-west (so by more columns
+    // than rows away from the equator) and never past the maxRadiusKm window that
+    // withinRadius would scan, so an empty neighbourhood costs the same as there.
+    public List<Neighbor<V>> nearest(double lat, double lon, int k, double maxRadiusKm) {
+        checkSearchable(lat, maxRadiusKm);
+        int rowSpan = (int) Math.ceil(maxRadiusKm / cellHeightKm());
+        int colSpan = columnSpan(lat, maxRadiusKm, rowSpan);
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+        // Slightly under-estimated so the early exit below never skips a closer point
+        double rowKm = 0.99 * cellHeightKm();
+        double colKm = 0.99 * cellWidthKm(lat, rowSpan);
+        double colsPerRing = Math.max(1.0, rowKm / colKm);
+
+        PriorityQueue<Neighbor<V>> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbor<V>::distanceKm).reversed());
+        int doneRows = -1;
+        int doneCols = -1;
+        for (int ring = 0; doneRows < rowSpan || doneCols < colSpan; ring++) {
+            int rows = Math.min(ring, rowSpan);
+            int cols = Math.min((int) Math.ceil(ring * colsPerRing), colSpan);
+            // The cells of the rows x cols rectangle that the previous one did not cover
+            for (int r = -rows; r <= rows; r++) {
+                if (Math.abs(r) > doneRows) {
+                    visitColumns(centerRow + r, centerCol - cols, centerCol + cols, lat, lon, maxRadiusKm, k, best);
+                } else {
+                    visitColumns(centerRow + r, centerCol - cols, centerCol - doneCols - 1, lat, lon, maxRadiusKm, k, best);
+                    visitColumns(centerRow + r, centerCol + doneCols + 1, centerCol + cols, lat, lon, maxRadiusKm, k, best);
+                }
+            }
+            doneRows = rows;
+            doneCols = cols;
+            // Anything not visited yet lies beyond these rows or columns
+            double reachedKm = Math.min(rows < rowSpan ? rows * rowKm : Double.MAX_VALUE,
+                    cols < colSpan ? cols * colKm : Double.MAX_VALUE);
+            if (best.size() >= k && best.peek().distanceKm() <= reachedKm) {
+                break;
+            }
+        }
+        return drain(best);
+    }
+
+    // Whether a search of radiusKm around lat stays within MAX_QUERY_LATITUDE
+    public static boolean isSearchable(double lat, double radiusKm) {
+        return Math.abs(lat) + radiusKm / GeoMath.KM_PER_DEGREE_LAT <= MAX_QUERY_LATITUDE;
+    }
+
+    // Cells narrow towards the poles, so a search window there spans thousands of columns
+    private static void checkSearchable(double lat, double radiusKm) {
+        if (!isSearchable(lat, radiusKm)) {
+            throw new IllegalArgumentException("Search area reaches past latitude " + MAX_QUERY_LATITUDE);
+        }
+    }
+
+    // Columns either side of the query point; a window wider than the globe would visit a
+    // wrapped column twice and return its points twice
+    private int columnSpan(double lat, double radiusKm, int rowSpan) {
+        int colSpan = (int) Math.ceil(radiusKm / cellWidthKm(lat, rowSpan));
+        if (2 * colSpan + 1 > columns) {
+            throw new IllegalArgumentException("Search area is wider than every longitude at latitude " + lat);
+        }
+        return colSpan;
+    }
+
+    private void visitColumns(int row, int fromCol, int toCol, double lat, double lon, double radiusKm, int limit,
+                              PriorityQueue<Neighbor<V>> best) {
+        for (int c = fromCol; c <= toCol; c++) {
+            collect(cells.get(cellKey(row, c)), lat, lon, radiusKm, limit, best);
+        }
+    }
+
+    private void collect(Map<Long, Entry<V>> cell, double lat, double lon, double radiusKm, int limit,
+                         PriorityQueue<Neighbor<V>> best) {
+        if (cell == null) {
+            return;
+        }
+        for (Entry<V> entry : cell.values()) {
+            double d = GeoMath.haversineKm(lat, lon, entry.lat, entry.lon);
+            if (d > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Neighbor<>(entry.id, entry.value, d));
+            } else if (d < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbor<>(entry.id, entry.value, d));
+            }
+        }
+    }
+
+    private List<Neighbor<V>> drain(PriorityQueue<Neighbor<V>> best) {
+        List<Neighbor<V>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    private void unlink(Entry<V> entry) {
+        long key = cellKey(row(entry.lat), col(entry.lon));
+        cells.computeIfPresent(key, (k, cell) -> {
+            cell.remove(entry.id, entry);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private double cellHeightKm() {
+        return cellDegrees * GeoMath.KM_PER_DEGREE_LAT;
+    }
+
+    // Narrowest cell width across the rows being scanned (cells shrink towards the poles)
+    private double cellWidthKm(double lat, int rowSpan) {
+        double widestLat = Math.min(89.0, Math.abs(lat) + (rowSpan + 1) * cellDegrees);
+        return Math.max(1e-6, cellDegrees * GeoMath.KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(widestLat)));
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / cellDegrees);
+    }
+
+    // Counted eastwards from -180°; 180° is the same column as -180°
+    private int col(double lon) {
+        return (int) Math.floor((lon + 180) / cellDegrees);
+    }
+
+    // Columns past either end of the range wrap round to the other side of the antimeridian
+    private long cellKey(int row, int col) {
+        return ((long) row << 32) | Math.floorMod(col, columns);
+    }
+
+    public static final class Neighbor<V> {
+        private final long id;
+        private final V value;
+        private final double distanceKm;
+
+        Neighbor(long id, V value, double distanceKm) {
+            this.id = id;
+            this.value = value;
+            this.distanceKm = distanceKm;
+        }
+
+        public long id() { return id; }
+        public V value() { return value; }
+        public double distanceKm() { return distanceKm; }
+    }
+
+    private static final class Entry<V> {
+        final long id;
+        final double lat;
+        final double lon;
+        final V value;
+
+        Entry(long id, double lat, double lon, V value) {
+            this.id = id;
+            this.lat = lat;
+            this.lon = lon;
+            this.value = value;
+        }
+    }
+}
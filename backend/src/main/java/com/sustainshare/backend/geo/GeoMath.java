@@ -0,0 +1,25 @@
+package com.sustainshare.backend.geo;
+
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LAT = EARTH_RADIUS_KM * Math.PI / 180.0;
+
+    private GeoMath() {}
+
+    // Great-circle distance in kilometres
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static boolean isValid(Double lat, Double lon) {
+        return lat != null && lon != null
+                && lat >= -90 && lat <= 90
+                && lon >= -180 && lon <= 180;
+    }
+}
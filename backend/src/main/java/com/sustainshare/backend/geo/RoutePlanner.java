@@ -0,0 +1,311 @@
+package com.sustainshare.backend.geo;
+
+import java.util.List;
+
+// Orders the stops of one pickup run: nearest-neighbour construction, then 2-opt segment
+// reversals on a precomputed distance matrix, with late stops moved forward where that
+// gets more of them in on time. The route is open (it ends at the last stop) and starts
+// at the given point, or wherever the first stop is when no start is known.
+//
+// Routes are compared by the number of stops reached after their deadline first and
+// distance second, so a shorter route is never bought by missing more expiry deadlines.
+// Stateless and safe to share.
+public final class RoutePlanner {
+
+    private static final double EPS = 1e-9;
+    // How far forward (in positions) a late stop is tried, and how many sweeps
+    private static final int RELOCATE_WINDOW = 32;
+    private static final int RELOCATE_PASSES = 3;
+
+    // Deadline in seconds after departure; NO_DEADLINE when the food does not expire
+    public record Stop(double latitude, double longitude, double deadlineSeconds) {}
+
+    public static final double NO_DEADLINE = Double.POSITIVE_INFINITY;
+
+    // order[i] is the index into the input list of the i-th stop visited
+    public record Route(int[] order, double[] legKm, double[] arrivalSeconds, double totalKm,
+                        int lateStops, double latenessSeconds) {}
+
+    private final double secondsPerKm;
+    private final double serviceSeconds;
+    private final int maxPasses;
+
+    public RoutePlanner(double speedKmh, double serviceSeconds, int maxPasses) {
+        if (speedKmh <= 0) {
+            throw new IllegalArgumentException("speedKmh must be positive");
+        }
+        this.secondsPerKm = 3600.0 / speedKmh;
+        this.serviceSeconds = serviceSeconds;
+        this.maxPasses = maxPasses;
+    }
+
+    public Route plan(Double startLatitude, Double startLongitude, List<Stop> stops) {
+        int n = stops.size();
+        if (n == 0) {
+            return new Route(new int[0], new double[0], new double[0], 0, 0, 0);
+        }
+        Matrix m = new Matrix(startLatitude, startLongitude, stops);
+        // route[0] is the start, route[1..n] are matrix nodes (stop index + 1)
+        int[] route = nearestNeighbour(m);
+        int late = m.hasDeadlines ? lateStops(m, route, 0, 0, Integer.MAX_VALUE) : 0;
+        if (late > 0) {
+            late = relocateLateStops(m, route, late);
+        }
+        late = twoOpt(m, route, late);
+        if (late > 0) {
+            relocateLateStops(m, route, late);
+        }
+        return toRoute(m, route);
+    }
+
+    // Nearest stop that can still be reached before its deadline; when none can,
+    // the one with the earliest deadline so it is as little late as possible
+    private int[] nearestNeighbour(Matrix m) {
+        int n = m.size - 1;
+        int[] route = new int[n + 1];
+        boolean[] visited = new boolean[n + 1];
+        int current = 0;
+        double t = 0;
+        for (int pos = 1; pos <= n; pos++) {
+            int best = -1;
+            double bestKm = Double.MAX_VALUE;
+            int urgent = -1;
+            for (int j = 1; j <= n; j++) {
+                if (visited[j]) {
+                    continue;
+                }
+                double km = m.km(current, j);
+                if (t + km * secondsPerKm <= m.deadline[j]
+                        && (km < bestKm || (km == bestKm && m.deadline[j] < m.deadline[best]))) {
+                    best = j;
+                    bestKm = km;
+                }
+                if (urgent < 0 || m.deadline[j] < m.deadline[urgent]) {
+                    urgent = j;
+                }
+            }
+            int next = best >= 0 ? best : urgent;
+            t += m.km(current, next) * secondsPerKm + serviceSeconds;
+            visited[next] = true;
+            route[pos] = next;
+            current = next;
+        }
+        return route;
+    }
+
+    // First-improvement 2-opt: reverse route[i..k] when it shortens the route without
+    // adding late stops. The distance delta is O(1); deadlines are only re-checked for
+    // moves that shorten the route.
+    private int twoOpt(Matrix m, int[] route, int late) {
+        int n = route.length - 1;
+        boolean improved = true;
+        for (int pass = 0; improved && pass < maxPasses; pass++) {
+            improved = false;
+            for (int i = 1; i < n; i++) {
+                int a = route[i - 1];
+                int b = route[i];
+                for (int k = i + 1; k <= n; k++) {
+                    int c = route[k];
+                    double delta = m.km(a, c) - m.km(a, b);
+                    if (k < n) {
+                        int d = route[k + 1];
+                        delta += m.km(b, d) - m.km(c, d);
+                    }
+                    if (delta >= -EPS) {
+                        continue;
+                    }
+                    if (m.hasDeadlines) {
+                        int candidate = lateStops(m, route, i, k, late);
+                        if (candidate > late) {
+                            continue;
+                        }
+                        late = candidate;
+                    }
+                    reverse(route, i, k);
+                    b = route[i];
+                    improved = true;
+                }
+            }
+        }
+        return late;
+    }
+
+    // Sweeps the route moving each late stop to the earlier position (within the window)
+    // that leaves the fewest late stops, the shorter route on ties. Arrival times before
+    // the insertion point are reused from the current route.
+    private int relocateLateStops(Matrix m, int[] route, int late) {
+        int n = route.length - 1;
+        double[] arrival = new double[n + 1];
+        int[] lateBefore = new int[n + 2];
+        boolean improved = true;
+        for (int pass = 0; improved && late > 0 && pass < RELOCATE_PASSES; pass++) {
+            improved = false;
+            schedule(m, route, arrival, lateBefore);
+            for (int p = 2; p <= n; p++) {
+                int stop = route[p];
+                if (arrival[p] <= m.deadline[stop]) {
+                    continue;
+                }
+                int bestQ = -1;
+                int bestLate = late;
+                double bestDelta = 0;
+                for (int q = Math.max(1, p - RELOCATE_WINDOW); q < p; q++) {
+                    int candidate = lateStopsWithMove(m, route, arrival, lateBefore, p, q,
+                            bestQ < 0 ? bestLate - 1 : bestLate);
+                    if (candidate > bestLate || (bestQ < 0 && candidate == bestLate)) {
+                        continue;
+                    }
+                    double delta = moveDeltaKm(m, route, p, q);
+                    if (candidate < bestLate || delta < bestDelta) {
+                        bestQ = q;
+                        bestLate = candidate;
+                        bestDelta = delta;
+                    }
+                }
+                if (bestQ >= 0) {
+                    System.arraycopy(route, bestQ, route, bestQ + 1, p - bestQ);
+                    route[bestQ] = stop;
+                    late = bestLate;
+                    improved = true;
+                    schedule(m, route, arrival, lateBefore);
+                }
+            }
+        }
+        return late;
+    }
+
+    // arrival[pos] for the current route, and lateBefore[pos] = late stops at positions < pos
+    private void schedule(Matrix m, int[] route, double[] arrival, int[] lateBefore) {
+        double t = 0;
+        int late = 0;
+        for (int pos = 1; pos < route.length; pos++) {
+            t += m.km(route[pos - 1], route[pos]) * secondsPerKm;
+            arrival[pos] = t;
+            lateBefore[pos] = late;
+            if (t > m.deadline[route[pos]]) {
+                late++;
+            }
+            t += serviceSeconds;
+        }
+        lateBefore[route.length] = late;
+    }
+
+    // Late stops with route[p] moved in front of route[q] (q < p); stops counting past bound
+    private int lateStopsWithMove(Matrix m, int[] route, double[] arrival, int[] lateBefore,
+                                  int p, int q, int bound) {
+        int late = lateBefore[q];
+        double t = q == 1 ? 0 : arrival[q - 1] + serviceSeconds;
+        int previous = route[q - 1];
+        for (int pos = q; pos < route.length; pos++) {
+            int node = pos == q ? route[p] : pos <= p ? route[pos - 1] : route[pos];
+            t += m.km(previous, node) * secondsPerKm;
+            if (t > m.deadline[node] && ++late > bound) {
+                return late;
+            }
+            t += serviceSeconds;
+            previous = node;
+        }
+        return late;
+    }
+
+    // Change in route length when route[p] is moved in front of route[q]
+    private static double moveDeltaKm(Matrix m, int[] route, int p, int q) {
+        int stop = route[p];
+        double removed = m.km(route[p - 1], stop);
+        if (p + 1 < route.length) {
+            removed += m.km(stop, route[p + 1]) - m.km(route[p - 1], route[p + 1]);
+        }
+        double inserted = m.km(route[q - 1], stop) + m.km(stop, route[q]) - m.km(route[q - 1], route[q]);
+        return inserted - removed;
+    }
+
+    // Stops reached after their deadline along the route with route[i..k] reversed
+    // (i == k: as is). Stops counting once the count passes the bound.
+    private int lateStops(Matrix m, int[] route, int i, int k, int bound) {
+        double t = 0;
+        int late = 0;
+        int previous = route[0];
+        for (int pos = 1; pos < route.length; pos++) {
+            int node = pos >= i && pos <= k ? route[i + k - pos] : route[pos];
+            t += m.km(previous, node) * secondsPerKm;
+            if (t > m.deadline[node] && ++late > bound) {
+                return late;
+            }
+            t += serviceSeconds;
+            previous = node;
+        }
+        return late;
+    }
+
+    private static void reverse(int[] route, int i, int k) {
+        while (i < k) {
+            int tmp = route[i];
+            route[i++] = route[k];
+            route[k--] = tmp;
+        }
+    }
+
+    private Route toRoute(Matrix m, int[] route) {
+        int n = route.length - 1;
+        int[] order = new int[n];
+        double[] legKm = new double[n];
+        double[] arrival = new double[n];
+        double t = 0;
+        double total = 0;
+        double lateness = 0;
+        int lateStops = 0;
+        for (int pos = 1; pos <= n; pos++) {
+            int node = route[pos];
+            double km = m.km(route[pos - 1], node);
+            t += km * secondsPerKm;
+            order[pos - 1] = node - 1;
+            legKm[pos - 1] = km;
+            arrival[pos - 1] = t;
+            total += km;
+            if (t > m.deadline[node]) {
+                lateStops++;
+                lateness += t - m.deadline[node];
+            }
+            t += serviceSeconds;
+        }
+        return new Route(order, legKm, arrival, total, lateStops, lateness);
+    }
+
+    // Node 0 is the start; with no start it is zero distance from every stop
+    private static final class Matrix {
+        final int size;
+        final double[] km;
+        final double[] deadline;
+        final boolean hasDeadlines;
+
+        Matrix(Double startLatitude, Double startLongitude, List<Stop> stops) {
+            size = stops.size() + 1;
+            km = new double[size * size];
+            deadline = new double[size];
+            deadline[0] = NO_DEADLINE;
+            boolean anyDeadline = false;
+            boolean hasStart = GeoMath.isValid(startLatitude, startLongitude);
+            for (int i = 1; i < size; i++) {
+                Stop s = stops.get(i - 1);
+                deadline[i] = s.deadlineSeconds();
+                anyDeadline |= s.deadlineSeconds() != NO_DEADLINE;
+                if (hasStart) {
+                    double d = GeoMath.haversineKm(startLatitude, startLongitude, s.latitude(), s.longitude());
+                    km[i] = d;
+                    km[i * size] = d;
+                }
+                for (int j = 1; j < i; j++) {
+                    Stop o = stops.get(j - 1);
+                    double d = GeoMath.haversineKm(s.latitude(), s.longitude(), o.latitude(), o.longitude());
+                    km[i * size + j] = d;
+                    km[j * size + i] = d;
+                }
+            }
+            hasDeadlines = anyDeadline;
+        }
+
+        double km(int from, int to) {
+            return km[from * size + to];
+        }
+    }
+}
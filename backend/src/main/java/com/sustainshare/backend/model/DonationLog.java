@@ -6,10 +6,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 
+// Partitioned by month (donationMonth = yyyymm) so closed months can be moved to the cold
+// archive with one indexed scan each; see DonationArchiver
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_donation_log_donated_at", columnList = "donatedAt"),
+    @Index(name = "idx_donation_log_month_id", columnList = "donationMonth, id")
+})
 public class DonationLog {
 
     @Id
@@ -30,6 +40,12 @@ public class DonationLog {
 
     private LocalDateTime donatedAt;
 
+    // Partition key derived from donatedAt; internal, not part of the JSON
+    private Integer donationMonth;
+
+    // Meals / portions donated
+    private int quantity;
+
     // Constructors
     public DonationLog() {}
 
@@ -40,6 +56,16 @@ public class DonationLog {
         this.donatedAt = donatedAt;
     }
 
+    public static int monthKey(LocalDateTime at) {
+        return at.getYear() * 100 + at.getMonthValue();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void assignMonth() {
+        donationMonth = donatedAt == null ? null : monthKey(donatedAt);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -55,4 +81,7 @@ public class DonationLog {
 
     public LocalDateTime getDonatedAt() { return donatedAt; }
     public void setDonatedAt(LocalDateTime donatedAt) { this.donatedAt = donatedAt; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
 }
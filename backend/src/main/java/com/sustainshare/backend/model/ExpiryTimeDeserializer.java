@@ -0,0 +1,47 @@
+package com.sustainshare.backend.model;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+// Accepts the formats the donor forms actually send: a full ISO date-time
+// ("2025-07-01T18:30"), an ISO instant with offset, or a bare clock time ("18:30"),
+// which means the next time the clock reads that value.
+public class ExpiryTimeDeserializer extends JsonDeserializer<LocalDateTime> {
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String text = parser.getValueAsString();
+        try {
+            return parse(text);
+        } catch (DateTimeParseException e) {
+            return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, text.trim(),
+                    "expected an ISO date-time or HH:mm");
+        }
+    }
+
+    // The same rules for other inputs (CSV imports); null for blank, DateTimeParseException otherwise
+    public static LocalDateTime parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        text = text.trim();
+        if (text.length() <= 8 && text.indexOf('T') < 0) {
+            LocalTime time = LocalTime.parse(text);
+            LocalDateTime today = LocalDate.now().atTime(time);
+            return today.isBefore(LocalDateTime.now()) ? today.plusDays(1) : today;
+        }
+        if (text.endsWith("Z") || text.matches(".*[+-]\\d\\d:\\d\\d$")) {
+            return OffsetDateTime.parse(text).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        return LocalDateTime.parse(text);
+    }
+}
@@ -1,21 +1,56 @@
 package com.sustainshare.backend.model;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@EntityListeners(FoodItemChangeListener.class)
+@Table(indexes = {
+    @Index(name = "idx_food_item_available_expiry", columnList = "available, expiryTime"),
+    @Index(name = "idx_food_item_change", columnList = "changeVersion")
+})
 public class FoodItem {
 
+    // Pooled sequence rather than IDENTITY so bulk imports can be sent as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_item_seq")
+    @SequenceGenerator(name = "food_item_seq", sequenceName = "food_item_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private int quantity;
     private String pickupLocation;
-    private String expiryTime;
+
+    // Geocoded once when the listing is posted, so searches never geocode on read
+    private Double latitude;
+    private Double longitude;
+
+    @JsonDeserialize(using = ExpiryTimeDeserializer.class)
+    private LocalDateTime expiryTime;
+
+    // Cleared once the listing has expired; retired listings stay for history but are no longer offered
+    @Column(nullable = false)
+    private boolean available = true;
+
+    // Optimistic lock so concurrent claims from different instances cannot both win
+    @Version
+    private Long version;
+
+    // Global change sequence stamped on every insert and update (see FoodChangeTracker);
+    // GET /api/food/changes?since= returns the listings changed after a given value
+    private Long changeVersion;
 
     // Optional: link to donorId (foreign key-like)
     private Long donorId;
@@ -23,7 +58,7 @@ public class FoodItem {
     // Constructors
     public FoodItem() {}
 
-    public FoodItem(String name, int quantity, String pickupLocation, String expiryTime, Long donorId) {
+    public FoodItem(String name, int quantity, String pickupLocation, LocalDateTime expiryTime, Long donorId) {
         this.name = name;
         this.quantity = quantity;
         this.pickupLocation = pickupLocation;
@@ -44,8 +79,23 @@ public class FoodItem {
     public String getPickupLocation() { return pickupLocation; }
     public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
 
-    public String getExpiryTime() { return expiryTime; }
-    public void setExpiryTime(String expiryTime) { this.expiryTime = expiryTime; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public LocalDateTime getExpiryTime() { return expiryTime; }
+    public void setExpiryTime(LocalDateTime expiryTime) { this.expiryTime = expiryTime; }
+
+    public boolean isAvailable() { return available; }
+    public void setAvailable(boolean available) { this.available = available; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Long getChangeVersion() { return changeVersion; }
+    public void setChangeVersion(Long changeVersion) { this.changeVersion = changeVersion; }
 
     public Long getDonorId() { return donorId; }
     public void setDonorId(Long donorId) { this.donorId = donorId; }
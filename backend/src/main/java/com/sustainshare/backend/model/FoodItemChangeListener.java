@@ -0,0 +1,24 @@
+package com.sustainshare.backend.model;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sustainshare.backend.service.FoodChangeTracker;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+// Stamps a fresh change version on every listing insert and update. Created by Hibernate
+// through Spring; the tracker is looked up on first use because Hibernate builds its
+// listeners before the repositories the tracker depends on exist.
+public class FoodItemChangeListener {
+
+    @Autowired
+    private ObjectProvider<FoodChangeTracker> changeTracker;
+
+    @PrePersist
+    @PreUpdate
+    void stamp(FoodItem item) {
+        item.setChangeVersion(changeTracker.getObject().next());
+    }
+}
@@ -0,0 +1,43 @@
+package com.sustainshare.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Left behind when a listing is deleted so delta syncs (/api/food/changes) can report the delete
+@Entity
+@Table(name = "food_item_tombstone", indexes = @Index(name = "idx_food_tombstone_change", columnList = "changeVersion"))
+public class FoodItemTombstone {
+
+    @Id
+    private Long foodItemId;
+
+    @Column(nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public FoodItemTombstone() {}
+
+    public FoodItemTombstone(Long foodItemId, long changeVersion, LocalDateTime deletedAt) {
+        this.foodItemId = foodItemId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters & Setters
+    public Long getFoodItemId() { return foodItemId; }
+    public void setFoodItemId(Long foodItemId) { this.foodItemId = foodItemId; }
+
+    public long getChangeVersion() { return changeVersion; }
+    public void setChangeVersion(long changeVersion) { this.changeVersion = changeVersion; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,7 @@
+package com.sustainshare.backend.model;
+
+public enum OutboxStatus {
+    PENDING,
+    PUBLISHED,
+    FAILED // gave up after sustainshare.outbox.max-attempts
+}
@@ -2,14 +2,25 @@ package com.sustainshare.backend.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
+// One index per lookup path: by listing, by charity over time, by status over time
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_pickup_food_item_time", columnList = "food_item_id, scheduledTime"),
+    @Index(name = "idx_pickup_charity_time", columnList = "charity_id, scheduledTime"),
+    @Index(name = "idx_pickup_status_time", columnList = "status, scheduledTime")
+})
 public class PickupSchedule {
 
     @Id
@@ -18,7 +29,11 @@ public class PickupSchedule {
 
     private LocalDateTime scheduledTime;
 
-    private String status; // e.g., "Scheduled", "Completed", "Missed"
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PickupStatus status = PickupStatus.SCHEDULED;
+
+    private int quantity; // portions of the food item reserved by this pickup
 
     @ManyToOne
     @JoinColumn(name = "food_item_id")
@@ -28,10 +43,18 @@ public class PickupSchedule {
     @JoinColumn(name = "charity_id")
     private User charity;
 
+    // Read-only views of the two foreign keys, so lookups can filter on the pickup's own columns
+    // (and its indexes) while the associations are joined for their names. No getters: not in the JSON.
+    @Column(name = "food_item_id", insertable = false, updatable = false)
+    private Long foodItemId;
+
+    @Column(name = "charity_id", insertable = false, updatable = false)
+    private String charityId;
+
     // Constructors
     public PickupSchedule() {}
 
-    public PickupSchedule(LocalDateTime scheduledTime, String status, FoodItem foodItem, User charity) {
+    public PickupSchedule(LocalDateTime scheduledTime, PickupStatus status, FoodItem foodItem, User charity) {
         this.scheduledTime = scheduledTime;
         this.status = status;
         this.foodItem = foodItem;
@@ -47,9 +70,13 @@ public class PickupSchedule {
 
     public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
 
-    public String getStatus() { return status; }
+    public PickupStatus getStatus() { return status; }
+
+    public void setStatus(PickupStatus status) { this.status = status; }
+
+    public int getQuantity() { return quantity; }
 
-    public void setStatus(String status) { this.status = status; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
 
     public FoodItem getFoodItem() { return foodItem; }
 
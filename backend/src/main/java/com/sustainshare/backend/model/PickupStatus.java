@@ -0,0 +1,40 @@
+package com.sustainshare.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Lifecycle of a pickup. JSON uses the labels the frontend already shows ("Scheduled",
+// "In-Progress", ...); the database stores the constant name.
+public enum PickupStatus {
+    SCHEDULED("Scheduled"),
+    IN_PROGRESS("In-Progress"),
+    COMPLETED("Completed"),
+    MISSED("Missed"),
+    CANCELLED("Cancelled");
+
+    private final String label;
+
+    PickupStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // Accepts the label or the constant name in any case, e.g. "Scheduled", "in-progress", "MISSED"
+    @JsonCreator
+    public static PickupStatus parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        for (PickupStatus status : values()) {
+            if (status.label.equalsIgnoreCase(trimmed) || status.name().equalsIgnoreCase(trimmed)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pickup status: " + value);
+    }
+}
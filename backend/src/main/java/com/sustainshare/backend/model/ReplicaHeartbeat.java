@@ -0,0 +1,29 @@
+package com.sustainshare.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// One row, rewritten on the primary by ReplicaLagMonitor; its copy on a replica shows how far
+// behind that replica is. Mapped only so ddl-auto creates the table (see V2 for migrations).
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long beatMillis;
+
+    // Constructors
+    public ReplicaHeartbeat() {}
+
+    // Getters & Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public long getBeatMillis() { return beatMillis; }
+    public void setBeatMillis(long beatMillis) { this.beatMillis = beatMillis; }
+}
@@ -1,6 +1,24 @@
 package com.sustainshare.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
 public enum Role {
     DONOR,
-    CHARITY
+    CHARITY,
+    ADMIN;
+
+    // The frontend sends and expects lowercase names ("donor", "charity")
+    @JsonValue
+    public String toJson() {
+        return name().toLowerCase();
+    }
+
+    @JsonCreator
+    public static Role fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Role.valueOf(value.trim().toUpperCase());
+    }
 }
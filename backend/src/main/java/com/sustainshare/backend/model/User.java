@@ -2,11 +2,14 @@ package com.sustainshare.backend.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role", columnList = "role"))
 public class User {
 
     @Id
@@ -25,13 +28,22 @@ public class User {
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false)
-    private String role;  // "donor" or "charity"
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Role role;
+
+    // SMS number in E.164 form (+919876543210); no notifications without it
+    @Column(length = 20)
+    private String phone;
+
+    // Charity base, used for "new food nearby" alerts and matching
+    private Double latitude;
+    private Double longitude;
 
     // Constructors
     public User() {}
 
-    public User(String id, String name, String username, String email, String password, String role) {
+    public User(String id, String name, String username, String email, String password, Role role) {
         this.id = id;
         this.name = name;
         this.username = username;
@@ -81,11 +93,35 @@ public class User {
         this.password = password;
     }
 
-    public String getRole() {
+    public Role getRole() {
         return role;
     }
 
-    public void setRole(String role) {
+    public void setRole(Role role) {
         this.role = role;
     }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
 }
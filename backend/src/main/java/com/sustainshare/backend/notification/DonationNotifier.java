@@ -0,0 +1,39 @@
+package com.sustainshare.backend.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.event.DonationLoggedEvent;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.outbox.OutboxSubscriber;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Tells the receiving charity when a donation to it is logged
+@Component
+public class DonationNotifier implements OutboxSubscriber<DonationLoggedEvent> {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public Class<DonationLoggedEvent> payloadType() {
+        return DonationLoggedEvent.class;
+    }
+
+    @Override
+    public void handle(long eventId, DonationLoggedEvent event) {
+        if (event.getCharityId() == null) {
+            return;
+        }
+        userRepository.findById(event.getCharityId()).ifPresent(charity -> {
+            String donorName = event.getDonorId() == null ? "A donor"
+                    : userRepository.findById(event.getDonorId()).map(User::getName).orElse("A donor");
+            String item = event.getFoodItemName() == null ? "food" : event.getFoodItemName();
+            dispatcher.enqueue(charity.getId(), charity.getPhone(),
+                    donorName + " logged a donation of " + event.getQuantity() + " x " + item + " to you");
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.sustainshare.backend.notification;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.geo.GeoGridIndex;
+import com.sustainshare.backend.geo.GeoGridIndex.Neighbor;
+import com.sustainshare.backend.geo.GeoMath;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.service.CharityLocationIndex;
+
+// Turns listing events into notifications: charities near a new listing hear about it.
+// Pickup and donation notices come from the outbox (PickupNotifier, DonationNotifier).
+// Only queues; never sends.
+@Component
+public class FoodNotificationListener {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private CharityLocationIndex charityLocationIndex;
+
+    @Value("${sustainshare.notifications.nearby-radius-km:5}")
+    private double nearbyRadiusKm;
+
+    @Value("${sustainshare.notifications.max-nearby-charities:50}")
+    private int maxNearbyCharities;
+
+    @EventListener
+    public void onFoodListingEvent(FoodListingEvent event) {
+        switch (event.getType()) {
+            case CREATED -> notifyNearbyCharities(event.getItem());
+            default -> { }
+        }
+    }
+
+    private void notifyNearbyCharities(FoodItem item) {
+        if (item == null || !GeoMath.isValid(item.getLatitude(), item.getLongitude())
+                || !GeoGridIndex.isSearchable(item.getLatitude(), nearbyRadiusKm)) {
+            return;
+        }
+        for (Neighbor<User> near : charityLocationIndex.withinRadius(
+                item.getLatitude(), item.getLongitude(), nearbyRadiusKm, maxNearbyCharities)) {
+            User charity = near.value();
+            dispatcher.enqueue(charity.getId(), charity.getPhone(), String.format(Locale.ROOT,
+                    "New food %.1f km away: %d x %s at %s", near.distanceKm(), item.getQuantity(),
+                    item.getName(), item.getPickupLocation()));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sustainshare.backend.notification;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Offline stand-in for a real provider: logs each message. Latency and a failure rate can
+// be injected to load-test the pipeline without touching the network.
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    private final Duration latency;
+    private final double failureRate;
+    private final AtomicLong delivered = new AtomicLong();
+
+    public LoggingNotificationSender(Duration latency, double failureRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public List<Notification> send(List<Notification> batch) {
+        List<Notification> failed = new ArrayList<>();
+        for (Notification notification : batch) {
+            if (!latency.isZero()) {
+                try {
+                    Thread.sleep(latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed.add(notification);
+                    continue;
+                }
+            }
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                failed.add(notification);
+                continue;
+            }
+            delivered.incrementAndGet();
+            log.info("Notify {} ({}): {}", notification.getRecipientId(), notification.getPhone(), notification.getMessage());
+        }
+        return failed;
+    }
+
+    public long deliveredCount() {
+        return delivered.get();
+    }
+}
@@ -0,0 +1,30 @@
+package com.sustainshare.backend.notification;
+
+// One message to one recipient; attempt counts failed deliveries so far
+public final class Notification {
+
+    private final String recipientId;
+    private final String phone;
+    private final String message;
+    private final int attempt;
+
+    public Notification(String recipientId, String phone, String message) {
+        this(recipientId, phone, message, 0);
+    }
+
+    private Notification(String recipientId, String phone, String message, int attempt) {
+        this.recipientId = recipientId;
+        this.phone = phone;
+        this.message = message;
+        this.attempt = attempt;
+    }
+
+    public Notification nextAttempt() {
+        return new Notification(recipientId, phone, message, attempt + 1);
+    }
+
+    public String getRecipientId() { return recipientId; }
+    public String getPhone() { return phone; }
+    public String getMessage() { return message; }
+    public int getAttempt() { return attempt; }
+}
@@ -0,0 +1,233 @@
+package com.sustainshare.backend.notification;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Queues notifications without ever blocking the caller and delivers them in the background.
+//
+// enqueue() only appends a line to the recipient's pending message, so a burst of events for
+// one person (a bulk import of listings near a charity) becomes one SMS. Every flush interval
+// the pending messages are taken, cut into batches and handed to a small fixed pool that
+// calls the NotificationSender. Failed notifications are retried with exponential backoff and
+// jitter up to max-attempts. Pending recipients, the send queue and in-flight retries are all
+// bounded; anything over a limit is dropped and counted.
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationSender sender;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sendPool;
+    private final ScheduledExecutorService retryScheduler;
+    private final AtomicInteger retrying = new AtomicInteger();
+
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxLines;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dropped;
+
+    public NotificationDispatcher(NotificationSender sender, MeterRegistry registry,
+                                  @Value("${sustainshare.notifications.sender-threads:2}") int senderThreads,
+                                  @Value("${sustainshare.notifications.batch-size:50}") int batchSize,
+                                  @Value("${sustainshare.notifications.max-pending:10000}") int maxPending,
+                                  @Value("${sustainshare.notifications.max-lines:5}") int maxLines,
+                                  @Value("${sustainshare.notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${sustainshare.notifications.initial-backoff:PT2S}") Duration initialBackoff,
+                                  @Value("${sustainshare.notifications.max-backoff:PT5M}") Duration maxBackoff) {
+        this.sender = sender;
+        this.sendPool = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderThreads * 8), new CustomizableThreadFactory("notify-send-"));
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("notify-retry-"));
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxLines = maxLines;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+
+        this.queued = counter(registry, "queued");
+        this.coalesced = counter(registry, "coalesced");
+        this.sent = counter(registry, "sent");
+        this.retried = counter(registry, "retried");
+        this.dropped = counter(registry, "dropped");
+        Gauge.builder("sustainshare.notifications.pending", pending, Map::size)
+                .description("Recipients with a message waiting for the next flush")
+                .register(registry);
+    }
+
+    // Adds a line to the recipient's next message. Returns false if it was dropped.
+    public boolean enqueue(String recipientId, String phone, String line) {
+        if (recipientId == null || phone == null || phone.isBlank()) {
+            return false;
+        }
+        boolean[] accepted = new boolean[1];
+        pending.compute(recipientId, (id, current) -> {
+            if (current == null) {
+                if (pending.size() >= maxPending) {
+                    return null;
+                }
+                current = new Pending(phone);
+            } else {
+                coalesced.increment();
+            }
+            current.add(line, maxLines);
+            accepted[0] = true;
+            return current;
+        });
+        if (accepted[0]) {
+            queued.increment();
+        } else {
+            dropped.increment();
+        }
+        return accepted[0];
+    }
+
+    // Hands every pending message to the send pool in batches; returns how many were taken
+    @Scheduled(fixedDelayString = "${sustainshare.notifications.flush-interval:PT5S}")
+    public int flush() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        int taken = 0;
+        for (String recipientId : pending.keySet()) {
+            Pending message = pending.remove(recipientId);
+            if (message == null) {
+                continue;
+            }
+            batch.add(new Notification(recipientId, message.phone, message.text()));
+            taken++;
+            if (batch.size() == batchSize) {
+                submit(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+        return taken;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void submit(List<Notification> batch) {
+        try {
+            sendPool.execute(() -> deliver(batch));
+        } catch (RejectedExecutionException e) {
+            // Send queue full (provider slow or down): back off instead of piling up
+            batch.forEach(this::retryLater);
+        }
+    }
+
+    private void deliver(List<Notification> batch) {
+        List<Notification> failed;
+        try {
+            failed = sender.send(batch);
+        } catch (RuntimeException e) {
+            log.warn("Notification batch of {} failed", batch.size(), e);
+            failed = batch;
+        }
+        sent.increment(batch.size() - failed.size());
+        failed.forEach(this::retryLater);
+    }
+
+    private void retryLater(Notification notification) {
+        Notification next = notification.nextAttempt();
+        if (next.getAttempt() >= maxAttempts) {
+            dropped.increment();
+            return;
+        }
+        if (retrying.incrementAndGet() > maxPending) {
+            retrying.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        retried.increment();
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(next.getAttempt() - 1, 20));
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+            retryScheduler.schedule(() -> {
+                retrying.decrementAndGet();
+                submit(List.of(next));
+            }, jittered, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            retrying.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        retryScheduler.shutdownNow();
+        sendPool.shutdown();
+        try {
+            sendPool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("sustainshare.notifications")
+                .description("Notification pipeline outcomes")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // Lines waiting for one recipient; only touched inside pending.compute/remove
+    private static final class Pending {
+        final String phone;
+        final List<String> lines = new ArrayList<>();
+        int overflow;
+
+        Pending(String phone) {
+            this.phone = phone;
+        }
+
+        void add(String line, int maxLines) {
+            if (lines.size() < maxLines) {
+                lines.add(line);
+            } else {
+                overflow++;
+            }
+        }
+
+        String text() {
+            String text = String.join("\n", lines);
+            return overflow == 0 ? text : text + "\n(+" + overflow + " more)";
+        }
+    }
+}
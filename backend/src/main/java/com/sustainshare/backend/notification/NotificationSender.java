@@ -0,0 +1,11 @@
+package com.sustainshare.backend.notification;
+
+import java.util.List;
+
+// Delivery provider (SMS gateway, push service, ...). Called from the dispatcher's own
+// threads, never from a request thread, and may block.
+public interface NotificationSender {
+
+    // Delivers the batch and returns the notifications that failed and are worth retrying
+    List<Notification> send(List<Notification> batch);
+}
@@ -0,0 +1,39 @@
+package com.sustainshare.backend.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.event.PickupScheduledEvent;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.outbox.OutboxSubscriber;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Tells the donor when a charity schedules a pickup of their food
+@Component
+public class PickupNotifier implements OutboxSubscriber<PickupScheduledEvent> {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public Class<PickupScheduledEvent> payloadType() {
+        return PickupScheduledEvent.class;
+    }
+
+    @Override
+    public void handle(long eventId, PickupScheduledEvent event) {
+        if (event.getDonorId() == null) {
+            return;
+        }
+        userRepository.findById(String.valueOf(event.getDonorId())).ifPresent(donor -> {
+            String charityName = event.getCharityId() == null ? "A charity"
+                    : userRepository.findById(event.getCharityId()).map(User::getName).orElse("A charity");
+            dispatcher.enqueue(donor.getId(), donor.getPhone(),
+                    charityName + " scheduled a pickup of your " + event.getFoodItemName()
+                            + " (" + event.getRemaining() + " left)");
+        });
+    }
+}
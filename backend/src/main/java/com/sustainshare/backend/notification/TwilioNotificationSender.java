@@ -0,0 +1,49 @@
+package com.sustainshare.backend.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.twilio.exception.ApiConnectionException;
+import com.twilio.exception.ApiException;
+import com.twilio.http.TwilioRestClient;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+
+// SMS through Twilio. Twilio has no batch send, so a batch is one request per message on
+// the calling dispatcher thread. Connection errors, throttling (429) and 5xx are retried;
+// other API errors (bad number, unsubscribed recipient) are not.
+public class TwilioNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(TwilioNotificationSender.class);
+
+    private final TwilioRestClient client;
+    private final PhoneNumber from;
+
+    public TwilioNotificationSender(String accountSid, String authToken, String fromNumber) {
+        this.client = new TwilioRestClient.Builder(accountSid, authToken).build();
+        this.from = new PhoneNumber(fromNumber);
+    }
+
+    @Override
+    public List<Notification> send(List<Notification> batch) {
+        List<Notification> failed = new ArrayList<>();
+        for (Notification notification : batch) {
+            try {
+                Message.creator(new PhoneNumber(notification.getPhone()), from, notification.getMessage()).create(client);
+            } catch (ApiConnectionException e) {
+                failed.add(notification);
+            } catch (ApiException e) {
+                Integer status = e.getStatusCode();
+                if (status != null && (status == 429 || status >= 500)) {
+                    failed.add(notification);
+                } else {
+                    log.warn("Twilio rejected SMS to {}: {}", notification.getRecipientId(), e.getMessage());
+                }
+            }
+        }
+        return failed;
+    }
+}
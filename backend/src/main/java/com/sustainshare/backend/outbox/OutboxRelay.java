@@ -0,0 +1,201 @@
+package com.sustainshare.backend.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.model.OutboxEvent;
+import com.sustainshare.backend.model.OutboxStatus;
+import com.sustainshare.backend.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Drains the outbox table on one background thread: pending events are read in id order in
+// batches, handed to every subscriber for their payload type, and marked published with one
+// update per batch. A failing event stops its batch so later events are not delivered ahead
+// of it; it is retried on the next poll and marked FAILED after max-attempts.
+//
+// The thread is woken after every outbox commit and otherwise polls. The batch select does not
+// claim rows, so with several instances on one database only one should run the relay
+// (sustainshare.outbox.relay-enabled=false on the others).
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int RECENTLY_DELIVERED = 4096;
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, List<OutboxSubscriber<Object>>> subscribers = new HashMap<>();
+    private final Map<String, Class<?>> payloadTypes = new HashMap<>();
+    private final BlockingQueue<Boolean> wakeups = new ArrayBlockingQueue<>(1);
+    // Guards against redelivery when markPublished fails after the subscribers ran
+    private final Map<Long, Boolean> recentlyDelivered = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > RECENTLY_DELIVERED;
+        }
+    };
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollMillis;
+    private final Duration retention;
+    private final boolean enabled;
+
+    private final Timer lag;
+    private final Counter relayed;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @SuppressWarnings("unchecked")
+    public OutboxRelay(OutboxEventRepository repository, ObjectMapper objectMapper,
+                       List<OutboxSubscriber<?>> subscriberBeans, MeterRegistry registry,
+                       @Value("${sustainshare.outbox.batch-size:200}") int batchSize,
+                       @Value("${sustainshare.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${sustainshare.outbox.poll-interval:PT1S}") Duration pollInterval,
+                       @Value("${sustainshare.outbox.retention:P1D}") Duration retention,
+                       @Value("${sustainshare.outbox.relay-enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        for (OutboxSubscriber<?> subscriber : subscriberBeans) {
+            String type = subscriber.payloadType().getSimpleName();
+            payloadTypes.put(type, subscriber.payloadType());
+            subscribers.computeIfAbsent(type, k -> new ArrayList<>()).add((OutboxSubscriber<Object>) subscriber);
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollMillis = pollInterval.toMillis();
+        this.retention = retention;
+        this.enabled = enabled;
+
+        this.lag = Timer.builder("sustainshare.outbox.lag")
+                .description("Time from outbox write to delivery to all subscribers")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.relayed = Counter.builder("sustainshare.outbox.relayed").register(registry);
+        this.failures = Counter.builder("sustainshare.outbox.failures").register(registry);
+        Gauge.builder("sustainshare.outbox.pending", repository, r -> r.countByStatus(OutboxStatus.PENDING))
+                .description("Events waiting to be relayed")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(5000);
+        }
+    }
+
+    public void wakeUp() {
+        wakeups.offer(Boolean.TRUE);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                while (running && relayBatch() == batchSize) {
+                    // keep draining full batches
+                }
+                wakeups.poll(pollMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay pass failed", e);
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Delivers one batch in id order; returns how many pending events were read
+    synchronized int relayBatch() {
+        List<OutboxEvent> batch = repository.findByStatusOrderById(OutboxStatus.PENDING, Limit.of(batchSize));
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            if (!recentlyDelivered.containsKey(event.getId())) {
+                try {
+                    deliver(event);
+                } catch (Exception e) {
+                    failures.increment();
+                    log.warn("Outbox event {} ({}) failed, attempt {}", event.getId(), event.getEventType(),
+                            event.getAttempts() + 1, e);
+                    repository.recordFailure(event.getId(), truncate(String.valueOf(e.getMessage())), maxAttempts);
+                    break;
+                }
+                recentlyDelivered.put(event.getId(), Boolean.TRUE);
+                lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            }
+            delivered.add(event.getId());
+        }
+        if (!delivered.isEmpty()) {
+            repository.markPublished(delivered, LocalDateTime.now());
+            relayed.increment(delivered.size());
+        }
+        return delivered.size() < batch.size() ? -1 : batch.size();
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        List<OutboxSubscriber<Object>> targets = subscribers.get(event.getEventType());
+        if (targets == null) {
+            return;
+        }
+        Object payload = objectMapper.readValue(event.getPayload(), payloadTypes.get(event.getEventType()));
+        for (OutboxSubscriber<Object> subscriber : targets) {
+            subscriber.handle(event.getId(), payload);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.outbox.cleanup-interval:PT10M}")
+    public int purgePublished() {
+        if (!enabled) {
+            return 0;
+        }
+        return repository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,12 @@
+package com.sustainshare.backend.outbox;
+
+// In-process consumer of outbox events of one payload type. Events arrive in outbox id
+// order on the relay thread, at least once: after a crash or a failed delivery the same
+// event can be handed over again, so handlers must tolerate repeats. Throwing leaves the
+// event pending and it is retried on the next poll, up to sustainshare.outbox.max-attempts.
+public interface OutboxSubscriber<T> {
+
+    Class<T> payloadType();
+
+    void handle(long eventId, T payload) throws Exception;
+}
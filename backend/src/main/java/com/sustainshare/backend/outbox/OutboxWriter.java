@@ -0,0 +1,47 @@
+package com.sustainshare.backend.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.model.OutboxEvent;
+import com.sustainshare.backend.repository.OutboxEventRepository;
+
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    // Must run inside the transaction that makes the change, so both commit or neither does.
+    // The relay is woken once the transaction commits instead of waiting for its next poll.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent append(String aggregateType, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload " + payload.getClass().getSimpleName(), e);
+        }
+        OutboxEvent saved = outboxEventRepository.save(
+                new OutboxEvent(aggregateType, aggregateId, payload.getClass().getSimpleName(), json));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+        return saved;
+    }
+}
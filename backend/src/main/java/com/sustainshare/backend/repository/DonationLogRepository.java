@@ -1,10 +1,99 @@
 package com.sustainshare.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.sustainshare.backend.dto.DonationLogView;
 import com.sustainshare.backend.model.DonationLog;
 
+import jakarta.persistence.QueryHint;
+
 public interface DonationLogRepository extends JpaRepository<DonationLog, Long> {
-    // Add filter by donor or charity if needed
-    
+
+    // Loads donor, charity and food item in the same select instead of one select per row
+    @Override
+    @EntityGraph(attributePaths = {"donor", "charity", "foodItem"})
+    List<DonationLog> findAll();
+
+    @Query("select new com.sustainshare.backend.dto.DonationLogView("
+            + "d.id, d.donatedAt, donor.id, donor.name, charity.id, charity.name, f.id, f.name, d.quantity)"
+            + " from DonationLog d left join d.donor donor left join d.charity charity left join d.foodItem f"
+            + " where d.id > :after"
+            + " and (:donorId is null or donor.id = :donorId)"
+            + " and (:charityId is null or charity.id = :charityId)"
+            + " order by d.id")
+    List<DonationLogView> findViewsAfter(@Param("after") long after,
+                                         @Param("donorId") String donorId,
+                                         @Param("charityId") String charityId,
+                                         Limit limit);
+
+    // Forward-only cursor for exports, oldest id first. Rows are DTOs, not entities, so
+    // nothing accumulates in the persistence context however many rows are read.
+    @Query("select new com.sustainshare.backend.dto.DonationLogView("
+            + "d.id, d.donatedAt, donor.id, donor.name, charity.id, charity.name, f.id, f.name, d.quantity)"
+            + " from DonationLog d left join d.donor donor left join d.charity charity left join d.foodItem f"
+            + " where (cast(:from as localdatetime) is null or d.donatedAt >= :from)"
+            + " and (cast(:to as localdatetime) is null or d.donatedAt < :to)"
+            + " and (:donorId is null or donor.id = :donorId)"
+            + " and (:charityId is null or charity.id = :charityId)"
+            + " order by d.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DonationLogView> streamForExport(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("donorId") String donorId,
+                                            @Param("charityId") String charityId);
+
+    // donorId, charityId, quantity, donatedAt for the stats rebuild
+    @Query("select donor.id, charity.id, d.quantity, d.donatedAt"
+            + " from DonationLog d left join d.donor donor left join d.charity charity")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamStatsRows();
+
+    // donorId, charityId, quantity, donatedAt of one donation, to take it out of the stats
+    @Query("select donor.id, charity.id, d.quantity, d.donatedAt"
+            + " from DonationLog d left join d.donor donor left join d.charity charity where d.id = :id")
+    List<Object[]> findStatsRow(@Param("id") Long id);
+
+    // 1 if the donation was deleted by this call
+    @Modifying
+    @Query("delete from DonationLog d where d.id = :id")
+    int deleteCountingById(@Param("id") Long id);
+
+    // Partition keys (yyyymm) below the given one that still have rows in the table
+    @Query("select distinct d.donationMonth from DonationLog d where d.donationMonth < :before order by d.donationMonth")
+    List<Integer> findMonthsBefore(@Param("before") int before);
+
+    // Rows saved before the partition key existed
+    @Modifying
+    @Query("update DonationLog d set d.donationMonth = year(d.donatedAt) * 100 + month(d.donatedAt)"
+            + " where d.donationMonth is null and d.donatedAt is not null")
+    int assignMissingMonths();
+
+    // Every row of one month partition, oldest id first, for the archiver
+    @Query("select new com.sustainshare.backend.dto.DonationLogView("
+            + "d.id, d.donatedAt, donor.id, donor.name, charity.id, charity.name, f.id, f.name, d.quantity)"
+            + " from DonationLog d left join d.donor donor left join d.charity charity left join d.foodItem f"
+            + " where d.donationMonth = :month"
+            + " order by d.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DonationLogView> streamMonth(@Param("month") int month);
 }
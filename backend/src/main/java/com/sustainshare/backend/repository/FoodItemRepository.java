@@ -1,11 +1,101 @@
 package com.sustainshare.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.sustainshare.backend.model.FoodItem;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
-    // Custom queries (optional) can go here
+
+    String FILTERED = "select f from FoodItem f where f.id > :after"
+            + " and (:donorId is null or f.donorId = :donorId)"
+            + " and (:location is null or lower(f.pickupLocation) like lower(concat('%', :location, '%')))"
+            + " and f.quantity >= :minQuantity"
+            + " order by f.id";
+
+    // Keyset page: seeks past the last seen id on the primary key index instead of using OFFSET
+    @Query(FILTERED)
+    List<FoodItem> findPageAfter(@Param("after") long after,
+                                 @Param("donorId") Long donorId,
+                                 @Param("location") String location,
+                                 @Param("minQuantity") int minQuantity,
+                                 Limit limit);
+
+    // Forward-only cursor for NDJSON streaming; rows are fetched from the driver in chunks
+    @Query(FILTERED)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FoodItem> streamAfter(@Param("after") long after,
+                                 @Param("donorId") Long donorId,
+                                 @Param("location") String location,
+                                 @Param("minQuantity") int minQuantity);
+
+    // Listings still on offer, used to warm the in-memory indexes at startup
+    @Query("select f from FoodItem f where f.available = true and f.quantity > 0"
+            + " and (f.expiryTime is null or f.expiryTime > :now)")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FoodItem> streamLive(@Param("now") LocalDateTime now);
+
+    // Marks a batch of expired listings as no longer available; one saved meanwhile with an
+    // expiry after the cutoff stays on offer. Bulk updates skip the entity listener, so the
+    // caller passes the change version for the batch.
+    @Modifying
+    @Transactional
+    @Query("update FoodItem f set f.available = false, f.changeVersion = :changeVersion"
+            + " where f.id in :ids and f.available = true and f.expiryTime <= :cutoff")
+    int retire(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff,
+               @Param("changeVersion") long changeVersion);
+
+    // Those of the given listings that carry the version, i.e. the ones a retire call changed
+    @Query("select f.id from FoodItem f where f.id in :ids and f.changeVersion = :changeVersion")
+    List<Long> findIdsWithChangeVersion(@Param("ids") Collection<Long> ids, @Param("changeVersion") long changeVersion);
+
+    // Puts portions of a missed pickup back on a listing that is still on offer. Bumps the
+    // version so a claim racing with it fails its optimistic check instead of overwriting it.
+    @Modifying
+    @Transactional
+    @Query("update FoodItem f set f.quantity = f.quantity + :quantity, f.version = f.version + 1,"
+            + " f.changeVersion = :changeVersion where f.id = :id and f.available = true")
+    int release(@Param("id") Long id, @Param("quantity") int quantity, @Param("changeVersion") long changeVersion);
+
+    // Delta sync: listings inserted or updated in (since, upTo], served by idx_food_item_change
+    @Query("select f from FoodItem f where f.changeVersion > :since and f.changeVersion <= :upTo"
+            + " order by f.changeVersion, f.id")
+    List<FoodItem> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    // Every listing of one change (a retired batch shares its version)
+    List<FoodItem> findByChangeVersionOrderById(long changeVersion);
+
+    @Query("select max(f.changeVersion) from FoodItem f")
+    Long findMaxChangeVersion();
+
+    // count, sum of (changeVersion - floor) of listings changed above the floor; tags the list
+    @Query("select count(f), coalesce(sum(f.changeVersion - :floor), 0) from FoodItem f where f.changeVersion > :floor")
+    List<Object[]> summarizeChangesAbove(@Param("floor") long floor);
+
+    // Rows saved before change versions existed
+    @Modifying
+    @Transactional
+    @Query("update FoodItem f set f.changeVersion = :changeVersion where f.changeVersion is null")
+    int assignMissingChangeVersions(@Param("changeVersion") long changeVersion);
 }
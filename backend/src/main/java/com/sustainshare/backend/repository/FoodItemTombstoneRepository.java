@@ -0,0 +1,27 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.sustainshare.backend.model.FoodItemTombstone;
+
+public interface FoodItemTombstoneRepository extends JpaRepository<FoodItemTombstone, Long> {
+
+    // Served by idx_food_tombstone_change
+    @Query("select t from FoodItemTombstone t where t.changeVersion > :since and t.changeVersion <= :upTo"
+            + " order by t.changeVersion, t.foodItemId")
+    List<FoodItemTombstone> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    List<FoodItemTombstone> findByChangeVersion(long changeVersion);
+
+    @Query("select max(t.changeVersion) from FoodItemTombstone t")
+    Long findMaxChangeVersion();
+
+    // count, sum of (changeVersion - floor) of tombstones above the floor; tags the list
+    @Query("select count(t), coalesce(sum(t.changeVersion - :floor), 0) from FoodItemTombstone t where t.changeVersion > :floor")
+    List<Object[]> summarizeChangesAbove(@Param("floor") long floor);
+}
@@ -0,0 +1,43 @@
+package com.sustainshare.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sustainshare.backend.model.OutboxEvent;
+import com.sustainshare.backend.model.OutboxStatus;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Served by idx_outbox_status_id
+    List<OutboxEvent> findByStatusOrderById(OutboxStatus status, Limit limit);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("update OutboxEvent e set e.status = com.sustainshare.backend.model.OutboxStatus.PUBLISHED,"
+            + " e.publishedAt = :now where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.lastError = :error,"
+            + " e.status = case when e.attempts + 1 >= :maxAttempts"
+            + " then com.sustainshare.backend.model.OutboxStatus.FAILED else e.status end"
+            + " where e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxEvent e where e.status = com.sustainshare.backend.model.OutboxStatus.PUBLISHED"
+            + " and e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,142 @@
 package com.sustainshare.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.sustainshare.backend.dto.PickupView;
 import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+
+import jakarta.persistence.QueryHint;
 
 public interface PickupScheduleRepository extends JpaRepository<PickupSchedule, Long> {
-    // Add custom query methods if needed
+
+    // Loads food item and charity in the same select instead of one select per row
+    @Override
+    @EntityGraph(attributePaths = {"foodItem", "charity"})
+    List<PickupSchedule> findAll();
+
+    String VIEW = "select new com.sustainshare.backend.dto.PickupView("
+            + "p.id, p.scheduledTime, p.status, p.quantity, f.id, f.name, f.pickupLocation, charity.id, charity.name)"
+            + " from PickupSchedule p left join p.foodItem f left join p.charity charity";
+
+    @Query(VIEW
+            + " where p.id > :after"
+            + " and (:charityId is null or charity.id = :charityId)"
+            + " and (:status is null or p.status = :status)"
+            + " order by p.id")
+    List<PickupView> findViewsAfter(@Param("after") long after,
+                                    @Param("charityId") String charityId,
+                                    @Param("status") PickupStatus status,
+                                    Limit limit);
+
+    // The lookups below filter on p.foodItemId / p.charityId, the pickup's own columns; f.id or
+    // charity.id would filter on the joined table and the pickup indexes could not be used
+
+    // Every pickup of one listing, earliest first; idx_pickup_food_item_time
+    @Query(VIEW + " where p.foodItemId = :foodItemId order by p.scheduledTime, p.id")
+    List<PickupView> findViewsByFoodItem(@Param("foodItemId") Long foodItemId);
+
+    // One charity's pickups in [from, to), earliest first; idx_pickup_charity_time
+    @Query(VIEW + " where p.charityId = :charityId and p.scheduledTime >= :from and p.scheduledTime < :to"
+            + " order by p.scheduledTime, p.id")
+    List<PickupView> findViewsByCharityBetween(@Param("charityId") String charityId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               Limit limit);
+
+    // Pickups in one status in [from, to), earliest first; idx_pickup_status_time
+    @Query(VIEW + " where p.status = :status and p.scheduledTime >= :from and p.scheduledTime < :to"
+            + " order by p.scheduledTime, p.id")
+    List<PickupView> findViewsByStatusBetween(@Param("status") PickupStatus status,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              Limit limit);
+
+    // Pending pickups in a time window with their food item and charity, grouped by charity,
+    // for route planning. One charity when charityId is given, otherwise all of them.
+    @Query("select p from PickupSchedule p join fetch p.foodItem f join fetch p.charity charity"
+            + " where p.status = com.sustainshare.backend.model.PickupStatus.SCHEDULED"
+            + " and p.scheduledTime >= :from and p.scheduledTime < :to"
+            + " and (:charityId is null or charity.id = :charityId)"
+            + " order by charity.id, p.id")
+    List<PickupSchedule> findPendingForRoutes(@Param("charityId") String charityId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    // charityId, pickup count since the given time; seeds the matcher's recent-load figures
+    @Query("select charity.id, count(p) from PickupSchedule p join p.charity charity"
+            + " where p.scheduledTime >= :since group by charity.id")
+    List<Object[]> countByCharitySince(@Param("since") LocalDateTime since);
+
+    // charityId, quantity, scheduledTime for the stats rebuild; missed pickups are not counted
+    @Query("select charity.id, p.quantity, p.scheduledTime from PickupSchedule p left join p.charity charity"
+            + " where p.status <> com.sustainshare.backend.model.PickupStatus.MISSED")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamStatsRows();
+
+    // id, charityId, pickup location, scheduledTime of pickups in the given states scheduled
+    // from the given time on; loads the slot index at startup
+    @Query("select p.id, p.charityId, f.pickupLocation, p.scheduledTime from PickupSchedule p left join p.foodItem f"
+            + " where p.status in :statuses and p.scheduledTime >= :from")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamSlots(@Param("statuses") Collection<PickupStatus> statuses,
+                                 @Param("from") LocalDateTime from);
+
+    // id, scheduledTime of the pickups in a status scheduled in [from, to); idx_pickup_status_time
+    @Query("select p.id, p.scheduledTime from PickupSchedule p"
+            + " where p.status = :status and p.scheduledTime >= :from and p.scheduledTime < :to")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamScheduledBetween(@Param("status") PickupStatus status,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    // The earliest pickups in a status scheduled before the cutoff
+    @Query("select p.id from PickupSchedule p where p.status = :status and p.scheduledTime < :before"
+            + " order by p.scheduledTime, p.id")
+    List<Long> findIdsScheduledBefore(@Param("status") PickupStatus status,
+                                      @Param("before") LocalDateTime before,
+                                      Limit limit);
+
+    // id, foodItemId, quantity, charityId, scheduledTime of those of the given pickups that are in the status
+    @Query("select p.id, p.foodItemId, p.quantity, p.charityId, p.scheduledTime from PickupSchedule p"
+            + " where p.id in :ids and p.status = :status")
+    List<Object[]> findQuantitiesInStatus(@Param("ids") Collection<Long> ids, @Param("status") PickupStatus status);
+
+    // Moves those of the given pickups that are in one status to another
+    @Modifying
+    @Transactional
+    @Query("update PickupSchedule p set p.status = :to where p.id in :ids and p.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") PickupStatus from, @Param("to") PickupStatus to);
+
+    // status, foodItemId, quantity, charityId, scheduledTime of one pickup
+    @Query("select p.status, p.foodItemId, p.quantity, p.charityId, p.scheduledTime from PickupSchedule p where p.id = :id")
+    List<Object[]> findStateById(@Param("id") Long id);
+
+    // Deletes the pickup only while it is in the status; 1 if it was deleted
+    @Modifying
+    @Transactional
+    @Query("delete from PickupSchedule p where p.id = :id and p.status = :status")
+    int deleteInStatus(@Param("id") Long id, @Param("status") PickupStatus status);
 }
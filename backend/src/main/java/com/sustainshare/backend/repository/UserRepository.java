@@ -1,14 +1,48 @@
 package com.sustainshare.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.sustainshare.backend.config.CacheConfig;
+import com.sustainshare.backend.model.Role;
 import com.sustainshare.backend.model.User;
 
 public interface UserRepository extends JpaRepository<User, String> {
+
+    // Login and signup checks; cached, including "no such email"
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, sync = true)
     Optional<User> findByEmail(String email);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID, sync = true)
+    Optional<User> findById(String id);
+
     boolean existsById(String id);
     boolean existsByUsername(String username);
 
+    // Served by idx_users_role; read-only so RoleDirectory loads can go to a read replica
+    @Transactional(readOnly = true)
+    List<UserSummary> findByRoleOrderByName(Role role);
+
+    List<User> findByRoleAndLatitudeIsNotNullAndLongitudeIsNotNull(Role role);
+
+    // Evicted per key after the save commits (CacheConfig explains why per key).
+    // Users are only ever created, so the saved email is the only one that can be cached.
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_ID, key = "#p0.id"),
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#p0.email")
+    })
+    <S extends User> S save(S user);
+
+    // Bulk loads only; clearing does not wait for in-flight lookups
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.USERS_BY_ID, CacheConfig.USERS_BY_EMAIL}, allEntries = true)
+    <S extends User> List<S> saveAll(Iterable<S> users);
 }
@@ -0,0 +1,12 @@
+package com.sustainshare.backend.repository;
+
+import com.sustainshare.backend.model.Role;
+
+// Closed projection over users: only these columns are selected, and the password never leaves the DB
+public interface UserSummary {
+    String getId();
+    String getName();
+    String getUsername();
+    String getEmail();
+    Role getRole();
+}
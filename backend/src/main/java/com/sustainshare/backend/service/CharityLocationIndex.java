@@ -0,0 +1,78 @@
+package com.sustainshare.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.geo.GeoGridIndex;
+import com.sustainshare.backend.geo.GeoGridIndex.Neighbor;
+import com.sustainshare.backend.geo.GeoMath;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Spatial index of charities that have a base location
+@Component
+public class CharityLocationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CharityLocationIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final GeoGridIndex<User> grid;
+    // The grid is keyed by long; user ids are strings
+    private final Map<String, Long> gridIds = new ConcurrentHashMap<>();
+    private final AtomicLong nextGridId = new AtomicLong();
+
+    public CharityLocationIndex(@Value("${sustainshare.geo.charity-cell-degrees:0.05}") double cellDegrees) {
+        this.grid = new GeoGridIndex<>(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        userRepository.findByRoleAndLatitudeIsNotNullAndLongitudeIsNotNull(Role.CHARITY).forEach(this::track);
+        log.info("Charity location index loaded: {} charities", grid.size());
+    }
+
+    // Adds, moves or drops the user depending on role and coordinates
+    public void track(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        if (user.getRole() == Role.CHARITY && GeoMath.isValid(user.getLatitude(), user.getLongitude())) {
+            long gridId = gridIds.computeIfAbsent(user.getId(), k -> nextGridId.incrementAndGet());
+            grid.put(gridId, user.getLatitude(), user.getLongitude(), user);
+        } else {
+            Long gridId = gridIds.remove(user.getId());
+            if (gridId != null) {
+                grid.remove(gridId);
+            }
+        }
+    }
+
+    public List<Neighbor<User>> withinRadius(double lat, double lon, double radiusKm, int limit) {
+        return grid.withinRadius(lat, lon, radiusKm, limit);
+    }
+
+    public List<Neighbor<User>> allWithinRadius(double lat, double lon, double radiusKm) {
+        return grid.allWithinRadius(lat, lon, radiusKm);
+    }
+
+    public List<Neighbor<User>> nearest(double lat, double lon, int k, double maxRadiusKm) {
+        return grid.nearest(lat, lon, k, maxRadiusKm);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+}
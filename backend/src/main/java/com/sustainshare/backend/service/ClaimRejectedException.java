@@ -0,0 +1,14 @@
+package com.sustainshare.backend.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The food item is gone, expired, short of the requested quantity, another claim won the race,
+// or the pickup slot clashes with the charity's other pickups or is fully booked
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ClaimRejectedException extends RuntimeException {
+
+    public ClaimRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,37 +1,231 @@
 package com.sustainshare.backend.service;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.sustainshare.backend.archive.DonationArchive;
+import com.sustainshare.backend.datasource.ReadRouting;
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.DonationLogView;
+import com.sustainshare.backend.event.DonationLoggedEvent;
 import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.outbox.OutboxWriter;
 import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
 
+// Donation history spans the donation_log table (recent months) and the cold archive that
+// DonationArchiver moves closed months into; the reads below cover both.
 @Service
 public class DonationLogService {
 
     @Autowired
     private DonationLogRepository donationLogRepository;
 
-    // Save new donation entry
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationStatsService donationStatsService;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private DonationArchive donationArchive;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DonationLogService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Save new donation entry. Meals default to the donated item's quantity, the entry is
+    // counted in the stats rollups as it is saved, and a DonationLoggedEvent is written to
+    // the outbox in the same transaction.
     public DonationLog saveDonation(DonationLog log) {
-        return donationLogRepository.save(log);
+        if (log.getDonatedAt() == null) {
+            log.setDonatedAt(LocalDateTime.now());
+        }
+        // Swap an id-only food item for the stored row so its version is known to the merge
+        if (log.getFoodItem() != null && log.getFoodItem().getId() != null) {
+            foodItemRepository.findById(log.getFoodItem().getId()).ifPresent(item -> {
+                log.setFoodItem(item);
+                if (log.getQuantity() <= 0) {
+                    log.setQuantity(item.getQuantity());
+                }
+            });
+        }
+        return donationStatsService.writeThrough(() -> transactionTemplate.execute(status -> {
+                    DonationLog saved = donationLogRepository.save(log);
+                    outboxWriter.append("donation", saved.getId(), new DonationLoggedEvent(saved.getId(),
+                            saved.getDonor() == null ? null : saved.getDonor().getId(),
+                            saved.getCharity() == null ? null : saved.getCharity().getId(),
+                            saved.getFoodItem() == null ? null : saved.getFoodItem().getId(),
+                            saved.getFoodItem() == null ? null : saved.getFoodItem().getName(),
+                            saved.getQuantity(), saved.getDonatedAt()));
+                    return saved;
+                }),
+                d -> donationStatsService.recordDonation(
+                        d.getDonor() == null ? null : d.getDonor().getId(),
+                        d.getCharity() == null ? null : d.getCharity().getId(),
+                        d.getQuantity(), d.getDonatedAt()));
     }
 
-    // Get all donations
+    // Get all donations, archived months first; the table part from a read replica. Holds the
+    // whole history in memory: use getDonationViews or exportDonations for anything large.
+    // A row seen in both (archived, delete not yet committed) is kept once, as in getDonationViews.
+    @Transactional(readOnly = true)
     public List<DonationLog> getAllDonations() {
-        return donationLogRepository.findAll();
+        List<DonationLog> table = ReadRouting.fromReplica(donationLogRepository::findAll);
+        Set<Long> inTable = new HashSet<>();
+        for (DonationLog log : table) {
+            inTable.add(log.getId());
+        }
+        List<DonationLog> all = new ArrayList<>();
+        donationArchive.forEach(null, null, row -> {
+            if (!inTable.contains(row.getId())) {
+                all.add(toDonationLog(row));
+            }
+        });
+        all.addAll(table);
+        return all;
     }
 
-    // Get by ID
+    // One page of flat donation rows (single SQL statement), optionally for one donor or charity.
+    // Archived rows are merged in by id; the archive is only read while the cursor is inside it.
+    public CursorPage<DonationLogView> getDonationViews(Long after, Integer limit, String donorId, String charityId) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long cursor = after == null ? 0L : after;
+        List<DonationLogView> rows = donationLogRepository.findViewsAfter(cursor, donorId, charityId, Limit.of(pageSize));
+        List<DonationLogView> archived = donationArchive.findAfter(cursor, pageSize, matching(donorId, charityId));
+        if (!archived.isEmpty()) {
+            rows = mergeById(archived, rows, pageSize);
+        }
+        return CursorPage.of(rows, pageSize, DonationLogView::getId);
+    }
+
+    // Pushes every matching donation row to the sink as it comes off the cursor, archived
+    // months first; returns the count. A row the archiver has committed to a segment but not
+    // yet deleted from the table is sent once, from the archive.
+    @Transactional(readOnly = true)
+    public long exportDonations(LocalDateTime from, LocalDateTime to, String donorId, String charityId,
+                                Consumer<DonationLogView> sink) {
+        long[] count = {0};
+        Predicate<DonationLogView> filter = matching(donorId, charityId)
+                .and(row -> (from == null || !row.getDonatedAt().isBefore(from))
+                        && (to == null || row.getDonatedAt().isBefore(to)));
+        List<DonationArchive.Segment> segments = donationArchive.getSegments();
+        donationArchive.forEach(segments, from == null ? null : YearMonth.from(from), to == null ? null : YearMonth.from(to), row -> {
+            if (filter.test(row)) {
+                sink.accept(row);
+                count[0]++;
+            }
+        });
+        // Segment ids are only read for a table row inside a segment's id range, which only
+        // happens while a month is being archived
+        Map<DonationArchive.Segment, Set<Long>> segmentIds = new HashMap<>();
+        Predicate<DonationLogView> archived = row -> segments.stream()
+                .filter(segment -> row.getId() >= segment.minId() && row.getId() <= segment.maxId())
+                .anyMatch(segment -> segmentIds.computeIfAbsent(segment, donationArchive::ids).contains(row.getId()));
+        try (Stream<DonationLogView> rows = donationLogRepository.streamForExport(from, to, donorId, charityId)) {
+            for (Iterator<DonationLogView> it = rows.iterator(); it.hasNext(); ) {
+                DonationLogView row = it.next();
+                if (!archived.test(row)) {
+                    sink.accept(row);
+                    count[0]++;
+                }
+            }
+        }
+        return count[0];
+    }
+
+    // Get by ID, falling back to the archive
     public Optional<DonationLog> getDonationById(Long id) {
-        return donationLogRepository.findById(id);
+        Optional<DonationLog> hot = donationLogRepository.findById(id);
+        return hot.isPresent() ? hot : donationArchive.findById(id).map(DonationLogService::toDonationLog);
     }
 
-    // Delete
+    // Delete, and take the donation out of the stats; archived donations are immutable and
+    // stay in the archive
     public void deleteDonation(Long id) {
-        donationLogRepository.deleteById(id);
+        donationStatsService.writeThrough(() -> transactionTemplate.execute(status -> {
+                    List<Object[]> rows = donationLogRepository.findStatsRow(id);
+                    return !rows.isEmpty() && donationLogRepository.deleteCountingById(id) == 1 ? rows.get(0) : null;
+                }),
+                row -> {
+                    if (row != null) {
+                        donationStatsService.retractDonation((String) row[0], (String) row[1],
+                                row[2] == null ? 0 : ((Number) row[2]).intValue(), (LocalDateTime) row[3]);
+                    }
+                });
+    }
+
+    private static Predicate<DonationLogView> matching(String donorId, String charityId) {
+        return row -> (donorId == null || donorId.equals(row.getDonorId()))
+                && (charityId == null || charityId.equals(row.getCharityId()));
+    }
+
+    // Both lists ascend by id; a row seen in both (archived, delete not yet committed) is kept once
+    private static List<DonationLogView> mergeById(List<DonationLogView> a, List<DonationLogView> b, int limit) {
+        List<DonationLogView> merged = new ArrayList<>(limit);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < a.size() || j < b.size())) {
+            if (j == b.size() || (i < a.size() && a.get(i).getId() <= b.get(j).getId())) {
+                if (j < b.size() && Objects.equals(a.get(i).getId(), b.get(j).getId())) {
+                    j++;
+                }
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    // Archived rows come back as detached entities carrying ids and names only
+    private static DonationLog toDonationLog(DonationLogView row) {
+        DonationLog log = new DonationLog(user(row.getDonorId(), row.getDonorName()),
+                user(row.getCharityId(), row.getCharityName()), null, row.getDonatedAt());
+        log.setId(row.getId());
+        log.setQuantity(row.getQuantity());
+        if (row.getFoodItemId() != null) {
+            FoodItem item = new FoodItem();
+            item.setId(row.getFoodItemId());
+            item.setName(row.getFoodItemName());
+            log.setFoodItem(item);
+        }
+        return log;
+    }
+
+    private static User user(String id, String name) {
+        if (id == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
     }
 }
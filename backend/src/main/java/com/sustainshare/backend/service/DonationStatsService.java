@@ -0,0 +1,245 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.archive.DonationArchive;
+import com.sustainshare.backend.dto.StatsSummary;
+import com.sustainshare.backend.dto.StatsTotals;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+// In-memory rollups of donations and pickups: overall, per donor, per charity and per day.
+// The write paths bump the counters as they save, so reads never aggregate anything.
+// The counters are rebuilt from the donation log and pickup tables on startup and on demand.
+@Service
+public class DonationStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationStatsService.class);
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private DonationArchive donationArchive;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Writers share the read lock; a rebuild takes the write lock so no save lands between
+    // the rebuild's snapshot and the swap and gets counted twice or not at all
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private volatile Rollup current = new Rollup();
+
+    public DonationStatsService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Runs a save and records its effect on the counters as one step with respect to rebuilds
+    public <T> T writeThrough(Supplier<T> write, Consumer<T> record) {
+        rebuildLock.readLock().lock();
+        try {
+            T saved = write.get();
+            record.accept(saved);
+            return saved;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public void recordDonation(String donorId, String charityId, int meals, LocalDateTime at) {
+        current.addDonation(donorId, charityId, meals, at);
+    }
+
+    // Takes back a donation recorded earlier, e.g. one that was deleted
+    public void retractDonation(String donorId, String charityId, int meals, LocalDateTime at) {
+        current.removeDonation(donorId, charityId, meals, at);
+    }
+
+    public void recordPickup(String charityId, int portions, LocalDateTime at) {
+        current.addPickup(charityId, portions, at);
+    }
+
+    // Takes back a pickup recorded earlier, e.g. one that was missed or deleted
+    public void retractPickup(String charityId, int portions, LocalDateTime at) {
+        current.removePickup(charityId, portions, at);
+    }
+
+    public StatsSummary getSummary() {
+        Rollup rollup = current;
+        Counter today = rollup.perDay.get(LocalDate.now());
+        return new StatsSummary(rollup.total.snapshot(), today == null ? new StatsTotals() : today.snapshot(),
+                rollup.perDonor.size(), rollup.perCharity.size(), rollup.rebuiltAt);
+    }
+
+    public StatsTotals getDonorTotals(String donorId) {
+        return snapshotOf(current.perDonor.get(donorId));
+    }
+
+    public StatsTotals getCharityTotals(String charityId) {
+        return snapshotOf(current.perCharity.get(charityId));
+    }
+
+    // One entry per day in the range, oldest first
+    public Map<LocalDate, StatsTotals> getDailyTotals(LocalDate from, LocalDate to) {
+        Rollup rollup = current;
+        Map<LocalDate, StatsTotals> days = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.put(day, snapshotOf(rollup.perDay.get(day)));
+        }
+        return days;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // Recovery job: recompute everything from the donation log (table and archive) and pickup tables.
+    // Saves wait on the write lock for the whole scan, so it runs at startup and on the cron only.
+    @Scheduled(cron = "${sustainshare.stats.rebuild-cron:-}")
+    public StatsSummary rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            Rollup rebuilt = new Rollup();
+            donationArchive.forEach(null, null, row -> rebuilt.addDonation(row.getDonorId(), row.getCharityId(),
+                    row.getQuantity(), row.getDonatedAt()));
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = donationLogRepository.streamStatsRows()) {
+                    rows.forEach(r -> rebuilt.addDonation((String) r[0], (String) r[1], (Integer) r[2], (LocalDateTime) r[3]));
+                }
+                try (Stream<Object[]> rows = pickupScheduleRepository.streamStatsRows()) {
+                    rows.forEach(r -> rebuilt.addPickup((String) r[0], (Integer) r[1], (LocalDateTime) r[2]));
+                }
+            });
+            rebuilt.rebuiltAt = LocalDateTime.now();
+            current = rebuilt;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Donation stats rebuilt: {} donations, {} pickups",
+                current.total.donations.sum(), current.total.pickups.sum());
+        return getSummary();
+    }
+
+    private static StatsTotals snapshotOf(Counter counter) {
+        return counter == null ? new StatsTotals() : counter.snapshot();
+    }
+
+    private static final class Rollup {
+        final Counter total = new Counter();
+        final Map<String, Counter> perDonor = new ConcurrentHashMap<>();
+        final Map<String, Counter> perCharity = new ConcurrentHashMap<>();
+        final Map<LocalDate, Counter> perDay = new ConcurrentHashMap<>();
+        volatile LocalDateTime rebuiltAt;
+
+        void addDonation(String donorId, String charityId, Integer meals, LocalDateTime at) {
+            int m = meals == null ? 0 : meals;
+            total.donation(m);
+            add(perDonor, donorId, c -> c.donation(m));
+            add(perCharity, charityId, c -> c.donation(m));
+            add(perDay, at == null ? null : at.toLocalDate(), c -> c.donation(m));
+        }
+
+        void removeDonation(String donorId, String charityId, Integer meals, LocalDateTime at) {
+            int m = meals == null ? 0 : meals;
+            total.undonation(m);
+            remove(perDonor, donorId, c -> c.undonation(m));
+            remove(perCharity, charityId, c -> c.undonation(m));
+            remove(perDay, at == null ? null : at.toLocalDate(), c -> c.undonation(m));
+        }
+
+        void addPickup(String charityId, Integer portions, LocalDateTime at) {
+            int p = portions == null ? 0 : portions;
+            total.pickup(p);
+            add(perCharity, charityId, c -> c.pickup(p));
+            add(perDay, at == null ? null : at.toLocalDate(), c -> c.pickup(p));
+        }
+
+        void removePickup(String charityId, Integer portions, LocalDateTime at) {
+            int p = portions == null ? 0 : portions;
+            total.unpickup(p);
+            remove(perCharity, charityId, c -> c.unpickup(p));
+            remove(perDay, at == null ? null : at.toLocalDate(), c -> c.unpickup(p));
+        }
+
+        // Counts inside compute, so a concurrent remove cannot drop the counter mid-update
+        private static <K> void add(Map<K, Counter> counters, K key, Consumer<Counter> update) {
+            if (key != null) {
+                counters.compute(key, (k, counter) -> {
+                    Counter c = counter == null ? new Counter() : counter;
+                    update.accept(c);
+                    return c;
+                });
+            }
+        }
+
+        // Unknown keys are left alone, and a counter back at zero is dropped, so getSummary
+        // only counts donors and charities that still have something recorded
+        private static <K> void remove(Map<K, Counter> counters, K key, Consumer<Counter> update) {
+            if (key != null) {
+                counters.computeIfPresent(key, (k, counter) -> {
+                    update.accept(counter);
+                    return counter.isEmpty() ? null : counter;
+                });
+            }
+        }
+    }
+
+    private static final class Counter {
+        final LongAdder donations = new LongAdder();
+        final LongAdder meals = new LongAdder();
+        final LongAdder pickups = new LongAdder();
+        final LongAdder portions = new LongAdder();
+
+        void donation(int mealCount) {
+            donations.increment();
+            meals.add(mealCount);
+        }
+
+        void undonation(int mealCount) {
+            donations.decrement();
+            meals.add(-mealCount);
+        }
+
+        void pickup(int portionCount) {
+            pickups.increment();
+            portions.add(portionCount);
+        }
+
+        void unpickup(int portionCount) {
+            pickups.decrement();
+            portions.add(-portionCount);
+        }
+
+        boolean isEmpty() {
+            return donations.sum() <= 0 && pickups.sum() <= 0;
+        }
+
+        StatsTotals snapshot() {
+            return new StatsTotals(donations.sum(), meals.sum(), pickups.sum(), portions.sum());
+        }
+    }
+}
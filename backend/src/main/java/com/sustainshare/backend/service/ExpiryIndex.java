@@ -0,0 +1,126 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// Live (available, not yet expired) listings ordered by expiry time.
+// Range reads are O(log n + k) on the skip list; the id map lets updates and deletes find their entry.
+@Component
+public class ExpiryIndex {
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparing((Entry e) -> e.expiry).thenComparingLong(e -> e.id);
+
+    private final NavigableSet<Entry> byExpiry = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+
+    // Adds or refreshes a listing; anything no longer on offer is dropped instead
+    public void track(FoodItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        boolean live = item.isAvailable() && item.getQuantity() > 0 && item.getExpiryTime() != null;
+        byId.compute(item.getId(), (id, previous) -> {
+            if (previous != null) {
+                byExpiry.remove(previous);
+            }
+            if (!live) {
+                return null;
+            }
+            Entry entry = new Entry(id, item.getExpiryTime(), item);
+            byExpiry.add(entry);
+            return entry;
+        });
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        byId.computeIfPresent(id, (key, previous) -> {
+            byExpiry.remove(previous);
+            return null;
+        });
+    }
+
+    // Listings still on offer that expire between now and now + window, soonest first
+    public List<FoodItem> expiringBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<FoodItem> result = new ArrayList<>();
+        if (to.isBefore(from)) {
+            return result;
+        }
+        for (Entry entry : byExpiry.subSet(Entry.lowerBound(from), true, Entry.upperBound(to), true)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry.item);
+        }
+        return result;
+    }
+
+    // Up to max listings whose expiry is at or before the cutoff, soonest first. They stay in the
+    // index until removeExpired, so a retirement that fails leaves them to be tried again.
+    public List<Long> peekExpired(LocalDateTime cutoff, int max) {
+        List<Long> expired = new ArrayList<>();
+        for (Entry entry : byExpiry.headSet(Entry.upperBound(cutoff), true)) {
+            if (expired.size() >= max) {
+                break;
+            }
+            expired.add(entry.id);
+        }
+        return expired;
+    }
+
+    // Drops listings once their retirement has committed; one refreshed meanwhile to expire
+    // after the cutoff is kept
+    public void removeExpired(Collection<Long> ids, LocalDateTime cutoff) {
+        for (Long id : ids) {
+            byId.computeIfPresent(id, (key, previous) -> {
+                if (previous.expiry.isAfter(cutoff)) {
+                    return previous;
+                }
+                byExpiry.remove(previous);
+                return null;
+            });
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        byExpiry.clear();
+    }
+
+    private static final class Entry {
+        final long id;
+        final LocalDateTime expiry;
+        final FoodItem item;
+
+        Entry(long id, LocalDateTime expiry, FoodItem item) {
+            this.id = id;
+            this.expiry = expiry;
+            this.item = item;
+        }
+
+        static Entry lowerBound(LocalDateTime at) {
+            return new Entry(Long.MIN_VALUE, at, null);
+        }
+
+        static Entry upperBound(LocalDateTime at) {
+            return new Entry(Long.MAX_VALUE, at, null);
+        }
+    }
+}
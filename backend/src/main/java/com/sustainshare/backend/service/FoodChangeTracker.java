@@ -0,0 +1,174 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.FoodItemTombstoneRepository;
+
+// Hands out the change versions stamped on food listings and their tombstones: one increasing
+// sequence, so a client that has seen version N only asks for what changed above N. Versions
+// follow the clock (epoch millis * 1000, bumped past the last one handed out), so they keep
+// increasing across restarts without a sequence table and stay below 2^53 for JSON clients.
+//
+// A version is taken at flush but only visible at commit, so a transaction holding a lower
+// version can commit after one holding a higher version. stableVersion() is the highest
+// version below every transaction still open; delta syncs never read past it, so nothing
+// can commit behind a client's cursor. Open transactions are tracked in memory, which
+// assumes one instance writes listings.
+//
+// The ETag of the whole list is read from the database rather than counted here, so every
+// instance hands out the same tag for the same data: the highest change version, plus the
+// count and sum of the versions within list-tag-window below it. A listing change commits a new
+// version, which moves one of the three even when it commits behind the highest (another
+// instance, a long transaction), as long as it is within the window. The tag is refreshed
+// after each local commit and every list-tag-refresh for commits made by other instances.
+@Component
+public class FoodChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(FoodChangeTracker.class);
+
+    private final FoodItemRepository foodItemRepository;
+    private final FoodItemTombstoneRepository tombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long tagWindow;
+
+    // First version taken by each open transaction
+    private final TreeSet<Long> open = new TreeSet<>();
+    private long lastVersion;
+
+    private volatile long lastCommitNanos = System.nanoTime();
+
+    // Tag of the whole list as last read from the database; stale after a local commit
+    private volatile String listTag;
+    private final AtomicBoolean listTagStale = new AtomicBoolean();
+
+    public FoodChangeTracker(FoodItemRepository foodItemRepository, FoodItemTombstoneRepository tombstoneRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${sustainshare.food.list-tag-window:PT5M}") Duration tagWindow) {
+        this.foodItemRepository = foodItemRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tagWindow = tagWindow.toMillis() * 1000;
+        Long items = foodItemRepository.findMaxChangeVersion();
+        Long tombstones = tombstoneRepository.findMaxChangeVersion();
+        this.lastVersion = Math.max(items == null ? 0 : items, tombstones == null ? 0 : tombstones);
+        refreshListTag();
+    }
+
+    // Listings saved before change versions existed get one version between them
+    @EventListener(ApplicationReadyEvent.class)
+    public void assignMissingVersions() {
+        Integer assigned = transactionTemplate.execute(status -> foodItemRepository.assignMissingChangeVersions(next()));
+        if (assigned != null && assigned > 0) {
+            log.info("Assigned a change version to {} food listings", assigned);
+        }
+    }
+
+    // A new version, held open until the current transaction (if any) completes
+    public long next() {
+        synchronized (open) {
+            long version = Math.max(lastVersion + 1, System.currentTimeMillis() * 1000);
+            lastVersion = version;
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                committed();
+            } else if (!holdsVersion()) {
+                open.add(version);
+                TransactionSynchronizationManager.registerSynchronization(new Held(version));
+            }
+            return version;
+        }
+    }
+
+    // Every change at or below this version has committed (or rolled back)
+    public long stableVersion() {
+        synchronized (open) {
+            return open.isEmpty() ? lastVersion : open.first() - 1;
+        }
+    }
+
+    // Strong validator for full-list responses, the same on every instance. Take it before
+    // reading the list; a change that commits during the read moves it on, so the next
+    // revalidation gets the new list instead of a 304.
+    public String listTag() {
+        if (listTagStale.getAndSet(false)) {
+            refreshListTag();
+        }
+        return listTag;
+    }
+
+    // Picks up listing changes committed by other instances
+    @Scheduled(fixedDelayString = "${sustainshare.food.list-tag-refresh:PT1S}")
+    public void refreshListTag() {
+        listTag = readOnlyTransaction.execute(status -> {
+            Long items = foodItemRepository.findMaxChangeVersion();
+            Long tombstones = tombstoneRepository.findMaxChangeVersion();
+            long max = Math.max(items == null ? 0 : items, tombstones == null ? 0 : tombstones);
+            long floor = Math.max(0, max - tagWindow);
+            Object[] changed = foodItemRepository.summarizeChangesAbove(floor).get(0);
+            Object[] deleted = tombstoneRepository.summarizeChangesAbove(floor).get(0);
+            long count = ((Number) changed[0]).longValue() + ((Number) deleted[0]).longValue();
+            long sum = ((Number) changed[1]).longValue() + ((Number) deleted[1]).longValue();
+            return "\"" + Long.toString(max, 36) + "-" + Long.toString(count, 36) + "-" + Long.toString(sum, 36) + "\"";
+        });
+    }
+
+    // Whether a listing change committed (or the application started) within the window, i.e.
+    // a read replica in rotation may not have it yet
+    public boolean changedWithin(Duration window) {
+        return System.nanoTime() - lastCommitNanos < window.toNanos();
+    }
+
+    private void committed() {
+        lastCommitNanos = System.nanoTime();
+        listTagStale.set(true);
+    }
+
+    private boolean holdsVersion() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Held held && held.tracker() == this) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Held implements TransactionSynchronization {
+
+        private final long version;
+
+        Held(long version) {
+            this.version = version;
+        }
+
+        FoodChangeTracker tracker() {
+            return FoodChangeTracker.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                committed();
+            }
+            synchronized (open) {
+                open.remove(version);
+            }
+        }
+    }
+}
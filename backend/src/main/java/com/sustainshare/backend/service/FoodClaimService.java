@@ -0,0 +1,209 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.event.PickupScheduledEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.outbox.OutboxWriter;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Reserves all or part of a food item's quantity for a charity.
+//
+// Claims on the same item are serialized by a striped lock (one of a fixed set of locks
+// picked by item id), so within an instance only one claim per item touches the database
+// at a time and losers give up after a short tryLock instead of queueing. The @Version
+// column on FoodItem catches races with other instances. Items known to be used up are
+// rejected before taking any lock.
+@Service
+public class FoodClaimService {
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DonationStatsService donationStatsService;
+
+    @Autowired
+    private PickupSlotScheduler pickupSlotScheduler;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMillis;
+    private final Set<Long> exhausted = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+
+    public FoodClaimService(PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${sustainshare.claims.lock-stripes:1024}") int lockStripes,
+                            @Value("${sustainshare.claims.lock-timeout-ms:250}") long lockTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, lockStripes))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    // quantity == null claims everything that is left.
+    // Timed as sustainshare.claims{outcome=claimed|rejected|invalid}.
+    public PickupSchedule claim(Long foodItemId, String charityId, Integer quantity, LocalDateTime scheduledTime) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "claimed";
+        try {
+            return doClaim(foodItemId, charityId, quantity, scheduledTime);
+        } catch (ClaimRejectedException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (IllegalArgumentException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("sustainshare.claims", "outcome", outcome));
+        }
+    }
+
+    private PickupSchedule doClaim(Long foodItemId, String charityId, Integer quantity, LocalDateTime scheduledTime) {
+        if (foodItemId == null) {
+            throw new IllegalArgumentException("foodItemId is required");
+        }
+        if (quantity != null && quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        if (exhausted.contains(foodItemId)) {
+            throw new ClaimRejectedException("Food item " + foodItemId + " has already been fully claimed");
+        }
+
+        ReentrantLock lock = stripeFor(foodItemId);
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ClaimRejectedException("Food item " + foodItemId + " is busy, try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaimRejectedException("Claim interrupted");
+        }
+
+        PickupSchedule saved;
+        try {
+            saved = donationStatsService.writeThrough(
+                    () -> transactionTemplate.execute(status -> reserve(foodItemId, charityId, quantity, scheduledTime)),
+                    p -> donationStatsService.recordPickup(charityId, p.getQuantity(), p.getScheduledTime()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ClaimRejectedException("Food item " + foodItemId + " was claimed concurrently, try again");
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Unknown charity " + charityId, e);
+        } finally {
+            lock.unlock();
+        }
+
+        FoodItem item = saved.getFoodItem();
+        if (item.getQuantity() == 0) {
+            exhausted.add(item.getId());
+        }
+        foodItemService.indexListing(item);
+        eventPublisher.publishEvent(FoodListingEvent.claimed(item, saved.getId(), charityId));
+        return saved;
+    }
+
+    // Called after reserved portions went back to these listings (a cancelled or missed
+    // pickup) has committed: they can be claimed, found and announced again
+    public void released(Collection<Long> foodItemIds) {
+        for (FoodItem item : foodItemRepository.findAllById(foodItemIds)) {
+            exhausted.remove(item.getId());
+            foodItemService.indexListing(item);
+            eventPublisher.publishEvent(FoodListingEvent.released(item));
+        }
+    }
+
+    // Retired and deleted listings never come back, so they need not be remembered
+    @EventListener
+    public void onFoodListingEvent(FoodListingEvent event) {
+        switch (event.getType()) {
+            case DELETED, EXPIRED -> exhausted.remove(event.getFoodItemId());
+            default -> { }
+        }
+    }
+
+    private PickupSchedule reserve(Long foodItemId, String charityId, Integer quantity, LocalDateTime scheduledTime) {
+        FoodItem item = foodItemRepository.findById(foodItemId)
+                .orElseThrow(() -> new ClaimRejectedException("Food item " + foodItemId + " does not exist"));
+        if (!item.isAvailable()
+                || (item.getExpiryTime() != null && item.getExpiryTime().isBefore(LocalDateTime.now()))) {
+            throw new ClaimRejectedException("Food item " + foodItemId + " is no longer available");
+        }
+        int remaining = item.getQuantity();
+        int take = quantity == null ? remaining : quantity;
+        if (remaining <= 0) {
+            exhausted.add(foodItemId);
+            throw new ClaimRejectedException("Food item " + foodItemId + " has already been fully claimed");
+        }
+        if (take > remaining) {
+            throw new ClaimRejectedException("Only " + remaining + " left of food item " + foodItemId);
+        }
+
+        item.setQuantity(remaining - take);
+        User charity = charityId == null ? null : entityManager.getReference(User.class, charityId);
+        PickupSchedule pickup = new PickupSchedule(
+                scheduledTime == null ? LocalDateTime.now() : scheduledTime, PickupStatus.SCHEDULED, item, charity);
+        pickup.setQuantity(take);
+        PickupSchedule saved = pickupScheduleRepository.save(pickup);
+        // Rejects a slot that double-books the charity or overfills the listing's pickup location
+        pickupSlotScheduler.book(saved, item.getPickupLocation());
+        outboxWriter.append("pickup", saved.getId(), new PickupScheduledEvent(saved.getId(), item.getId(),
+                item.getName(), item.getDonorId(), charityId, take, item.getQuantity(), saved.getScheduledTime()));
+        // Flush inside the transaction so a version conflict surfaces here, not at commit
+        entityManager.flush();
+        // Hand back a real User rather than the lazy reference so the response can be serialized
+        if (charity != null) {
+            saved.setCharity((User) Hibernate.unproxy(charity));
+        }
+        return saved;
+    }
+
+    private ReentrantLock stripeFor(long foodItemId) {
+        long h = foodItemId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,249 @@
+package com.sustainshare.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.event.FoodListingEvent;
+
+import jakarta.annotation.PreDestroy;
+
+// Pushes FoodListingEvents to every open SSE connection.
+//
+// Connections are servlet-async, so an idle subscriber holds no thread. Publishing only
+// enqueues: each subscriber has its own bounded queue, and a small shared pool drains
+// queues that have work, one drain task per subscriber at a time. A subscriber that
+// falls a full queue behind loses its backlog and is told to resync instead.
+//
+// Sends are blocking writes, so a client that stops reading holds its drain thread until the
+// socket write times out. A send taking longer than send-timeout drops the subscriber, and
+// the pool gets a thread in place of the stuck one until its write returns, so stalled
+// clients never hold up everyone else's feed.
+@Component
+public class FoodEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(FoodEventBroadcaster.class);
+    private static final int DRAIN_BATCH = 64;
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MAX_VALUE;
+
+    // Built once; SseEventBuilder itself must not be shared between threads
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    private static final Set<DataWithMediaType> RESYNC =
+            SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON).build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor dispatcher;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final AtomicLong stalledDrops = new AtomicLong();
+
+    public FoodEventBroadcaster(@Value("${sustainshare.feed.dispatch-threads:4}") int dispatchThreads,
+                                @Value("${sustainshare.feed.queue-capacity:256}") int queueCapacity,
+                                @Value("${sustainshare.feed.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${sustainshare.feed.timeout:PT30M}") Duration timeout,
+                                @Value("${sustainshare.feed.send-timeout:PT10S}") Duration sendTimeout) {
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("food-feed-"));
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+    }
+
+    // Returns null when the subscriber limit has been reached
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void onFoodListingEvent(FoodListingEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Serialized once, shared by every subscriber
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize food event {}", event.getType(), e);
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(event.getType().name().toLowerCase())
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+            schedule(subscriber);
+        }
+    }
+
+    // Keeps proxies from closing idle connections and flushes out dead ones
+    @Scheduled(fixedDelayString = "${sustainshare.feed.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+            schedule(subscriber);
+        }
+    }
+
+    // Drops subscribers whose current send has taken longer than send-timeout
+    @Scheduled(fixedDelayString = "${sustainshare.feed.stall-check:PT1S}")
+    public void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince.get();
+            if (since != IDLE && since != STALLED && now - since > sendTimeoutNanos
+                    && subscriber.sendingSince.compareAndSet(since, STALLED)) {
+                subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                resizeDispatcher(1);
+                stalledDrops.incrementAndGet();
+                log.debug("Dropped a food feed subscriber stuck in a send for over {} ms", sendTimeoutNanos / 1_000_000);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Subscribers dropped because a send took longer than send-timeout
+    public long stalledDrops() {
+        return stalledDrops.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        boolean stalled = false;
+        try {
+            for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+                Set<DataWithMediaType> next = subscriber.queue.poll();
+                if (next == null) {
+                    break;
+                }
+                long started = System.nanoTime();
+                subscriber.sendingSince.set(started);
+                try {
+                    subscriber.emitter.send(next);
+                } finally {
+                    // Fails when dropStalled gave up on this send meanwhile
+                    stalled = !subscriber.sendingSince.compareAndSet(started, IDLE);
+                }
+                if (stalled) {
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks remove it
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (stalled) {
+            // The stand-in thread is no longer needed once this one is free again
+            resizeDispatcher(-1);
+            subscriber.emitter.complete();
+            return;
+        }
+        // Pick up anything offered while this batch was being sent
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    // Grows the pool by one for each drain thread stuck in a stalled send, and shrinks it back
+    private synchronized void resizeDispatcher(int delta) {
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+        } else {
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Queue<Set<DataWithMediaType>> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the current send started, IDLE between sends, STALLED once dropped
+        final AtomicLong sendingSince = new AtomicLong(IDLE);
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Set<DataWithMediaType> message) {
+            if (!queue.offer(message)) {
+                // Too far behind to catch up event by event: tell the client to refetch
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+    }
+}
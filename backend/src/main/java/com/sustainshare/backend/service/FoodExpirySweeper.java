@@ -0,0 +1,82 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// Periodically retires listings whose expiry time has passed, oldest first,
+// and drops them from the in-memory indexes.
+@Component
+public class FoodExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(FoodExpirySweeper.class);
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private ExpiryIndex expiryIndex;
+
+    @Autowired
+    private FoodLocationIndex foodLocationIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FoodChangeTracker foodChangeTracker;
+
+    @Value("${sustainshare.expiry.sweep-batch-size:500}")
+    private int batchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public FoodExpirySweeper(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Each batch is its own short update, so a large backlog never holds one long transaction.
+    // A batch shares one change version, taken inside its transaction. Listings leave the
+    // indexes only after their batch commits; if it fails they are still there for the next sweep.
+    @Scheduled(fixedDelayString = "${sustainshare.expiry.sweep-interval:PT30S}")
+    public int sweep() {
+        return sweep(LocalDateTime.now());
+    }
+
+    // Returns the number of listings retired
+    public synchronized int sweep(LocalDateTime now) {
+        int retired = 0;
+        List<Long> batch;
+        while (!(batch = expiryIndex.peekExpired(now, batchSize)).isEmpty()) {
+            List<Long> ids = batch;
+            List<Long> expired = transactionTemplate.execute(status -> {
+                long changeVersion = foodChangeTracker.next();
+                return foodItemRepository.retire(ids, now, changeVersion) == 0
+                        ? List.<Long>of() : foodItemRepository.findIdsWithChangeVersion(ids, changeVersion);
+            });
+            expiryIndex.removeExpired(batch, now);
+            // Listings refreshed to a later expiry, or already gone, were not retired
+            for (Long id : expired) {
+                foodLocationIndex.remove(id);
+                eventPublisher.publishEvent(FoodListingEvent.expired(id));
+            }
+            retired += expired.size();
+        }
+        if (retired > 0) {
+            log.debug("Retired {} expired food listings", retired);
+        }
+        return retired;
+    }
+}
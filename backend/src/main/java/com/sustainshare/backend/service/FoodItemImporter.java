@@ -0,0 +1,285 @@
+package com.sustainshare.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.dto.BatchImportResult;
+import com.sustainshare.backend.model.ExpiryTimeDeserializer;
+import com.sustainshare.backend.model.FoodItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Bulk ingestion for large donors. Rows are validated one by one and the valid ones are
+// persisted in chunks, one transaction per chunk, so Hibernate can send them as JDBC
+// batches (FoodItem ids come from a pooled sequence, not IDENTITY).
+@Service
+public class FoodItemImporter {
+
+    public static final int MAX_BATCH_ITEMS = 10_000;
+
+    // Longest CSV record, in characters, a quoted field may stretch over several lines to
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    // CSV columns recognised in the header row; only name and quantity are required
+    private static final List<String> CSV_COLUMNS =
+            List.of("name", "quantity", "pickuplocation", "expirytime", "donorid", "latitude", "longitude");
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public FoodItemImporter(PlatformTransactionManager transactionManager,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchImportResult importItems(List<FoodItem> items) {
+        long started = System.nanoTime();
+        BatchImportResult result = new BatchImportResult();
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_ITEMS + " items per batch, use the CSV import");
+        }
+        List<FoodItem> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < items.size(); i++) {
+            FoodItem item = items.get(i);
+            result.setReceived(result.getReceived() + 1);
+            String problem = validate(item);
+            if (problem != null) {
+                result.reject(i + 1, problem);
+                continue;
+            }
+            item.setId(null);
+            item.setVersion(null);
+            item.setAvailable(true);
+            item.setChangeVersion(null);
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                persist(chunk, result);
+            }
+        }
+        persist(chunk, result);
+        result.finish(System.nanoTime() - started);
+        return result;
+    }
+
+    // Reads the CSV record by record; memory use is bounded by the chunk size, not the file size.
+    // A quoted field may contain line breaks, so one record can span several lines.
+    public BatchImportResult importCsv(InputStream csv) throws IOException {
+        long started = System.nanoTime();
+        BatchImportResult result = new BatchImportResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) {
+            result.finish(System.nanoTime() - started);
+            return result;
+        }
+        Map<String, Integer> columns = parseHeader(header);
+        if (!columns.containsKey("name") || !columns.containsKey("quantity")) {
+            throw new IllegalArgumentException("CSV header must contain at least name and quantity");
+        }
+
+        List<FoodItem> chunk = new ArrayList<>(chunkSize);
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+            int recordLine = lineNumber;
+            StringBuilder record = new StringBuilder(line);
+            boolean open = endsInsideQuotes(line, false);
+            while (open && record.length() <= MAX_RECORD_CHARS && (line = reader.readLine()) != null) {
+                lineNumber++;
+                record.append('\n').append(line);
+                open = endsInsideQuotes(line, true);
+            }
+            if (open) {
+                result.reject(recordLine, "quoted field is not closed"
+                        + (line == null ? " before the end of the file" : " within " + MAX_RECORD_CHARS + " characters"));
+                continue;
+            }
+            FoodItem item;
+            try {
+                item = toFoodItem(splitCsvLine(record.toString()), columns);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                result.reject(recordLine, e.getMessage());
+                continue;
+            }
+            String problem = validate(item);
+            if (problem != null) {
+                result.reject(recordLine, problem);
+                continue;
+            }
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                persist(chunk, result);
+            }
+        }
+        persist(chunk, result);
+        result.finish(System.nanoTime() - started);
+        return result;
+    }
+
+    private void persist(List<FoodItem> chunk, BatchImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (FoodItem item : chunk) {
+                entityManager.persist(item);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        result.setSaved(result.getSaved() + chunk.size());
+        foodItemService.afterBulkInsert(chunk);
+        chunk.clear();
+    }
+
+    static String validate(FoodItem item) {
+        if (item == null) {
+            return "empty row";
+        }
+        if (item.getName() == null || item.getName().isBlank()) {
+            return "name is required";
+        }
+        if (item.getQuantity() <= 0) {
+            return "quantity must be positive";
+        }
+        if ((item.getLatitude() == null) != (item.getLongitude() == null)) {
+            return "latitude and longitude must be given together";
+        }
+        if (item.getLatitude() != null
+                && (Math.abs(item.getLatitude()) > 90 || Math.abs(item.getLongitude()) > 180)) {
+            return "coordinates out of range";
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        return columns;
+    }
+
+    private static FoodItem toFoodItem(List<String> fields, Map<String, Integer> columns) {
+        FoodItem item = new FoodItem();
+        item.setName(field(fields, columns, "name"));
+        String quantity = field(fields, columns, "quantity");
+        item.setQuantity(quantity == null ? 0 : parseInt(quantity, "quantity"));
+        item.setPickupLocation(field(fields, columns, "pickuplocation"));
+        String expiry = field(fields, columns, "expirytime");
+        item.setExpiryTime(ExpiryTimeDeserializer.parse(expiry));
+        String donorId = field(fields, columns, "donorid");
+        item.setDonorId(donorId == null ? null : parseLong(donorId, "donorId"));
+        String lat = field(fields, columns, "latitude");
+        String lon = field(fields, columns, "longitude");
+        item.setLatitude(lat == null ? null : parseDouble(lat, "latitude"));
+        item.setLongitude(lon == null ? null : parseDouble(lon, "longitude"));
+        return item;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int parseInt(String value, String column) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static long parseLong(String value, String column) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static double parseDouble(String value, String column) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    // Whether a quoted field is still open at the end of the line; "" toggles twice, so it cancels out
+    private static boolean endsInsideQuotes(String line, boolean open) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    // RFC 4180 style: commas separate fields, double quotes wrap fields (line breaks included),
+    // "" is a literal quote
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -1,32 +1,244 @@
 package com.sustainshare.backend.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.sustainshare.backend.config.CacheConfig;
+import com.sustainshare.backend.datasource.ReadRouting;
+import com.sustainshare.backend.datasource.ReplicaPool;
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.FoodChanges;
+import com.sustainshare.backend.dto.NearbyFoodItem;
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.geo.GeoGridIndex.Neighbor;
+import com.sustainshare.backend.geo.GeoMath;
 import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.FoodItemTombstone;
 import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.FoodItemTombstoneRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class FoodItemService {
 
+    public static final int DEFAULT_NEARBY_RESULTS = 10;
+    public static final double MAX_NEARBY_RADIUS_KM = 100.0;
+
+    private static final Logger log = LoggerFactory.getLogger(FoodItemService.class);
+
     @Autowired
     private FoodItemRepository foodItemRepository;
 
+    @Autowired
+    private ExpiryIndex expiryIndex;
+
+    @Autowired
+    private FoodLocationIndex foodLocationIndex;
+
+    @Autowired
+    private FoodItemTombstoneRepository foodItemTombstoneRepository;
+
+    @Autowired
+    private FoodChangeTracker foodChangeTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public FoodItemService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     public FoodItem addFood(FoodItem item) {
-        return foodItemRepository.save(item);
+        FoodItem saved = foodItemRepository.save(item);
+        indexListing(saved);
+        eventPublisher.publishEvent(FoodListingEvent.created(saved));
+        return saved;
+    }
+
+    // Indexes and announces listings that FoodItemImporter has just committed
+    void afterBulkInsert(List<FoodItem> items) {
+        for (FoodItem item : items) {
+            indexListing(item);
+            eventPublisher.publishEvent(FoodListingEvent.created(item));
+        }
     }
 
+    // Fills the in-memory indexes from the listings still on offer
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmIndexes() {
+        try (Stream<FoodItem> rows = foodItemRepository.streamLive(LocalDateTime.now())) {
+            rows.forEach(item -> {
+                indexListing(item);
+                entityManager.detach(item);
+            });
+        }
+        log.info("Food indexes loaded: {} by expiry, {} by location", expiryIndex.size(), foodLocationIndex.size());
+    }
+
+    // From a read replica, unless a listing changed so recently that one could still be missing
+    // it: the list's ETag counts this instance's commits, and must not be sent with an older list
+    @Transactional(readOnly = true)
     public List<FoodItem> getAllFoodItems() {
-        return foodItemRepository.findAll();
+        if (foodChangeTracker.changedWithin(replicaPool.window())) {
+            return foodItemRepository.findAll();
+        }
+        return ReadRouting.fromReplica(foodItemRepository::findAll);
+    }
+
+    // One page of listings ordered by id, starting after the given cursor
+    public CursorPage<FoodItem> getFoodItemPage(Long after, Integer limit, Long donorId, String location, Integer minQuantity) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<FoodItem> items = foodItemRepository.findPageAfter(
+                after == null ? 0L : after, donorId, blankToNull(location),
+                minQuantity == null ? 0 : minQuantity, Limit.of(pageSize));
+        return CursorPage.of(items, pageSize, FoodItem::getId);
+    }
+
+    // Pushes every matching listing to the sink as it comes off the result set.
+    // Each row is detached once handed over so the persistence context stays empty.
+    @Transactional(readOnly = true)
+    public void streamFoodItems(Long donorId, String location, Integer minQuantity, Consumer<FoodItem> sink) {
+        try (Stream<FoodItem> rows = foodItemRepository.streamAfter(
+                0L, donorId, blankToNull(location), minQuantity == null ? 0 : minQuantity)) {
+            rows.forEach(item -> {
+                sink.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+
+    // Answered from the expiry index, soonest first, without touching the database
+    public List<FoodItem> getExpiringFood(Duration within, Integer limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return expiryIndex.expiringBetween(now, now.plus(within), CursorPage.clampLimit(limit));
+    }
+
+    // k nearest live listings, or every listing within radiusKm when a radius is given
+    public List<NearbyFoodItem> getNearbyFood(double lat, double lon, Double radiusKm, Integer limit) {
+        if (!GeoMath.isValid(lat, lon)) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        int k = CursorPage.clampLimit(limit == null ? DEFAULT_NEARBY_RESULTS : limit);
+        List<Neighbor<FoodItem>> found = radiusKm != null
+                ? foodLocationIndex.withinRadius(lat, lon, Math.min(radiusKm, MAX_NEARBY_RADIUS_KM), k)
+                : foodLocationIndex.nearest(lat, lon, k, MAX_NEARBY_RADIUS_KM);
+        return found.stream()
+                .map(n -> new NearbyFoodItem(n.value(), n.distanceKm()))
+                .toList();
     }
 
+    @Cacheable(cacheNames = CacheConfig.FOOD_ITEMS, sync = true)
     public FoodItem getFoodById(Long id) {
         return foodItemRepository.findById(id).orElse(null);
     }
 
+    // Every change to a listing (add, import, claim, expiry, delete) is announced after it
+    // commits, so evicting here keeps getFoodById current whichever path made the change
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.FOOD_ITEMS, key = "#event.foodItemId")
+    public void evictCachedListing(FoodListingEvent event) {
+    }
+
+    // Listings inserted, updated or deleted since a change version, up to limit changes per call.
+    // A page never ends part-way through one version, so "version" is always a safe cursor.
+    public FoodChanges getChangesSince(long since, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long upTo = foodChangeTracker.stableVersion();
+        if (since >= upTo) {
+            return new FoodChanges(since, upTo, false, List.of(), List.of());
+        }
+        List<FoodItem> items = foodItemRepository.findChangedBetween(since, upTo, Limit.of(pageSize + 1));
+        List<FoodItemTombstone> tombstones = foodItemTombstoneRepository.findChangedBetween(since, upTo, Limit.of(pageSize + 1));
+        if (items.size() + tombstones.size() <= pageSize) {
+            return new FoodChanges(since, upTo, false, items, tombstones.stream().map(FoodItemTombstone::getFoodItemId).toList());
+        }
+        // First version that does not fit: stop below it, or when one version alone
+        // overflows the page (a retired batch), return that version whole
+        long cut = versionAt(items, tombstones, pageSize);
+        List<FoodItem> pageItems = new ArrayList<>();
+        List<Long> pageDeleted = new ArrayList<>();
+        for (FoodItem item : items) {
+            if (item.getChangeVersion() < cut) {
+                pageItems.add(item);
+            }
+        }
+        for (FoodItemTombstone tombstone : tombstones) {
+            if (tombstone.getChangeVersion() < cut) {
+                pageDeleted.add(tombstone.getFoodItemId());
+            }
+        }
+        if (!pageItems.isEmpty() || !pageDeleted.isEmpty()) {
+            return new FoodChanges(since, cut - 1, true, pageItems, pageDeleted);
+        }
+        pageItems = foodItemRepository.findByChangeVersionOrderById(cut);
+        pageDeleted = foodItemTombstoneRepository.findByChangeVersion(cut).stream()
+                .map(FoodItemTombstone::getFoodItemId).toList();
+        return new FoodChanges(since, cut, cut < upTo, pageItems, pageDeleted);
+    }
+
+    // Version of the n-th change (0-based) with both lists merged in version order
+    private static long versionAt(List<FoodItem> items, List<FoodItemTombstone> tombstones, int n) {
+        int i = 0;
+        int j = 0;
+        long version = 0;
+        for (int k = 0; k <= n; k++) {
+            if (j == tombstones.size()
+                    || (i < items.size() && items.get(i).getChangeVersion() <= tombstones.get(j).getChangeVersion())) {
+                version = items.get(i++).getChangeVersion();
+            } else {
+                version = tombstones.get(j++).getChangeVersion();
+            }
+        }
+        return version;
+    }
+
+    // Deletes the listing and leaves a tombstone for delta syncs, in one transaction
     public void deleteFoodItem(Long id) {
-        foodItemRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> foodItemRepository.findById(id).ifPresent(item -> {
+            foodItemRepository.delete(item);
+            foodItemTombstoneRepository.save(new FoodItemTombstone(id, foodChangeTracker.next(), LocalDateTime.now()));
+        }));
+        expiryIndex.remove(id);
+        foodLocationIndex.remove(id);
+        eventPublisher.publishEvent(FoodListingEvent.deleted(id));
+    }
+
+    // Re-indexes a listing whose quantity or availability changed outside this service
+    void indexListing(FoodItem item) {
+        expiryIndex.track(item);
+        foodLocationIndex.track(item);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 }
@@ -0,0 +1,54 @@
+package com.sustainshare.backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.geo.GeoGridIndex;
+import com.sustainshare.backend.geo.GeoGridIndex.Neighbor;
+import com.sustainshare.backend.geo.GeoMath;
+import com.sustainshare.backend.model.FoodItem;
+
+// Spatial index of listings that are still on offer and have coordinates
+@Component
+public class FoodLocationIndex {
+
+    private final GeoGridIndex<FoodItem> grid;
+
+    public FoodLocationIndex(@Value("${sustainshare.geo.cell-degrees:0.01}") double cellDegrees) {
+        this.grid = new GeoGridIndex<>(cellDegrees);
+    }
+
+    // Adds, moves or drops the listing depending on whether it can still be picked up
+    public void track(FoodItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        boolean live = item.isAvailable() && item.getQuantity() > 0
+                && GeoMath.isValid(item.getLatitude(), item.getLongitude());
+        if (live) {
+            grid.put(item.getId(), item.getLatitude(), item.getLongitude(), item);
+        } else {
+            grid.remove(item.getId());
+        }
+    }
+
+    public void remove(Long id) {
+        if (id != null) {
+            grid.remove(id);
+        }
+    }
+
+    public List<Neighbor<FoodItem>> nearest(double lat, double lon, int k, double maxRadiusKm) {
+        return grid.nearest(lat, lon, k, maxRadiusKm);
+    }
+
+    public List<Neighbor<FoodItem>> withinRadius(double lat, double lon, double radiusKm, int limit) {
+        return grid.withinRadius(lat, lon, radiusKm, limit);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+}
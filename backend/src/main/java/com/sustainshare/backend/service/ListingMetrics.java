@@ -0,0 +1,46 @@
+package com.sustainshare.backend.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.event.FoodListingEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Business counters and gauges for the food listing lifecycle:
+// sustainshare.listings.events{type=created|claimed|expired|deleted|released}, live listings,
+// geo-indexed listings and live feed subscribers
+@Component
+public class ListingMetrics {
+
+    private final Map<FoodListingEvent.Type, Counter> eventCounters = new EnumMap<>(FoodListingEvent.Type.class);
+
+    public ListingMetrics(MeterRegistry registry, ExpiryIndex expiryIndex,
+                          FoodLocationIndex foodLocationIndex, FoodEventBroadcaster broadcaster) {
+        for (FoodListingEvent.Type type : FoodListingEvent.Type.values()) {
+            eventCounters.put(type, Counter.builder("sustainshare.listings.events")
+                    .description("Food listing lifecycle events")
+                    .tag("type", type.name().toLowerCase())
+                    .register(registry));
+        }
+        Gauge.builder("sustainshare.listings.live", expiryIndex, ExpiryIndex::size)
+                .description("Live listings with an expiry time")
+                .register(registry);
+        Gauge.builder("sustainshare.listings.geo.indexed", foodLocationIndex, FoodLocationIndex::size)
+                .description("Live listings in the nearby-search index")
+                .register(registry);
+        Gauge.builder("sustainshare.feed.subscribers", broadcaster, FoodEventBroadcaster::subscriberCount)
+                .description("Open /api/food/events connections")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onFoodListingEvent(FoodListingEvent event) {
+        eventCounters.get(event.getType()).increment();
+    }
+}
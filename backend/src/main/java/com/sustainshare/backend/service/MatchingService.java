@@ -0,0 +1,321 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.sustainshare.backend.dto.MatchProposal;
+import com.sustainshare.backend.dto.StatsTotals;
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.geo.GeoGridIndex;
+import com.sustainshare.backend.geo.GeoGridIndex.Neighbor;
+import com.sustainshare.backend.geo.GeoMath;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Suggests charities for every new listing. Candidates are the charities within reach in
+// CharityLocationIndex, which is kept current as charities sign up, so matching runs no
+// query. Each candidate is scored on distance, how much of the expiry window the trip would
+// use, how well the quantity fits the charity's usual pickup size and how many pickups it
+// took recently; large candidate sets are scored on a fork-join pool and the best few kept.
+//
+// Matching runs off the request thread after the listing is announced. With
+// sustainshare.matching.auto-reserve the best match is reserved through FoodClaimService;
+// otherwise the proposals are only published at GET /api/food/{id}/matches.
+@Service
+public class MatchingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchingService.class);
+    // Below this many candidates a slice is scored on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+    private static final int RESERVE_ATTEMPTS = 3;
+
+    @Autowired
+    private CharityLocationIndex charityLocationIndex;
+
+    @Autowired
+    private DonationStatsService donationStatsService;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private FoodClaimService foodClaimService;
+
+    private final ForkJoinPool scoringPool;
+    private final ThreadPoolExecutor matchExecutor;
+    private final Map<Long, List<MatchProposal>> proposals = new ConcurrentHashMap<>();
+    private final Map<String, RecentLoad> recentLoad = new ConcurrentHashMap<>();
+
+    private final double radiusKm;
+    private final int maxProposals;
+    private final double speedKmh;
+    private final Duration loadHalfLife;
+    private final boolean autoReserve;
+    private final double distanceWeight;
+    private final double expiryWeight;
+    private final double quantityWeight;
+    private final double loadWeight;
+
+    private final Timer latency;
+    private final Counter reserved;
+    private final Counter dropped;
+
+    public MatchingService(MeterRegistry registry,
+                           @Value("${sustainshare.matching.radius-km:10}") double radiusKm,
+                           @Value("${sustainshare.matching.max-proposals:5}") int maxProposals,
+                           @Value("${sustainshare.matching.speed-kmh:25}") double speedKmh,
+                           @Value("${sustainshare.matching.load-half-life:PT6H}") Duration loadHalfLife,
+                           @Value("${sustainshare.matching.auto-reserve:false}") boolean autoReserve,
+                           @Value("${sustainshare.matching.parallelism:0}") int parallelism,
+                           @Value("${sustainshare.matching.weights.distance:0.4}") double distanceWeight,
+                           @Value("${sustainshare.matching.weights.expiry:0.25}") double expiryWeight,
+                           @Value("${sustainshare.matching.weights.quantity:0.15}") double quantityWeight,
+                           @Value("${sustainshare.matching.weights.load:0.2}") double loadWeight) {
+        this.radiusKm = radiusKm;
+        this.maxProposals = maxProposals;
+        this.speedKmh = speedKmh;
+        this.loadHalfLife = loadHalfLife;
+        this.autoReserve = autoReserve;
+        this.distanceWeight = distanceWeight;
+        this.expiryWeight = expiryWeight;
+        this.quantityWeight = quantityWeight;
+        this.loadWeight = loadWeight;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        this.latency = Timer.builder("sustainshare.matching.latency")
+                .description("Time to score and rank candidate charities for one listing")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.reserved = Counter.builder("sustainshare.matching.reserved").register(registry);
+        this.dropped = Counter.builder("sustainshare.matching.dropped")
+                .description("Listings not matched because the match queue was full")
+                .register(registry);
+        // Bounded: under a flood of listings, matching falls behind rather than piling up work
+        this.matchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), new CustomizableThreadFactory("matching-"),
+                (task, executor) -> dropped.increment());
+    }
+
+    // Recent load starts from the pickups scheduled in the last three half-lives
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedRecentLoad() {
+        long now = System.nanoTime();
+        for (Object[] row : pickupScheduleRepository.countByCharitySince(LocalDateTime.now().minus(loadHalfLife.multipliedBy(3)))) {
+            recentLoad.computeIfAbsent((String) row[0], k -> new RecentLoad()).add(now, ((Number) row[1]).doubleValue());
+        }
+    }
+
+    @EventListener
+    public void onFoodListingEvent(FoodListingEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                FoodItem item = event.getItem();
+                if (item != null && GeoMath.isValid(item.getLatitude(), item.getLongitude())) {
+                    matchExecutor.execute(() -> matchAndReserve(item));
+                }
+            }
+            case CLAIMED -> {
+                if (event.getCharityId() != null) {
+                    recentLoad.computeIfAbsent(event.getCharityId(), k -> new RecentLoad()).add(System.nanoTime(), 1);
+                }
+                if (event.getItem() != null && event.getItem().getQuantity() <= 0) {
+                    proposals.remove(event.getFoodItemId());
+                }
+            }
+            case DELETED, EXPIRED -> proposals.remove(event.getFoodItemId());
+        }
+    }
+
+    // Last proposals for a listing, or null if it has not been matched
+    public List<MatchProposal> getProposals(Long foodItemId) {
+        return proposals.get(foodItemId);
+    }
+
+    // Scores the charities in reach of the listing, best first, and remembers the result
+    public List<MatchProposal> match(FoodItem item) {
+        long started = System.nanoTime();
+        if (!GeoMath.isValid(item.getLatitude(), item.getLongitude())
+                || !GeoGridIndex.isSearchable(item.getLatitude(), radiusKm)) {
+            return List.of();
+        }
+        List<Neighbor<User>> candidates = charityLocationIndex.allWithinRadius(
+                item.getLatitude(), item.getLongitude(), radiusKm);
+        Scoring scoring = new Scoring(item);
+        List<Candidate> best = candidates.size() <= SEQUENTIAL_THRESHOLD
+                ? scoring.top(candidates, 0, candidates.size())
+                : scoringPool.invoke(new ScoreTask(scoring, candidates, 0, candidates.size()));
+
+        List<MatchProposal> result = new ArrayList<>(best.size());
+        for (Candidate c : best) {
+            result.add(new MatchProposal(item.getId(), c.charity().getId(), c.charity().getName(), c.distanceKm(),
+                    c.score(), c.distanceScore(), c.expiryScore(), c.quantityScore(), c.loadScore()));
+        }
+        if (item.getId() != null) {
+            proposals.put(item.getId(), result);
+        }
+        latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private void matchAndReserve(FoodItem item) {
+        try {
+            List<MatchProposal> matches = match(item);
+            if (!autoReserve) {
+                return;
+            }
+            // Another charity may claim first; fall back to the next best
+            for (int i = 0; i < Math.min(RESERVE_ATTEMPTS, matches.size()); i++) {
+                try {
+                    foodClaimService.claim(item.getId(), matches.get(i).getCharityId(), null, null);
+                    reserved.increment();
+                    return;
+                } catch (ClaimRejectedException e) {
+                    log.debug("Auto-reserve of food item {} for {} rejected: {}",
+                            item.getId(), matches.get(i).getCharityId(), e.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Matching failed for food item {}", item.getId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        matchExecutor.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    private final class Scoring {
+        final int quantity;
+        final double remainingHours;
+        final long now = System.nanoTime();
+
+        Scoring(FoodItem item) {
+            this.quantity = item.getQuantity();
+            this.remainingHours = item.getExpiryTime() == null ? Double.POSITIVE_INFINITY
+                    : Duration.between(LocalDateTime.now(), item.getExpiryTime()).toSeconds() / 3600.0;
+        }
+
+        // Best maxProposals of candidates[from, to), best first
+        List<Candidate> top(List<Neighbor<User>> candidates, int from, int to) {
+            PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.score()));
+            for (int i = from; i < to; i++) {
+                Candidate c = score(candidates.get(i));
+                if (c == null) {
+                    continue;
+                }
+                if (best.size() < maxProposals) {
+                    best.add(c);
+                } else if (c.score() > best.peek().score) {
+                    best.poll();
+                    best.add(c);
+                }
+            }
+            List<Candidate> result = new ArrayList<>(best);
+            result.sort(BEST_FIRST);
+            return result;
+        }
+
+        // Null when the charity could not get there before the food expires
+        Candidate score(Neighbor<User> neighbor) {
+            double travelHours = neighbor.distanceKm() / speedKmh;
+            if (travelHours >= remainingHours) {
+                return null;
+            }
+            double distanceScore = 1 - neighbor.distanceKm() / radiusKm;
+            double expiryScore = Double.isInfinite(remainingHours) ? 1 : 1 - travelHours / remainingHours;
+
+            String charityId = neighbor.value().getId();
+            double quantityScore = 0.5;
+            StatsTotals totals = donationStatsService.getCharityTotals(charityId);
+            if (totals.getPickups() > 0 && quantity > 0) {
+                double usual = (double) totals.getPortionsPickedUp() / totals.getPickups();
+                quantityScore = Math.min(usual, quantity) / Math.max(usual, quantity);
+            }
+            RecentLoad load = recentLoad.get(charityId);
+            double loadScore = load == null ? 1 : 1 / (1 + load.valueAt(now));
+
+            double score = distanceWeight * distanceScore + expiryWeight * expiryScore
+                    + quantityWeight * quantityScore + loadWeight * loadScore;
+            return new Candidate(neighbor.value(), neighbor.distanceKm(), score,
+                    distanceScore, expiryScore, quantityScore, loadScore);
+        }
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble((Candidate c) -> c.score()).reversed();
+
+    private final class ScoreTask extends RecursiveTask<List<Candidate>> {
+        private final Scoring scoring;
+        private final List<Neighbor<User>> candidates;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Scoring scoring, List<Neighbor<User>> candidates, int from, int to) {
+            this.scoring = scoring;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Candidate> compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return scoring.top(candidates, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(scoring, candidates, from, mid);
+            left.fork();
+            List<Candidate> merged = new ArrayList<>(new ScoreTask(scoring, candidates, mid, to).compute());
+            merged.addAll(left.join());
+            merged.sort(BEST_FIRST);
+            return merged.size() > maxProposals ? merged.subList(0, maxProposals) : merged;
+        }
+    }
+
+    private record Candidate(User charity, double distanceKm, double score, double distanceScore,
+                             double expiryScore, double quantityScore, double loadScore) {}
+
+    // Pickup count that halves every loadHalfLife
+    private final class RecentLoad {
+        private double value;
+        private long updatedAt;
+
+        synchronized void add(long now, double amount) {
+            value = valueAt(now) + amount;
+            updatedAt = now;
+        }
+
+        synchronized double valueAt(long now) {
+            if (value == 0) {
+                return 0;
+            }
+            return value * Math.pow(0.5, (double) (now - updatedAt) / loadHalfLife.toNanos());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Marks overdue pickups Missed once a tick, in batches of one short transaction each, puts the
+// portions they reserved back on their listings and takes them out of the stats. Which pickups
+// are due comes from the PickupSlotScheduler's wheel; at startup, or when the sweeper has fallen
+// more than a wheel behind, the wheel is restarted and the pickups overdue before it are read
+// from the database.
+@Component
+public class MissedPickupSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(MissedPickupSweeper.class);
+
+    @Autowired
+    private PickupSlotScheduler pickupSlotScheduler;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private FoodClaimService foodClaimService;
+
+    @Autowired
+    private FoodChangeTracker foodChangeTracker;
+
+    @Autowired
+    private DonationStatsService donationStatsService;
+
+    @Value("${sustainshare.slots.missed-batch-size:500}")
+    private int batchSize;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Counter missedPickups;
+
+    public MissedPickupSweeper(PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.missedPickups = Counter.builder("sustainshare.pickups.missed")
+                .description("Pickups marked Missed after their deadline")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.slots.tick:PT1M}")
+    public int sweep() {
+        return sweep(LocalDateTime.now());
+    }
+
+    // Returns the number of pickups marked Missed
+    public synchronized int sweep(LocalDateTime now) {
+        int missed = 0;
+        if (!pickupSlotScheduler.isCurrent(now)) {
+            LocalDateTime cutoff = pickupSlotScheduler.restart(now);
+            List<Long> batch;
+            while (!(batch = pickupScheduleRepository.findIdsScheduledBefore(
+                    PickupStatus.SCHEDULED, cutoff, Limit.of(batchSize))).isEmpty()) {
+                missed += miss(batch);
+            }
+        }
+        long[] due;
+        while ((due = pickupSlotScheduler.expireNextTick(now)) != null) {
+            for (int from = 0; from < due.length; from += batchSize) {
+                List<Long> batch = new ArrayList<>();
+                for (int i = from; i < Math.min(from + batchSize, due.length); i++) {
+                    batch.add(due[i]);
+                }
+                missed += miss(batch);
+            }
+        }
+        if (missed > 0) {
+            log.debug("Marked {} overdue pickups as missed", missed);
+        }
+        return missed;
+    }
+
+    // Pickups marked in one batch, the portions given back per food item, and the
+    // charityId, quantity, scheduledTime of each marked pickup for the stats
+    private record Batch(int missed, Map<Long, Integer> released, List<Object[]> marked) {}
+
+    // One batch; ids no longer Scheduled (completed, deleted, already missed) are skipped
+    private int miss(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        Batch batch;
+        try {
+            // Missed pickups leave the stats in the same step, so a rebuild sees both or neither
+            batch = donationStatsService.writeThrough(() -> transactionTemplate.execute(status -> markMissed(unique)),
+                    marked -> marked.marked().forEach(row -> donationStatsService.retractPickup(
+                            (String) row[3], ((Number) row[2]).intValue(), (LocalDateTime) row[4])));
+        } catch (StatusChangedException e) {
+            // Something else changed a pickup of the batch meanwhile: take them one at a time
+            int missed = 0;
+            for (Long id : unique) {
+                missed += miss(List.of(id));
+            }
+            return missed;
+        }
+        for (Long id : unique) {
+            pickupSlotScheduler.release(id);
+        }
+        foodClaimService.released(batch.released().keySet());
+        missedPickups.increment(batch.missed());
+        return batch.missed();
+    }
+
+    // Scheduled -> Missed, and the reserved portions back to listings still on offer
+    private Batch markMissed(Set<Long> ids) {
+        List<Object[]> rows = pickupScheduleRepository.findQuantitiesInStatus(ids, PickupStatus.SCHEDULED);
+        if (rows.isEmpty()) {
+            return new Batch(0, Map.of(), List.of());
+        }
+        List<Long> overdue = new ArrayList<>();
+        Map<Long, Integer> released = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            overdue.add((Long) row[0]);
+            if (row[1] != null && ((Number) row[2]).intValue() > 0) {
+                released.merge((Long) row[1], ((Number) row[2]).intValue(), Integer::sum);
+            }
+        }
+        if (pickupScheduleRepository.updateStatus(overdue, PickupStatus.SCHEDULED, PickupStatus.MISSED) != overdue.size()) {
+            throw new StatusChangedException();
+        }
+        long changeVersion = foodChangeTracker.next();
+        released.entrySet().removeIf(entry ->
+                foodItemRepository.release(entry.getKey(), entry.getValue(), changeVersion) == 0);
+        return new Batch(overdue.size(), released, rows);
+    }
+
+    // Rolls the batch back when a pickup's status changed between reading and updating it
+    private static class StatusChangedException extends RuntimeException {
+        StatusChangedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,28 +1,124 @@
 package com.sustainshare.backend.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.sustainshare.backend.datasource.ReadRouting;
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.PickupView;
+import com.sustainshare.backend.event.PickupScheduledEvent;
 import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.outbox.OutboxWriter;
+import com.sustainshare.backend.repository.FoodItemRepository;
 import com.sustainshare.backend.repository.PickupScheduleRepository;
 
 @Service
 public class PickupScheduleService {
 
+    public static final Duration MAX_QUERY_WINDOW = Duration.ofDays(31);
+
     @Autowired
     private PickupScheduleRepository pickupScheduleRepository;
 
-    // Add new pickup schedule
+    @Autowired
+    private FoodClaimService foodClaimService;
+
+    @Autowired
+    private DonationStatsService donationStatsService;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private PickupSlotScheduler pickupSlotScheduler;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private FoodChangeTracker foodChangeTracker;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PickupScheduleService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Add new pickup schedule. Pickups for a food item go through the claim engine,
+    // which reserves the quantity (all of it unless the pickup says otherwise).
     public PickupSchedule schedulePickup(PickupSchedule pickup) {
-        return pickupScheduleRepository.save(pickup);
+        if (pickup.getFoodItem() == null || pickup.getFoodItem().getId() == null) {
+            return donationStatsService.writeThrough(() -> transactionTemplate.execute(status -> savePlain(pickup)),
+                    p -> donationStatsService.recordPickup(
+                            p.getCharity() == null ? null : p.getCharity().getId(), p.getQuantity(), p.getScheduledTime()));
+        }
+        String charityId = pickup.getCharity() == null ? null : pickup.getCharity().getId();
+        Integer quantity = pickup.getQuantity() > 0 ? pickup.getQuantity() : null;
+        return foodClaimService.claim(pickup.getFoodItem().getId(), charityId, quantity, pickup.getScheduledTime());
     }
 
-    // Get all pickup schedules
+    // Pickup with no food item attached: saved with its outbox event in one transaction
+    private PickupSchedule savePlain(PickupSchedule pickup) {
+        if (pickup.getStatus() == null) {
+            pickup.setStatus(PickupStatus.SCHEDULED);
+        }
+        PickupSchedule saved = pickupScheduleRepository.save(pickup);
+        pickupSlotScheduler.book(saved, null);
+        outboxWriter.append("pickup", saved.getId(), new PickupScheduledEvent(saved.getId(), null, null, null,
+                saved.getCharity() == null ? null : saved.getCharity().getId(),
+                saved.getQuantity(), 0, saved.getScheduledTime()));
+        return saved;
+    }
+
+    // Get all pickup schedules, from a read replica
+    @Transactional(readOnly = true)
     public List<PickupSchedule> getAllPickups() {
-        return pickupScheduleRepository.findAll();
+        return ReadRouting.fromReplica(pickupScheduleRepository::findAll);
+    }
+
+    // One page of flat pickup rows (single SQL statement), optionally for one charity or status
+    public CursorPage<PickupView> getPickupViews(Long after, Integer limit, String charityId, String status) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<PickupView> rows = pickupScheduleRepository.findViewsAfter(
+                after == null ? 0L : after, charityId, PickupStatus.parse(status), Limit.of(pageSize));
+        return CursorPage.of(rows, pageSize, PickupView::getId);
+    }
+
+    // Every pickup of a food listing, earliest first
+    public List<PickupView> getPickupsForFood(Long foodItemId) {
+        return pickupScheduleRepository.findViewsByFoodItem(foodItemId);
+    }
+
+    // A charity's pickups scheduled in [from, to), earliest first, at most limit rows
+    public List<PickupView> getPickupsForCharity(String charityId, LocalDateTime from, LocalDateTime to, Integer limit) {
+        checkWindow(from, to);
+        return pickupScheduleRepository.findViewsByCharityBetween(charityId, from, to, Limit.of(CursorPage.clampLimit(limit)));
+    }
+
+    // Pickups in one status scheduled in [from, to), earliest first, at most limit rows
+    public List<PickupView> getPickupsByStatus(String status, LocalDateTime from, LocalDateTime to, Integer limit) {
+        checkWindow(from, to);
+        PickupStatus parsed = PickupStatus.parse(status);
+        if (parsed == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        return pickupScheduleRepository.findViewsByStatusBetween(parsed, from, to, Limit.of(CursorPage.clampLimit(limit)));
+    }
+
+    private static void checkWindow(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from) || to.isAfter(from.plus(MAX_QUERY_WINDOW))) {
+            throw new IllegalArgumentException("Window must be positive and at most " + MAX_QUERY_WINDOW.toDays() + " days");
+        }
     }
 
     // Get pickup by ID
@@ -30,8 +126,41 @@ public class PickupScheduleService {
         return pickupScheduleRepository.findById(id);
     }
 
-    // Delete a pickup
+    // A deleted pickup as it was, and whether its portions went back to its listing
+    private record Deleted(PickupStatus status, Long foodItemId, int quantity, String charityId,
+                           LocalDateTime scheduledTime, boolean released) {}
+
+    // Delete a pickup and take it out of the stats (a missed one already is). A Scheduled one
+    // gives its portions back to its listing, as a missed one does (see MissedPickupSweeper),
+    // if the listing is still on offer.
     public void deletePickup(Long id) {
-        pickupScheduleRepository.deleteById(id);
+        Deleted deleted = donationStatsService.writeThrough(() -> transactionTemplate.execute(status -> delete(id)),
+                d -> {
+                    if (d != null && d.status() != PickupStatus.MISSED) {
+                        donationStatsService.retractPickup(d.charityId(), d.quantity(), d.scheduledTime());
+                    }
+                });
+        pickupSlotScheduler.release(id);
+        if (deleted != null && deleted.released()) {
+            foodClaimService.released(List.of(deleted.foodItemId()));
+        }
+    }
+
+    // Deletes the pickup in the status it was read in, so a sweep marking it Missed meanwhile
+    // cannot release its portions or retract its stats twice; null if it was already gone
+    private Deleted delete(Long id) {
+        List<Object[]> rows;
+        while (!(rows = pickupScheduleRepository.findStateById(id)).isEmpty()) {
+            Object[] row = rows.get(0);
+            PickupStatus status = (PickupStatus) row[0];
+            if (pickupScheduleRepository.deleteInStatus(id, status) == 1) {
+                Long foodItemId = (Long) row[1];
+                int quantity = ((Number) row[2]).intValue();
+                boolean released = status == PickupStatus.SCHEDULED && foodItemId != null && quantity > 0
+                        && foodItemRepository.release(foodItemId, quantity, foodChangeTracker.next()) == 1;
+                return new Deleted(status, foodItemId, quantity, (String) row[3], (LocalDateTime) row[4], released);
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,193 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Allocates pickup slots and keeps track of when scheduled pickups become overdue.
+//
+// A pickup with a charity holds the slot [scheduledTime, scheduledTime + length) for its
+// charity and its listing's pickup location in a SlotIndex; a booking that would double-book
+// the charity or overfill the location is rejected with 409. The index is in memory, rebuilt
+// from the open pickups at startup, and the database does not check overlaps: the check only
+// holds when one instance takes all pickup writes (claims, scheduling, deletes). With several
+// instances each sees only its own bookings and clashing pickups can be saved.
+//
+// A pickup still Scheduled missed-after past its time is overdue. Deadlines within the next
+// wheel-size ticks wait on a TimerWheel; later ones stay in the database and are read one
+// tick at a time (idx_pickup_status_time) as the horizon moves, so a tick costs the same with
+// a thousand or millions of pickups pending. MissedPickupSweeper turns the wheel.
+@Component
+public class PickupSlotScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PickupSlotScheduler.class);
+
+    private final PickupScheduleRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long slotSeconds;
+    private final long missedAfterSeconds;
+    private final SlotIndex slots;
+    private final TimerWheel wheel;
+    private boolean started; // guarded by this, like the wheel
+
+    public PickupSlotScheduler(PickupScheduleRepository repository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${sustainshare.slots.length:PT30M}") Duration slotLength,
+                               @Value("${sustainshare.slots.location-capacity:2}") int locationCapacity,
+                               @Value("${sustainshare.slots.missed-after:PT2H}") Duration missedAfter,
+                               @Value("${sustainshare.slots.tick:PT1M}") Duration tick,
+                               @Value("${sustainshare.slots.wheel-size:1440}") int wheelSize) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slotSeconds = slotLength.toSeconds();
+        this.missedAfterSeconds = missedAfter.toSeconds();
+        this.slots = new SlotIndex(locationCapacity);
+        this.wheel = new TimerWheel(Math.max(1, tick.toSeconds()), wheelSize, seconds(LocalDateTime.now()));
+        Gauge.builder("sustainshare.pickups.slots", slots, SlotIndex::size)
+                .description("Booked pickup slots")
+                .register(registry);
+        Gauge.builder("sustainshare.pickups.deadlines", this, PickupSlotScheduler::pendingDeadlines)
+                .description("Pickup deadlines waiting on the timer wheel")
+                .register(registry);
+    }
+
+    // Books the slot of a pickup saved in the current transaction, or throws ClaimRejectedException.
+    // The slot is freed again if the transaction rolls back; once it commits the pickup's
+    // deadline goes on the wheel.
+    public void book(PickupSchedule pickup, String location) {
+        if (pickup.getScheduledTime() == null
+                || (pickup.getStatus() != PickupStatus.SCHEDULED && pickup.getStatus() != PickupStatus.IN_PROGRESS)) {
+            return;
+        }
+        long id = pickup.getId();
+        long start = seconds(pickup.getScheduledTime());
+        String charityId = pickup.getCharity() == null ? null : pickup.getCharity().getId();
+        if (charityId != null) {
+            String conflict = slots.tryBook(new SlotIndex.Slot(id, charityId, SlotIndex.locationKey(location),
+                    start, start + slotSeconds));
+            if (conflict != null) {
+                throw new ClaimRejectedException(conflict);
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            track(id, start);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    track(id, start);
+                } else {
+                    slots.remove(id);
+                }
+            }
+        });
+    }
+
+    // The pickup no longer needs its slot (missed, cancelled or deleted)
+    public void release(long pickupId) {
+        slots.remove(pickupId);
+    }
+
+    // Slots of pickups that are still open and not over yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSlots() {
+        LocalDateTime from = LocalDateTime.now().minusSeconds(slotSeconds);
+        int[] loaded = new int[1];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = repository.streamSlots(
+                    EnumSet.of(PickupStatus.SCHEDULED, PickupStatus.IN_PROGRESS), from)) {
+                rows.forEach(row -> {
+                    if (row[1] != null) {
+                        long start = seconds((LocalDateTime) row[3]);
+                        slots.add(new SlotIndex.Slot((Long) row[0], (String) row[1],
+                                SlotIndex.locationKey((String) row[2]), start, start + slotSeconds));
+                        loaded[0]++;
+                    }
+                });
+            }
+        });
+        log.info("Loaded {} booked pickup slots", loaded[0]);
+    }
+
+    // Whether the wheel is running and now falls within the time it covers (not so after
+    // falling more than a wheel behind, or after the clock was set back)
+    public synchronized boolean isCurrent(LocalDateTime now) {
+        long at = seconds(now);
+        return started && at >= wheel.coveredFrom() && at < wheel.horizon();
+    }
+
+    // Starts the wheel over at now with every deadline up to its horizon. Returns the cutoff:
+    // pickups still Scheduled before it were due before the wheel starts and must be found in
+    // the database.
+    public synchronized LocalDateTime restart(LocalDateTime now) {
+        wheel.reset(seconds(now));
+        fill(wheel.coveredFrom(), wheel.horizon());
+        started = true;
+        return time(wheel.coveredFrom() - missedAfterSeconds);
+    }
+
+    // Ids of the pickups due in the next tick, or null when no tick has ended by now. Each tick
+    // expired reads the deadlines of the one tick it adds at the far end of the horizon.
+    public synchronized long[] expireNextTick(LocalDateTime now) {
+        if (!started || !wheel.isDue(seconds(now))) {
+            return null;
+        }
+        long from = wheel.horizon();
+        long[] due = wheel.expireNext();
+        fill(from, wheel.horizon());
+        return due;
+    }
+
+    public synchronized long pendingDeadlines() {
+        return wheel.pending();
+    }
+
+    private synchronized void track(long pickupId, long start) {
+        if (started) {
+            // Refused beyond the horizon: that deadline is read from the database when it gets there
+            wheel.schedule(pickupId, start + missedAfterSeconds);
+        }
+    }
+
+    // Puts the Scheduled pickups with deadlines in [from, to) on the wheel
+    private void fill(long from, long to) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = repository.streamScheduledBetween(PickupStatus.SCHEDULED,
+                    time(from - missedAfterSeconds), time(to - missedAfterSeconds))) {
+                rows.forEach(row -> wheel.schedule((Long) row[0], seconds((LocalDateTime) row[1]) + missedAfterSeconds));
+            }
+        });
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime time(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sustainshare.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.sustainshare.backend.datasource.ReadRouting;
+import com.sustainshare.backend.datasource.ReplicaPool;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.repository.UserSummary;
+
+// Read-through, in-memory list of users per role (mostly the charity directory).
+// Loaded once per role and dropped whenever a user with that role signs up. A load within the
+// replica window of a signup reads the primary, so the new user cannot be cached away.
+@Component
+public class RoleDirectory {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    private final Map<Role, List<UserSummary>> entries = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load that raced with a signup is not kept
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long lastInvalidation = System.nanoTime();
+
+    public List<UserSummary> get(Role role) {
+        List<UserSummary> cached = entries.get(role);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        List<UserSummary> loaded = System.nanoTime() - lastInvalidation < replicaPool.window().toNanos()
+                ? ReadRouting.onPrimary(() -> load(role))
+                : load(role);
+        entries.putIfAbsent(role, loaded);
+        if (generation.get() != seen) {
+            entries.remove(role, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Role role) {
+        lastInvalidation = System.nanoTime();
+        generation.incrementAndGet();
+        if (role == null) {
+            entries.clear();
+        } else {
+            entries.remove(role);
+        }
+    }
+
+    private List<UserSummary> load(Role role) {
+        return List.copyOf(userRepository.findByRoleOrderByName(role));
+    }
+}
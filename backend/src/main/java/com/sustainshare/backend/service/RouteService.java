@@ -0,0 +1,119 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.sustainshare.backend.dto.RoutePlan;
+import com.sustainshare.backend.dto.RouteStop;
+import com.sustainshare.backend.geo.GeoMath;
+import com.sustainshare.backend.geo.RoutePlanner;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Plans multi-stop pickup runs: a charity's scheduled pickups in a time window, ordered to
+// keep the drive short without arriving after food expires. Starts from the charity's own
+// location when it has one. Plans for several charities are computed in parallel, one
+// charity per task; the pickups for all of them are read with a single query.
+@Service
+public class RouteService {
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    private final RoutePlanner planner;
+    private final int maxStops;
+    private final ExecutorService pool;
+
+    public RouteService(@Value("${sustainshare.routes.speed-kmh:25}") double speedKmh,
+                        @Value("${sustainshare.routes.service-time:PT5M}") Duration serviceTime,
+                        @Value("${sustainshare.routes.max-passes:50}") int maxPasses,
+                        @Value("${sustainshare.routes.max-stops:1000}") int maxStops,
+                        @Value("${sustainshare.routes.threads:0}") int threads) {
+        this.planner = new RoutePlanner(speedKmh, serviceTime.toSeconds(), maxPasses);
+        this.maxStops = maxStops;
+        this.pool = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                new CustomizableThreadFactory("route-plan-"));
+    }
+
+    public RoutePlan planForCharity(String charityId, LocalDateTime from, LocalDateTime to, LocalDateTime departAt) {
+        return plan(charityId, pickupScheduleRepository.findPendingForRoutes(charityId, from, to), departAt);
+    }
+
+    // One plan per charity with pending pickups in the window
+    public List<RoutePlan> planAll(LocalDateTime from, LocalDateTime to, LocalDateTime departAt) {
+        Map<String, List<PickupSchedule>> byCharity = new LinkedHashMap<>();
+        for (PickupSchedule p : pickupScheduleRepository.findPendingForRoutes(null, from, to)) {
+            byCharity.computeIfAbsent(p.getCharity().getId(), k -> new ArrayList<>()).add(p);
+        }
+        List<CompletableFuture<RoutePlan>> plans = new ArrayList<>(byCharity.size());
+        byCharity.forEach((charityId, pickups) ->
+                plans.add(CompletableFuture.supplyAsync(() -> plan(charityId, pickups, departAt), pool)));
+        return plans.stream().map(CompletableFuture::join).toList();
+    }
+
+    private RoutePlan plan(String charityId, List<PickupSchedule> pickups, LocalDateTime departAt) {
+        long started = System.nanoTime();
+        List<PickupSchedule> routable = new ArrayList<>(pickups.size());
+        List<Long> unrouted = new ArrayList<>();
+        for (PickupSchedule p : pickups) {
+            FoodItem item = p.getFoodItem();
+            if (GeoMath.isValid(item.getLatitude(), item.getLongitude())) {
+                routable.add(p);
+            } else {
+                unrouted.add(p.getId());
+            }
+        }
+        // Past the cap, the soonest-expiring pickups are routed and the rest listed as unrouted
+        if (routable.size() > maxStops) {
+            routable.sort(Comparator.comparing(p -> p.getFoodItem().getExpiryTime(),
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+            routable.subList(maxStops, routable.size()).forEach(p -> unrouted.add(p.getId()));
+            routable = new ArrayList<>(routable.subList(0, maxStops));
+        }
+
+        List<RoutePlanner.Stop> stops = new ArrayList<>(routable.size());
+        for (PickupSchedule p : routable) {
+            FoodItem item = p.getFoodItem();
+            double deadline = item.getExpiryTime() == null ? RoutePlanner.NO_DEADLINE
+                    : Duration.between(departAt, item.getExpiryTime()).toMillis() / 1000.0;
+            stops.add(new RoutePlanner.Stop(item.getLatitude(), item.getLongitude(), deadline));
+        }
+        User charity = pickups.isEmpty() ? null : pickups.get(0).getCharity();
+        RoutePlanner.Route route = charity == null ? planner.plan(null, null, stops)
+                : planner.plan(charity.getLatitude(), charity.getLongitude(), stops);
+
+        List<RouteStop> ordered = new ArrayList<>(route.order().length);
+        for (int i = 0; i < route.order().length; i++) {
+            PickupSchedule p = routable.get(route.order()[i]);
+            FoodItem item = p.getFoodItem();
+            LocalDateTime eta = departAt.plusSeconds(Math.round(route.arrivalSeconds()[i]));
+            ordered.add(new RouteStop(i + 1, p.getId(), item.getId(), item.getName(), item.getPickupLocation(),
+                    item.getLatitude(), item.getLongitude(), p.getQuantity(), route.legKm()[i], eta,
+                    item.getExpiryTime(), item.getExpiryTime() != null && eta.isAfter(item.getExpiryTime())));
+        }
+        return new RoutePlan(charityId, departAt, route.totalKm(), route.lateStops(), ordered, unrouted,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,135 @@
+package com.sustainshare.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+// Booked pickup slots per charity and per pickup location, for overlap checks.
+//
+// Each key keeps its slots in a tree ordered by start. No slot is longer than the longest one
+// seen, so the slots overlapping [start, end) all start in (start - maxLength, end) and a check
+// reads only those: O(log n + k). A charity may hold overlapping slots at one location only
+// (several listings collected in one visit); a location serves at most locationCapacity
+// charities at a time. Times are epoch seconds.
+public class SlotIndex {
+
+    public record Slot(long pickupId, String charityId, String location, long start, long end) {}
+
+    private static final Comparator<Slot> ORDER =
+            Comparator.comparingLong(Slot::start).thenComparingLong(Slot::pickupId);
+
+    private final int locationCapacity;
+    private final Map<String, NavigableSet<Slot>> byCharity = new HashMap<>();
+    private final Map<String, NavigableSet<Slot>> byLocation = new HashMap<>();
+    private final Map<Long, Slot> byPickup = new HashMap<>();
+    private long maxLength;
+
+    public SlotIndex(int locationCapacity) {
+        this.locationCapacity = Math.max(1, locationCapacity);
+    }
+
+    // Same location whatever the spelling; null when there is none
+    public static String locationKey(String location) {
+        return location == null || location.isBlank() ? null : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Books the slot, or returns why it cannot be booked (nothing is booked then)
+    public synchronized String tryBook(Slot slot) {
+        for (Slot other : overlapping(byCharity, slot.charityId(), slot)) {
+            if (!Objects.equals(other.location(), slot.location())) {
+                return "Charity " + slot.charityId() + " already has a pickup elsewhere in this slot";
+            }
+        }
+        if (slot.location() != null && busiest(slot) >= locationCapacity) {
+            return "Pickup location " + slot.location() + " is fully booked for this slot";
+        }
+        add(slot);
+        return null;
+    }
+
+    // Adds the slot without checks (bookings already in the database)
+    public synchronized void add(Slot slot) {
+        remove(slot.pickupId());
+        byPickup.put(slot.pickupId(), slot);
+        if (slot.charityId() != null) {
+            byCharity.computeIfAbsent(slot.charityId(), k -> new TreeSet<>(ORDER)).add(slot);
+        }
+        if (slot.location() != null) {
+            byLocation.computeIfAbsent(slot.location(), k -> new TreeSet<>(ORDER)).add(slot);
+        }
+        maxLength = Math.max(maxLength, slot.end() - slot.start());
+    }
+
+    public synchronized void remove(long pickupId) {
+        Slot slot = byPickup.remove(pickupId);
+        if (slot != null) {
+            unlink(byCharity, slot.charityId(), slot);
+            unlink(byLocation, slot.location(), slot);
+        }
+    }
+
+    public synchronized int size() {
+        return byPickup.size();
+    }
+
+    // Most other charities at the slot's location at any one moment of the slot
+    private int busiest(Slot slot) {
+        List<long[]> edges = new ArrayList<>();
+        Map<String, Integer> charityIds = new HashMap<>();
+        for (Slot other : overlapping(byLocation, slot.location(), slot)) {
+            if (!Objects.equals(other.charityId(), slot.charityId())) {
+                int charity = charityIds.computeIfAbsent(String.valueOf(other.charityId()), k -> charityIds.size());
+                edges.add(new long[] { Math.max(other.start(), slot.start()), 1, charity });
+                edges.add(new long[] { Math.min(other.end(), slot.end()), -1, charity });
+            }
+        }
+        // Ends before starts at the same instant: back-to-back slots do not overlap
+        edges.sort(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]));
+        int[] open = new int[charityIds.size()];
+        int present = 0;
+        int most = 0;
+        for (long[] edge : edges) {
+            int charity = (int) edge[2];
+            if (edge[1] > 0) {
+                if (open[charity]++ == 0) {
+                    most = Math.max(most, ++present);
+                }
+            } else if (--open[charity] == 0) {
+                present--;
+            }
+        }
+        return most;
+    }
+
+    private List<Slot> overlapping(Map<String, NavigableSet<Slot>> index, String key, Slot slot) {
+        NavigableSet<Slot> slots = key == null ? null : index.get(key);
+        if (slots == null) {
+            return List.of();
+        }
+        List<Slot> result = new ArrayList<>();
+        Slot from = new Slot(Long.MIN_VALUE, null, null, slot.start() - maxLength, 0);
+        Slot to = new Slot(Long.MIN_VALUE, null, null, slot.end(), 0);
+        for (Slot other : slots.subSet(from, true, to, false)) {
+            if (other.end() > slot.start() && other.pickupId() != slot.pickupId()) {
+                result.add(other);
+            }
+        }
+        return result;
+    }
+
+    private static void unlink(Map<String, NavigableSet<Slot>> index, String key, Slot slot) {
+        if (key == null) {
+            return;
+        }
+        NavigableSet<Slot> slots = index.get(key);
+        if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
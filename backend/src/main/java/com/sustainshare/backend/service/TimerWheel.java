@@ -0,0 +1,84 @@
+package com.sustainshare.backend.service;
+
+import java.util.Arrays;
+
+// Hashed timer wheel over a bounded horizon: size buckets of one tick each, a deadline going
+// into bucket (tick mod size). Only deadlines within the next size ticks are accepted, so a
+// bucket holds exactly the entries due in its tick and expiring a tick costs O(entries due),
+// however many deadlines lie beyond the horizon; the owner offers those again as the horizon
+// moves forward. Entries are plain ids and cannot be cancelled, so whoever handles an expired
+// id checks that it is still due. Times are epoch seconds. Not thread-safe.
+public class TimerWheel {
+
+    private final long tickSeconds;
+    private final long[][] buckets;
+    private final int[] sizes;
+    private long nextTick; // the next tick to expire
+    private long pending;
+
+    public TimerWheel(long tickSeconds, int size, long nowSeconds) {
+        if (tickSeconds <= 0 || size <= 0) {
+            throw new IllegalArgumentException("tick and size must be positive");
+        }
+        this.tickSeconds = tickSeconds;
+        this.buckets = new long[size][];
+        this.sizes = new int[size];
+        reset(nowSeconds);
+    }
+
+    // Empties the wheel and starts it at the tick containing now
+    public void reset(long nowSeconds) {
+        Arrays.fill(buckets, null);
+        Arrays.fill(sizes, 0);
+        pending = 0;
+        nextTick = Math.floorDiv(nowSeconds, tickSeconds);
+    }
+
+    // Start of the first tick not yet expired
+    public long coveredFrom() {
+        return nextTick * tickSeconds;
+    }
+
+    // End (exclusive) of the time covered; later deadlines are refused until the wheel gets there
+    public long horizon() {
+        return (nextTick + buckets.length) * tickSeconds;
+    }
+
+    // Adds an id; a deadline already past goes into the next tick. False if beyond the horizon.
+    public boolean schedule(long id, long deadlineSeconds) {
+        long tick = Math.max(Math.floorDiv(deadlineSeconds, tickSeconds), nextTick);
+        if (tick >= nextTick + buckets.length) {
+            return false;
+        }
+        int bucket = (int) Math.floorMod(tick, (long) buckets.length);
+        long[] ids = buckets[bucket];
+        if (ids == null) {
+            ids = buckets[bucket] = new long[8];
+        } else if (sizes[bucket] == ids.length) {
+            ids = buckets[bucket] = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[sizes[bucket]++] = id;
+        pending++;
+        return true;
+    }
+
+    // Whether the next tick has ended by now
+    public boolean isDue(long nowSeconds) {
+        return (nextTick + 1) * tickSeconds <= nowSeconds;
+    }
+
+    // Expires the next tick: returns its ids and moves the horizon forward by one tick
+    public long[] expireNext() {
+        int bucket = (int) Math.floorMod(nextTick, (long) buckets.length);
+        long[] due = buckets[bucket] == null ? new long[0] : Arrays.copyOf(buckets[bucket], sizes[bucket]);
+        buckets[bucket] = null;
+        sizes[bucket] = 0;
+        pending -= due.length;
+        nextTick++;
+        return due;
+    }
+
+    public long pending() {
+        return pending;
+    }
+}
@@ -6,8 +6,11 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.sustainshare.backend.datasource.ReadRouting;
+import com.sustainshare.backend.model.Role;
 import com.sustainshare.backend.model.User;
 import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.repository.UserSummary;
 
 @Service
 public class UserService {
@@ -15,11 +18,20 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RoleDirectory roleDirectory;
+
+    @Autowired
+    private CharityLocationIndex charityLocationIndex;
+
     public User registerUser(User user) {
         if (userRepository.existsById(user.getId())) {
             throw new RuntimeException("User ID already exists.");
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        roleDirectory.invalidate(saved.getRole());
+        charityLocationIndex.track(saved);
+        return saved;
     }
 
     public User loginUser(String email, String password) {
@@ -35,10 +47,14 @@ public class UserService {
         return userRepository.findAll();
     }
 
-    public List<User> getUsersByRole(String role) {
-        return userRepository.findAll()
-                .stream()
-                .filter(user -> user.getRole().equalsIgnoreCase(role))
-                .toList();
+    public List<UserSummary> getUsersByRole(String role) {
+        Role parsed;
+        try {
+            parsed = Role.fromString(role);
+        } catch (IllegalArgumentException e) {
+            return List.of(); // unknown role, nobody has it
+        }
+        // Directory misses load from a read replica (see RoleDirectory for just after a signup)
+        return ReadRouting.fromReplica(() -> roleDirectory.get(parsed));
     }
 }
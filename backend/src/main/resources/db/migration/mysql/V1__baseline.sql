@@ -0,0 +1,95 @@
+-- Schema of the JPA entities as of the production profile (ddl-auto=none). Keep in step with
+-- db/migration/h2; an existing schema created by ddl-auto=update is baselined as version 1.
+-- MySQL has no sequences: Hibernate keeps the pooled id generators in one-row tables.
+
+create table food_item_seq (next_val bigint) engine=InnoDB;
+insert into food_item_seq values (1);
+create table outbox_event_seq (next_val bigint) engine=InnoDB;
+insert into outbox_event_seq values (1);
+
+create table users (
+    id varchar(255) not null,
+    name varchar(255) not null,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(16) not null,
+    phone varchar(20),
+    latitude double,
+    longitude double,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+create index idx_users_role on users (role);
+
+create table food_item (
+    id bigint not null,
+    name varchar(255),
+    quantity integer not null,
+    pickup_location varchar(255),
+    latitude double,
+    longitude double,
+    expiry_time datetime(6),
+    available bit not null,
+    version bigint,
+    change_version bigint,
+    donor_id bigint,
+    primary key (id)
+) engine=InnoDB;
+create index idx_food_item_available_expiry on food_item (available, expiry_time);
+create index idx_food_item_change on food_item (change_version);
+
+create table food_item_tombstone (
+    food_item_id bigint not null,
+    change_version bigint not null,
+    deleted_at datetime(6) not null,
+    primary key (food_item_id)
+) engine=InnoDB;
+create index idx_food_tombstone_change on food_item_tombstone (change_version);
+
+create table pickup_schedule (
+    id bigint not null auto_increment,
+    scheduled_time datetime(6),
+    status varchar(16) not null,
+    quantity integer not null,
+    food_item_id bigint,
+    charity_id varchar(255),
+    primary key (id),
+    constraint fk_pickup_food_item foreign key (food_item_id) references food_item (id),
+    constraint fk_pickup_charity foreign key (charity_id) references users (id)
+) engine=InnoDB;
+create index idx_pickup_food_item_time on pickup_schedule (food_item_id, scheduled_time);
+create index idx_pickup_charity_time on pickup_schedule (charity_id, scheduled_time);
+create index idx_pickup_status_time on pickup_schedule (status, scheduled_time);
+
+create table donation_log (
+    id bigint not null auto_increment,
+    donor_id varchar(255),
+    charity_id varchar(255),
+    food_item_id bigint,
+    donated_at datetime(6),
+    donation_month integer,
+    quantity integer not null,
+    primary key (id),
+    constraint fk_donation_donor foreign key (donor_id) references users (id),
+    constraint fk_donation_charity foreign key (charity_id) references users (id),
+    constraint fk_donation_food_item foreign key (food_item_id) references food_item (id)
+) engine=InnoDB;
+create index idx_donation_log_donated_at on donation_log (donated_at);
+create index idx_donation_log_month_id on donation_log (donation_month, id);
+
+create table outbox_event (
+    id bigint not null,
+    aggregate_type varchar(32) not null,
+    aggregate_id bigint,
+    event_type varchar(64) not null,
+    payload varchar(4000) not null,
+    status varchar(16) not null,
+    created_at datetime(6) not null,
+    published_at datetime(6),
+    attempts integer not null,
+    last_error varchar(500),
+    primary key (id)
+) engine=InnoDB;
+create index idx_outbox_status_id on outbox_event (status, id);
@@ -0,0 +1,7 @@
+-- Heartbeat row for replica lag checks (ReplicaLagMonitor); written on the primary only
+
+create table replica_heartbeat (
+    id integer not null,
+    beat_millis bigint not null,
+    primary key (id)
+) engine=InnoDB;
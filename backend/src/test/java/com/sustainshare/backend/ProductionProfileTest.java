@@ -0,0 +1,92 @@
+package com.sustainshare.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.OutboxEventRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.FoodClaimService;
+import com.sustainshare.backend.service.FoodItemService;
+
+// The production profile on the migrated schema alone (no ddl-auto): every table is written
+// and read through the application. Flyway runs here only because the database is in memory.
+@ActiveProfiles("production")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:production-profile-test;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=password",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.flyway.enabled=true" })
+class ProductionProfileTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private FoodClaimService foodClaimService;
+
+	@Autowired
+	private DonationLogService donationLogService;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Test
+	void applicationRunsOnTheMigratedSchema() {
+		assertEquals("2", flyway.info().current().getVersion().getVersion());
+
+		User donor = userRepository.save(new User("prod-donor", "Donor", "prod-donor", "prod-donor@example.org", "pw", Role.DONOR));
+		User charity = userRepository.save(new User("prod-charity", "Charity", "prod-charity", "prod-charity@example.org", "pw", Role.CHARITY));
+		FoodItem food = foodItemService.addFood(new FoodItem("Khichdi", 5, "Gachibowli", LocalDateTime.now().plusDays(1), null));
+		PickupSchedule pickup = foodClaimService.claim(food.getId(), charity.getId(), 2, LocalDateTime.now().plusHours(1));
+		assertEquals(3, foodItemService.getFoodById(food.getId()).getQuantity());
+		assertTrue(pickup.getId() != null);
+
+		DonationLog log = new DonationLog(donor, charity, food, LocalDateTime.now());
+		log.setQuantity(2);
+		donationLogService.saveDonation(log);
+		assertFalse(donationLogService.getAllDonations().isEmpty());
+		assertTrue(outboxEventRepository.count() >= 2);
+
+		FoodItem leftover = foodItemService.addFood(new FoodItem("Bread", 1, "Gachibowli", null, null));
+		foodItemService.deleteFoodItem(leftover.getId());
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"select count(*) from food_item_tombstone where food_item_id = ?", Integer.class, leftover.getId()));
+	}
+
+	@Test
+	void beansAreLazyExceptScheduledOnes() {
+		assertTrue(beanFactory.getBeanDefinition("routeService").isLazyInit());
+		assertFalse(beanFactory.getBeanDefinition("missedPickupSweeper").isLazyInit());
+		assertFalse(beanFactory.getBeanDefinition("foodExpirySweeper").isLazyInit());
+	}
+}
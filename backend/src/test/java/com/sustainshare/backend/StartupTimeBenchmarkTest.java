@@ -0,0 +1,167 @@
+package com.sustainshare.backend;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// Time from launching the packaged jar to the first successful GET /api/food, for the development
+// setup and for the production profile with each startup optimization added in turn. Needs the
+// jar built by the production Maven profile:
+//   mvn -Pproduction package -DskipTests && mvn test -Dtest=StartupTimeBenchmarkTest -Dbenchmark=true
+// -Dstartup.runs sets the launches per setup (default 5). Process logs go to target/startup-bench.
+class StartupTimeBenchmarkTest {
+
+	private static final Path TARGET = Path.of("target");
+	private static final Path WORK = TARGET.resolve("startup-bench");
+	private static final Path CDS = TARGET.resolve("cds");
+	private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(2);
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+	private record Setup(String name, Path directory, Path jar, List<String> jvmArgs, List<String> appArgs) {}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void timeToFirstRequest() throws Exception {
+		int runs = Integer.getInteger("startup.runs", 5);
+		Path jar = packagedJar();
+		Files.createDirectories(WORK);
+		String database = migratedDatabase();
+		List<String> production = List.of("--spring.profiles.active=production",
+				"--spring.datasource.url=" + database, "--spring.datasource.username=sa",
+				"--spring.datasource.password=password",
+				"--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+		List<String> eager = concat(production, List.of("--spring.main.lazy-initialization=false"));
+
+		List<Setup> setups = new ArrayList<>();
+		setups.add(new Setup("development (ddl update, show-sql)", TARGET, jar, List.of(), List.of()));
+		setups.add(new Setup("production, eager beans", TARGET, jar, List.of(), eager));
+		setups.add(new Setup("production, lazy beans", TARGET, jar, List.of(), production));
+		if (hasAotCode(jar)) {
+			setups.add(new Setup("production + AOT", TARGET, jar, List.of("-Dspring.aot.enabled=true"), production));
+		}
+		if (Files.exists(CDS.resolve("application.jsa"))) {
+			setups.add(new Setup("production + AOT + CDS", CDS, CDS.resolve(jar.getFileName()),
+					List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"), production));
+		}
+
+		System.out.printf("%-38s %10s %10s %10s%n", "time to first request (ms)", "min", "median", "max");
+		for (Setup setup : setups) {
+			long[] millis = new long[runs];
+			// One discarded launch so every setup starts with a warm page cache
+			launch(setup, -1);
+			for (int i = 0; i < runs; i++) {
+				millis[i] = launch(setup, i);
+			}
+			Arrays.sort(millis);
+			System.out.printf("%-38s %,10d %,10d %,10d%n", setup.name(), millis[0], millis[runs / 2], millis[runs - 1]);
+		}
+	}
+
+	// Starts the jar and polls GET /api/food until it answers 200; returns the milliseconds taken
+	private long launch(Setup setup, int run) throws Exception {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(setup.jvmArgs());
+		command.add("-jar");
+		command.add(setup.directory().relativize(setup.jar()).toString());
+		command.add("--server.port=" + port);
+		command.addAll(setup.appArgs());
+		Path log = WORK.resolve(setup.name().replaceAll("[^A-Za-z0-9]+", "-") + "-" + run + ".log");
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/food"))
+				.timeout(Duration.ofSeconds(5))
+				.build();
+		long started = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+				.directory(setup.directory().toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+		try {
+			long deadline = started + BOOT_TIMEOUT.toNanos();
+			while (System.nanoTime() < deadline) {
+				assertTrue(process.isAlive(), () -> setup.name() + " exited during startup, see " + log);
+				try {
+					if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+						return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+					}
+				} catch (IOException notListeningYet) {
+					// keep polling
+				}
+				Thread.sleep(5);
+			}
+			throw new AssertionError(setup.name() + " did not answer within " + BOOT_TIMEOUT + ", see " + log);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	// A file database with the schema migrated ahead of time, as in production
+	private static String migratedDatabase() throws IOException {
+		Path directory = WORK.resolve("db");
+		if (Files.exists(directory)) {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+					Files.delete(file);
+				}
+			}
+		}
+		String url = "jdbc:h2:file:" + directory.resolve("sustainshare").toAbsolutePath();
+		Flyway.configure()
+				.dataSource(url, "sa", "password")
+				.locations("classpath:db/migration/h2")
+				.load()
+				.migrate();
+		return url;
+	}
+
+	private static Path packagedJar() throws IOException {
+		try (Stream<Path> files = Files.list(TARGET)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+					.findFirst()
+					.orElseThrow(() -> new AssertionError("No jar in target: run mvn -Pproduction package first"));
+		}
+	}
+
+	private static boolean hasAotCode(Path jar) throws IOException {
+		try (JarFile file = new JarFile(jar.toFile())) {
+			return file.getEntry("BOOT-INF/classes/com/sustainshare/backend/BackendApplication__ApplicationContextInitializer.class") != null;
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static List<String> concat(List<String> first, List<String> second) {
+		List<String> all = new ArrayList<>(first);
+		all.addAll(second);
+		return all;
+	}
+}
@@ -0,0 +1,127 @@
+package com.sustainshare.backend.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.DonationLogView;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.DonationStatsService;
+
+// Own database: archived ids are only meaningful for the database they came from
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:donation-archive-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.archive.dir=${java.io.tmpdir}/sustainshare-archive-test-${random.uuid}",
+		"sustainshare.archive.cron=-" })
+class DonationArchiverTest {
+
+	@Autowired
+	private DonationArchiver donationArchiver;
+
+	@Autowired
+	private DonationArchive donationArchive;
+
+	@Autowired
+	private DonationLogService donationLogService;
+
+	@Autowired
+	private DonationStatsService donationStatsService;
+
+	@Autowired
+	private DonationLogRepository donationLogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void closedMonthsMoveToTheArchiveAndStayQueryable() throws Exception {
+		User donor = userRepository.save(new User("archive-donor", "Annapurna Caterers", "ad", "ad@example.org", "pw", Role.DONOR));
+		User charity = userRepository.save(new User("archive-charity", "Roti Bank", "ac", "ac@example.org", "pw", Role.CHARITY));
+		FoodItem food = foodItemRepository.save(new FoodItem("Idli", 4, "Begumpet", null, null));
+		List<Long> march = new ArrayList<>();
+		for (int day = 1; day <= 3; day++) {
+			march.add(save(donor, charity, food, LocalDateTime.of(2024, 3, day, 9, 0)));
+		}
+		long april = save(donor, charity, food, LocalDateTime.of(2024, 4, 2, 9, 0));
+		long recent = save(donor, charity, food, LocalDateTime.now());
+
+		assertEquals(4, donationArchiver.archiveBefore(YearMonth.of(2024, 5)));
+
+		assertEquals(List.of(recent), donationLogRepository.findAll().stream().map(DonationLog::getId).toList());
+		assertEquals(2, donationArchive.getSegments().size());
+		for (DonationArchive.Segment segment : donationArchive.getSegments()) {
+			assertTrue(Files.exists(donationArchive.getDirectory().resolve(segment.file())));
+		}
+
+		// Reads span the table and the archive
+		DonationLog archived = donationLogService.getDonationById(april).orElseThrow();
+		assertEquals("Roti Bank", archived.getCharity().getName());
+		assertEquals(4, archived.getQuantity());
+		CursorPage<DonationLogView> page = donationLogService.getDonationViews(null, 3, donor.getId(), null);
+		assertEquals(march, page.getItems().stream().map(DonationLogView::getId).toList());
+		page = donationLogService.getDonationViews(page.getNextCursor(), 3, donor.getId(), null);
+		assertEquals(List.of(april, recent), page.getItems().stream().map(DonationLogView::getId).toList());
+		assertEquals(3, export(LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0)).size());
+		assertEquals(5, export(null, null).size());
+		assertEquals(5, donationLogService.getAllDonations().size());
+		// A month whose archived rows are not deleted from the table yet lists each row once
+		jdbcTemplate.update("insert into donation_log (id, donor_id, charity_id, food_item_id, donated_at, donation_month, quantity)"
+				+ " values (?, ?, ?, ?, ?, ?, ?)", april, donor.getId(), charity.getId(), food.getId(),
+				LocalDateTime.of(2024, 4, 2, 9, 0), 202404, 4);
+		assertEquals(5, donationLogService.getAllDonations().size());
+		assertEquals(1, donationLogService.getAllDonations().stream().filter(d -> d.getId() == april).count());
+		assertEquals(5, export(null, null).size());
+		assertEquals(1, export(null, null).stream().filter(row -> row.getId() == april).count());
+		assertEquals(1, export(LocalDateTime.of(2024, 4, 1, 0, 0), LocalDateTime.of(2024, 5, 1, 0, 0)).size());
+		donationLogRepository.deleteById(april);
+		donationStatsService.rebuild();
+		assertEquals(5, donationStatsService.getDonorTotals(donor.getId()).getDonations());
+
+		// A backdated donation for a closed month becomes a second segment; nothing is archived twice
+		long late = save(donor, charity, food, LocalDateTime.of(2024, 3, 30, 9, 0));
+		assertEquals(1, donationArchiver.archiveBefore(YearMonth.of(2024, 5)));
+		assertEquals(0, donationArchiver.archiveBefore(YearMonth.of(2024, 5)));
+		assertEquals(3, donationArchive.getSegments().size());
+		assertTrue(donationLogRepository.findById(late).isEmpty());
+		assertEquals(4, export(LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0)).size());
+		assertFalse(donationLogService.getDonationById(late).isEmpty());
+	}
+
+	private long save(User donor, User charity, FoodItem food, LocalDateTime at) {
+		DonationLog log = new DonationLog(donor, charity, food, at);
+		log.setQuantity(4);
+		return donationLogRepository.save(log).getId();
+	}
+
+	private List<DonationLogView> export(LocalDateTime from, LocalDateTime to) {
+		List<DonationLogView> rows = new ArrayList<>();
+		donationLogService.exportDonations(from, to, null, null, rows::add);
+		return rows;
+	}
+}
@@ -0,0 +1,173 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class DonationExportTest {
+
+	@Autowired
+	private DonationLogController donationLogController;
+
+	@Autowired
+	private DonationLogRepository donationLogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void csvIsFilteredQuotedAndSafeForSpreadsheets() throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		User donor = userRepository.save(new User("donor-" + suffix, "=HYPERLINK(\"x\")", "d" + suffix, "d" + suffix + "@example.org", "pw", Role.DONOR));
+		User charity = userRepository.save(new User("charity-" + suffix, "Roti, Bank", "c" + suffix, "c" + suffix + "@example.org", "pw", Role.CHARITY));
+		FoodItem food = foodItemRepository.save(new FoodItem("Dal \"tadka\"", 7, "Ameerpet", null, null));
+		DonationLog inRange = new DonationLog(donor, charity, food, LocalDateTime.of(2024, 3, 10, 12, 0));
+		inRange.setQuantity(7);
+		donationLogRepository.save(inRange);
+		donationLogRepository.save(new DonationLog(donor, charity, food, LocalDateTime.of(2024, 4, 1, 0, 0)));
+
+		String csv = export("csv", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), donor.getId(), false);
+
+		String[] lines = csv.split("\r\n");
+		assertEquals(2, lines.length);
+		assertEquals("id,donatedAt,donorId,donorName,charityId,charityName,foodItemId,foodItemName,quantity", lines[0]);
+		assertEquals(inRange.getId() + ",2024-03-10T12:00,donor-" + suffix + ",\"'=HYPERLINK(\"\"x\"\")\",charity-" + suffix
+				+ ",\"Roti, Bank\"," + food.getId() + ",\"Dal \"\"tadka\"\"\",7", lines[1]);
+	}
+
+	@Test
+	void ndjsonCanBeGzipped() throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		User charity = userRepository.save(new User("charity-" + suffix, "Annadaan", "a" + suffix, "a" + suffix + "@example.org", "pw", Role.CHARITY));
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(donationLogRepository.save(new DonationLog(null, charity, null, LocalDateTime.now())).getId());
+		}
+
+		String ndjson = export("ndjson", null, null, null, true, charity.getId());
+
+		String[] lines = ndjson.split("\n");
+		assertEquals(5, lines.length);
+		for (int i = 0; i < lines.length; i++) {
+			assertTrue(lines[i].startsWith("{\"id\":" + ids.get(i) + ","), lines[i]);
+		}
+	}
+
+	// mvn test -Dtest=DonationExportTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkLargeExportInBoundedMemory() throws Exception {
+		int rows = 1_000_000;
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		User charity = userRepository.save(new User("charity-" + suffix, "Bulk", "b" + suffix, "b" + suffix + "@example.org", "pw", Role.CHARITY));
+		jdbcTemplate.update("insert into donation_log (charity_id, donated_at, quantity)"
+				+ " select ?, dateadd('SECOND', x, timestamp '2020-01-01 00:00:00'), mod(x, 50)"
+				+ " from system_range(1, ?)", charity.getId(), rows);
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (String format : new String[] { "csv", "ndjson" }) {
+			for (boolean gzip : new boolean[] { false, true }) {
+				System.gc();
+				long heapBefore = memory.getHeapMemoryUsage().getUsed();
+				PeakSampler sampler = new PeakSampler(memory);
+				CountingOutputStream out = new CountingOutputStream();
+				long start = System.nanoTime();
+				donationLogController.exportDonations(format, null, null, null, charity.getId(), gzip).getBody().writeTo(out);
+				long elapsed = System.nanoTime() - start;
+				sampler.stop();
+				System.out.printf("%s%s: %,d rows in %.1f s (%,.0f rows/s), %,d MB written, live heap +%,d MB%n",
+						format, gzip ? "+gzip" : "", rows, elapsed / 1e9, rows / (elapsed / 1e9),
+						out.count >> 20, Math.max(0, sampler.peak - heapBefore) >> 20);
+			}
+		}
+	}
+
+	private String export(String format, LocalDate from, LocalDate to, String donorId, boolean gzip) throws Exception {
+		return export(format, from, to, donorId, gzip, null);
+	}
+
+	private String export(String format, LocalDate from, LocalDate to, String donorId, boolean gzip, String charityId) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		donationLogController.exportDonations(format, from, to, donorId, charityId, gzip).getBody().writeTo(out);
+		byte[] bytes = out.toByteArray();
+		if (gzip) {
+			bytes = new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes();
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+
+	// Largest live heap (used after a full GC) seen while an export runs
+	private static final class PeakSampler {
+		volatile long peak;
+		private volatile boolean running = true;
+		private final Thread thread;
+
+		PeakSampler(MemoryMXBean memory) {
+			thread = new Thread(() -> {
+				while (running) {
+					memory.gc();
+					peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+					try {
+						Thread.sleep(200);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		void stop() throws InterruptedException {
+			running = false;
+			thread.join();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.sustainshare.backend.dto.FoodChanges;
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.service.FoodChangeTracker;
+import com.sustainshare.backend.service.FoodItemService;
+
+// Own database: listing changes from other test contexts would show up in the deltas.
+// The list tag is only refreshed when the test says so.
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:food-changes-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.food.list-tag-refresh=PT1H" })
+class FoodChangesTest {
+
+	@Autowired
+	private FoodItemController foodItemController;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private FoodChangeTracker foodChangeTracker;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void deltaCarriesInsertsUpdatesAndTombstones() {
+		long start = foodItemController.getChanges(0, null).getVersion();
+		FoodItem rice = foodItemService.addFood(new FoodItem("Rice", 10, "Kukatpally", null, null));
+		FoodItem dal = foodItemService.addFood(new FoodItem("Dal", 6, "Kukatpally", null, null));
+
+		FoodChanges inserted = foodItemController.getChanges(start, null);
+		assertEquals(List.of(rice.getId(), dal.getId()), inserted.getItems().stream().map(FoodItem::getId).toList());
+		assertTrue(inserted.getDeleted().isEmpty());
+
+		FoodItem stored = foodItemRepository.findById(rice.getId()).orElseThrow();
+		stored.setQuantity(4);
+		foodItemRepository.save(stored);
+		FoodChanges updated = foodItemController.getChanges(inserted.getVersion(), null);
+		assertEquals(1, updated.getItems().size());
+		assertEquals(4, updated.getItems().get(0).getQuantity());
+
+		foodItemService.deleteFoodItem(dal.getId());
+		FoodChanges deleted = foodItemController.getChanges(updated.getVersion(), null);
+		assertTrue(deleted.getItems().isEmpty());
+		assertEquals(List.of(dal.getId()), deleted.getDeleted());
+
+		FoodChanges none = foodItemController.getChanges(deleted.getVersion(), null);
+		assertTrue(none.getItems().isEmpty() && none.getDeleted().isEmpty());
+		assertEquals(deleted.getVersion(), none.getVersion());
+	}
+
+	@Test
+	void pagesNeverSplitAVersion() {
+		long start = foodItemController.getChanges(0, null).getVersion();
+		List<Long> ids = new ArrayList<>();
+		// Later than the scheduled sweep looks, so only this test retires them. Whole seconds, as
+		// the column rounds to microseconds and could land just past the same instant as the cutoff.
+		LocalDateTime expiry = LocalDateTime.now().plusHours(1).withNano(0);
+		for (int i = 0; i < 5; i++) {
+			ids.add(foodItemService.addFood(new FoodItem("Roti " + i, 3, "Miyapur", expiry, null)).getId());
+		}
+		// An expiry sweep batch shares one version
+		new TransactionTemplate(transactionManager).executeWithoutResult(
+				status -> foodItemRepository.retire(ids.subList(2, 5), expiry, foodChangeTracker.next()));
+
+		// The two untouched inserts fit a page of two; the retired three come back together
+		Set<Long> seen = new TreeSet<>();
+		FoodChanges page = foodItemController.getChanges(start, 2);
+		seen.addAll(page.getItems().stream().map(FoodItem::getId).toList());
+		FoodChanges retired = foodItemController.getChanges(page.getVersion(), 2);
+		assertEquals(3, retired.getItems().size());
+		assertTrue(retired.getItems().stream().noneMatch(FoodItem::isAvailable));
+		assertFalse(retired.isHasMore());
+		seen.addAll(retired.getItems().stream().map(FoodItem::getId).toList());
+		assertEquals(new TreeSet<>(ids), seen);
+	}
+
+	@Test
+	void unchangedListAndItemAreNotModified() {
+		FoodItem item = foodItemService.addFood(new FoodItem("Khichdi", 8, "Ameerpet", null, null));
+
+		ResponseEntity<List<FoodItem>> list = foodItemController.getAllFoodItems(request(null));
+		String listTag = list.getHeaders().getETag();
+		assertNotNull(listTag);
+		assertEquals(HttpStatus.NOT_MODIFIED, foodItemController.getAllFoodItems(request(listTag)).getStatusCode());
+
+		ResponseEntity<FoodItem> single = foodItemController.getFoodById(item.getId(), request(null));
+		String itemTag = single.getHeaders().getETag();
+		assertEquals(HttpStatus.NOT_MODIFIED, foodItemController.getFoodById(item.getId(), request(itemTag)).getStatusCode());
+
+		FoodItem stored = foodItemRepository.findById(item.getId()).orElseThrow();
+		stored.setQuantity(2);
+		foodItemRepository.save(stored);
+		// The repository save does not announce the change, so drop the cached copy as an event would
+		foodItemService.evictCachedListing(FoodListingEvent.expired(item.getId()));
+
+		ResponseEntity<List<FoodItem>> changedList = foodItemController.getAllFoodItems(request(listTag));
+		assertEquals(HttpStatus.OK, changedList.getStatusCode());
+		assertNotEquals(listTag, changedList.getHeaders().getETag());
+		ResponseEntity<FoodItem> changedItem = foodItemController.getFoodById(item.getId(), request(itemTag));
+		assertEquals(HttpStatus.OK, changedItem.getStatusCode());
+		assertEquals(2, changedItem.getBody().getQuantity());
+	}
+
+	@Test
+	void listTagFollowsChangesCommittedByOtherInstances() {
+		FoodItem older = foodItemService.addFood(new FoodItem("Poha", 5, "Miyapur", null, null));
+		foodItemService.addFood(new FoodItem("Vada", 5, "Miyapur", null, null));
+		String tag = foodChangeTracker.listTag();
+		assertEquals(tag, foodChangeTracker.listTag());
+
+		// Another instance changes a listing: this one sees it on the next refresh
+		long newest = foodItemRepository.findMaxChangeVersion();
+		jdbcTemplate.update("update food_item set quantity = 4, change_version = ? where id = ?", newest + 1, older.getId());
+		assertEquals(tag, foodChangeTracker.listTag());
+		foodChangeTracker.refreshListTag();
+		String moved = foodChangeTracker.listTag();
+		assertNotEquals(tag, moved);
+		assertEquals(HttpStatus.OK, foodItemController.getAllFoodItems(request(tag)).getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, foodItemController.getAllFoodItems(request(moved)).getStatusCode());
+
+		// Even when its version is below the newest one (a slower clock, a long transaction)
+		jdbcTemplate.update("update food_item set quantity = 3, change_version = ? where id = ?", newest - 1, older.getId());
+		foodChangeTracker.refreshListTag();
+		assertNotEquals(moved, foodChangeTracker.listTag());
+	}
+
+	private static ServletWebRequest request(String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/food");
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		return new ServletWebRequest(request, new MockHttpServletResponse());
+	}
+}
@@ -0,0 +1,139 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// Own database: the limit clamp is checked against a table holding more than a page of rows
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:food-paging-test;DB_CLOSE_DELAY=-1" })
+class FoodItemPagingTest {
+
+	@Autowired
+	private FoodItemController foodItemController;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void cursorWalksEveryFilteredListingOnce() {
+		long donor = 41_001L;
+		List<Long> expected = new ArrayList<>();
+		for (int quantity = 1; quantity <= 8; quantity++) {
+			Long id = save("Paging dosa " + quantity, quantity, quantity % 2 == 0 ? "Paging Kitchen, Kondapur" : "Madhapur", donor);
+			if (quantity % 2 == 0 && quantity >= 4) {
+				expected.add(id);
+			}
+		}
+		save("Other donor's dosa", 9, "Paging Kitchen, Kondapur", donor + 1);
+
+		// Pages of two: 4, 6 / 8 / empty, the cursor always the last id of a full page
+		List<Long> walked = new ArrayList<>();
+		Long cursor = null;
+		int pages = 0;
+		do {
+			CursorPage<FoodItem> page = foodItemController.getFoodItemPage(cursor, 2, donor, "paging kitchen", 4);
+			assertEquals(2, page.getLimit());
+			for (FoodItem item : page.getItems()) {
+				assertEquals(donor, item.getDonorId());
+				assertTrue(item.getQuantity() >= 4);
+				assertTrue(item.getPickupLocation().contains("Paging Kitchen"));
+			}
+			walked.addAll(ids(page.getItems()));
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+		assertEquals(expected, walked);
+		assertEquals(2, pages);
+
+		// Starting past the last id gives an empty, final page
+		CursorPage<FoodItem> past = foodItemController.getFoodItemPage(expected.get(2), 2, donor, "paging kitchen", 4);
+		assertTrue(past.getItems().isEmpty());
+		assertNull(past.getNextCursor());
+	}
+
+	@Test
+	void pageSizeIsClamped() {
+		List<FoodItem> items = new ArrayList<>();
+		for (int i = 0; i < CursorPage.MAX_PAGE_SIZE + 2; i++) {
+			items.add(new FoodItem("Clamp roti " + i, 1, "Clamp Street", null, null));
+		}
+		foodItemRepository.saveAll(items);
+
+		CursorPage<FoodItem> huge = foodItemController.getFoodItemPage(null, 100_000, null, "clamp street", null);
+		assertEquals(CursorPage.MAX_PAGE_SIZE, huge.getLimit());
+		assertEquals(CursorPage.MAX_PAGE_SIZE, huge.getItems().size());
+		assertEquals(huge.getItems().get(CursorPage.MAX_PAGE_SIZE - 1).getId(), huge.getNextCursor());
+		assertEquals(2, foodItemController.getFoodItemPage(huge.getNextCursor(), 100_000, null, "clamp street", null).getItems().size());
+
+		for (Integer limit : new Integer[] {null, 0, -5}) {
+			CursorPage<FoodItem> page = foodItemController.getFoodItemPage(null, limit, null, "clamp street", null);
+			assertEquals(CursorPage.DEFAULT_PAGE_SIZE, page.getLimit());
+			assertEquals(CursorPage.DEFAULT_PAGE_SIZE, page.getItems().size());
+		}
+	}
+
+	@Test
+	void streamWritesOneFilteredListingPerLine() throws Exception {
+		long donor = 41_101L;
+		List<Long> expected = new ArrayList<>();
+		for (int quantity = 1; quantity <= 5; quantity++) {
+			Long id = save("Stream \"idli\"\n" + quantity, quantity, "Stream Corner", donor);
+			if (quantity >= 3) {
+				expected.add(id);
+			}
+		}
+		save("Stream vada", 5, "Stream Corner", donor + 1);
+
+		ResponseEntity<StreamingResponseBody> response = foodItemController.streamFoodItems(donor, "stream corner", 3);
+		assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+
+		// Names with quotes and line breaks are escaped, so every line is one whole listing
+		List<Long> streamed = new ArrayList<>();
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = lines.readLine()) != null) {
+				FoodItem item = objectMapper.readValue(line, FoodItem.class);
+				assertEquals(donor, item.getDonorId());
+				assertTrue(item.getName().startsWith("Stream \"idli\"\n"));
+				streamed.add(item.getId());
+			}
+		}
+		assertEquals(expected, streamed);
+	}
+
+	private Long save(String name, int quantity, String location, long donor) {
+		FoodItem item = new FoodItem(name, quantity, location, null, null);
+		item.setDonorId(donor);
+		return foodItemRepository.save(item).getId();
+	}
+
+	private static List<Long> ids(List<FoodItem> items) {
+		return items.stream().map(FoodItem::getId).toList();
+	}
+}
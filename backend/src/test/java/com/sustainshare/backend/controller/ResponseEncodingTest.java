@@ -0,0 +1,119 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Through a real server: compression happens in Tomcat, below the controllers.
+// Own database so the donation list holds exactly the rows saved here.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:response-encoding-test;DB_CLOSE_DELAY=-1" })
+class ResponseEncodingTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private DonationLogRepository donationLogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@Test
+	void formatsCarryTheSameCompactDonations() throws Exception {
+		seedDonations(50);
+
+		JsonNode json = new ObjectMapper().readTree(get("application/json", false).body());
+		JsonNode cbor = new CBORMapper().readTree(get("application/cbor", false).body());
+		JsonNode smile = new SmileMapper().readTree(get("application/x-jackson-smile", false).body());
+
+		assertEquals(50, json.size());
+		assertEquals(json, cbor);
+		assertEquals(json, smile);
+		JsonNode first = json.get(0);
+		assertEquals("Anna Seva", first.get("donor").get("name").asText());
+		assertEquals("Upma", first.get("foodItem").get("name").asText());
+		assertEquals(3, first.get("quantity").asInt());
+		assertEquals("2025-07-01T18:30:00", first.get("donatedAt").asText());
+		assertFalse(first.get("donor").has("password"));
+		assertFalse(first.get("donor").has("email"));
+		assertFalse(first.get("foodItem").has("expiryTime"));
+	}
+
+	@Test
+	void largeResponsesAreGzippedOnRequest() throws Exception {
+		seedDonations(50);
+
+		HttpResponse<byte[]> plain = get("application/json", false);
+		HttpResponse<byte[]> gzipped = get("application/json", true);
+
+		assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+		// The unpaged list is on its way out in favour of /view
+		assertEquals("true", plain.headers().firstValue("Deprecation").orElse(null));
+		assertTrue(plain.headers().firstValue("Link").orElse("").contains("/api/donations/view"));
+		assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+		assertTrue(gzipped.body().length < plain.body().length / 3);
+		byte[] inflated = new GZIPInputStream(new ByteArrayInputStream(gzipped.body())).readAllBytes();
+		assertEquals(new ObjectMapper().readTree(plain.body()), new ObjectMapper().readTree(inflated));
+	}
+
+	private HttpResponse<byte[]> get(String accept, boolean gzip) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/donations"))
+				.header("Accept", accept);
+		if (gzip) {
+			request.header("Accept-Encoding", "gzip");
+		}
+		HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode());
+		return response;
+	}
+
+	private void seedDonations(int count) {
+		if (donationLogRepository.count() > 0) {
+			return;
+		}
+		User donor = userRepository.save(new User("enc-donor", "Anna Seva", "enc-donor", "enc-donor@example.org", "secret", Role.DONOR));
+		User charity = userRepository.save(new User("enc-charity", "Roti Bank", "enc-charity", "enc-charity@example.org", "secret", Role.CHARITY));
+		FoodItem food = foodItemRepository.save(new FoodItem("Upma", 40, "Madhapur", LocalDateTime.now().plusDays(1), null));
+		List<DonationLog> logs = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			DonationLog log = new DonationLog(donor, charity, food, LocalDateTime.of(2025, 7, 1, 18, 30).plusMinutes(i));
+			log.setQuantity(3);
+			logs.add(log);
+		}
+		donationLogRepository.saveAll(logs);
+	}
+}
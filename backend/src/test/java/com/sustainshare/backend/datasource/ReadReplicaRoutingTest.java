@@ -0,0 +1,180 @@
+package com.sustainshare.backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.UserSummary;
+import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.FoodItemService;
+import com.sustainshare.backend.service.UserService;
+
+// A primary and two replicas, all in-memory H2. Replication is simulated: the primary is copied
+// onto each replica (SCRIPT / RUNSCRIPT style), then every replica gets one donation of its own,
+// whose quantity (1001, 1002) shows which database answered a read.
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+		"sustainshare.datasource.replicas[0].url=jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1",
+		"sustainshare.datasource.replicas[0].username=sa",
+		"sustainshare.datasource.replicas[0].password=password",
+		"sustainshare.datasource.replicas[1].url=jdbc:h2:mem:routing-replica-2;DB_CLOSE_DELAY=-1",
+		"sustainshare.datasource.replicas[1].username=sa",
+		"sustainshare.datasource.replicas[1].password=password",
+		"sustainshare.datasource.max-lag=PT5S",
+		"sustainshare.datasource.heartbeat-interval=PT1S" })
+class ReadReplicaRoutingTest {
+
+	private static final int REPLICA_1 = 1001;
+	private static final int REPLICA_2 = 1002;
+
+	@Autowired
+	private DonationLogService donationLogService;
+
+	@Autowired
+	private DonationLogRepository donationLogRepository;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private ReplicaPool replicaPool;
+
+	@Autowired
+	private ReplicaLagMonitor replicaLagMonitor;
+
+	@Autowired
+	private ReadYourWritesFilter readYourWritesFilter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final JdbcTemplate replica1 = replica("routing-replica-1");
+	private final JdbcTemplate replica2 = replica("routing-replica-2");
+
+	@BeforeEach
+	void replicate() {
+		donationLogRepository.save(new DonationLog(null, null, null, LocalDateTime.now()));
+		replicaLagMonitor.heartbeat();
+		copyPrimaryTo(replica1, REPLICA_1);
+		copyPrimaryTo(replica2, REPLICA_2);
+		replicaLagMonitor.heartbeat();
+		assertTrue(replicaPool.replicas().stream().allMatch(ReplicaPool.Replica::healthy));
+	}
+
+	@Test
+	void listReadsAreSpreadOverReplicas() {
+		Set<Integer> seen = new HashSet<>();
+		for (int i = 0; i < 4; i++) {
+			seen.add(servedBy(donationLogService.getAllDonations()));
+		}
+		assertEquals(Set.of(REPLICA_1, REPLICA_2), seen);
+	}
+
+	@Test
+	void writesAndOtherReadsStayOnThePrimary() {
+		assertEquals(0, servedBy(donationLogRepository.findAll()));
+		// Ids are identity columns, so the replicas' marker rows already hold the id this save
+		// gets on the primary: tell the row apart by its quantity instead
+		DonationLog written = new DonationLog(null, null, null, LocalDateTime.now());
+		written.setQuantity(2024);
+		donationLogRepository.save(written);
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from donation_log where quantity = 2024", Integer.class));
+		assertEquals(0, replica1.queryForObject("select count(*) from donation_log where quantity = 2024", Integer.class));
+		assertEquals(0, replica2.queryForObject("select count(*) from donation_log where quantity = 2024", Integer.class));
+	}
+
+	@Test
+	void laggingReplicasLeaveRotation() {
+		replica2.update("update replica_heartbeat set beat_millis = beat_millis - 60000");
+		replicaLagMonitor.heartbeat();
+		assertFalse(replicaPool.replicas().get(1).healthy());
+		for (int i = 0; i < 4; i++) {
+			assertEquals(REPLICA_1, servedBy(donationLogService.getAllDonations()));
+		}
+
+		replica1.update("update replica_heartbeat set beat_millis = beat_millis - 60000");
+		replicaLagMonitor.heartbeat();
+		long fallbacks = replicaPool.fallbacks();
+		assertEquals(0, servedBy(donationLogService.getAllDonations()));
+		assertEquals(fallbacks + 1, replicaPool.fallbacks());
+	}
+
+	@Test
+	void clientThatWroteReadsFromThePrimary() throws Exception {
+		AtomicReference<Integer> servedBy = new AtomicReference<>();
+		readYourWritesFilter.doFilter(request("POST", "10.0.0.1"), new MockHttpServletResponse(), (req, res) -> {});
+		readYourWritesFilter.doFilter(request("GET", "10.0.0.1"), new MockHttpServletResponse(),
+				(req, res) -> servedBy.set(servedBy(donationLogService.getAllDonations())));
+		assertEquals(0, servedBy.get());
+
+		readYourWritesFilter.doFilter(request("GET", "10.0.0.2"), new MockHttpServletResponse(),
+				(req, res) -> servedBy.set(servedBy(donationLogService.getAllDonations())));
+		assertTrue(servedBy.get() == REPLICA_1 || servedBy.get() == REPLICA_2);
+	}
+
+	@Test
+	void recentChangesAreReadFromThePrimary() {
+		FoodItem listed = foodItemService.addFood(new FoodItem("Pulihora", 12, "Secunderabad", null, null));
+		assertTrue(foodItemService.getAllFoodItems().stream().anyMatch(item -> item.getId().equals(listed.getId())));
+
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		userService.registerUser(new User("ch-" + suffix, "Seva " + suffix, "ch-" + suffix, suffix + "@example.org", "pw", Role.CHARITY));
+		List<UserSummary> charities = userService.getUsersByRole("charity");
+		assertTrue(charities.stream().anyMatch(user -> user.getId().equals("ch-" + suffix)));
+	}
+
+	// The replica marker in a donation list, 0 for the primary
+	private static int servedBy(List<DonationLog> donations) {
+		return donations.stream()
+				.mapToInt(DonationLog::getQuantity)
+				.filter(quantity -> quantity == REPLICA_1 || quantity == REPLICA_2)
+				.findFirst()
+				.orElse(0);
+	}
+
+	private void copyPrimaryTo(JdbcTemplate replica, int marker) {
+		List<String> script = jdbcTemplate.queryForList("script", String.class);
+		replica.execute("drop all objects");
+		for (String statement : script) {
+			if (!statement.startsWith("--")) {
+				replica.execute(statement);
+			}
+		}
+		replica.update("insert into donation_log (donated_at, quantity) values (?, ?)", LocalDateTime.now(), marker);
+	}
+
+	private static JdbcTemplate replica(String name) {
+		return new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "password"));
+	}
+
+	private static MockHttpServletRequest request(String method, String address) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/donations");
+		request.setRemoteAddr(address);
+		return request;
+	}
+}
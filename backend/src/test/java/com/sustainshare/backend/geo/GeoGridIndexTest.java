@@ -0,0 +1,224 @@
+package com.sustainshare.backend.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.sustainshare.backend.geo.GeoGridIndex.Neighbor;
+
+class GeoGridIndexTest {
+
+	// Roughly the Hyderabad metro area
+	private static final double LAT = 17.385;
+	private static final double LON = 78.4867;
+	private static final double SPREAD_DEGREES = 0.5;
+
+	@Test
+	void nearestMatchesLinearScan() {
+		Random random = new Random(42);
+		double[][] points = randomPoints(random, 20_000);
+		GeoGridIndex<Integer> index = build(points);
+
+		for (int q = 0; q < 200; q++) {
+			double lat = LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			double lon = LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			assertEquals(ids(linearNearest(points, lat, lon, 10, 100)), ids(index.nearest(lat, lon, 10, 100)));
+		}
+	}
+
+	@Test
+	void withinRadiusMatchesLinearScan() {
+		Random random = new Random(7);
+		double[][] points = randomPoints(random, 20_000);
+		GeoGridIndex<Integer> index = build(points);
+
+		for (int q = 0; q < 200; q++) {
+			double lat = LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			double lon = LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			assertEquals(ids(linearNearest(points, lat, lon, Integer.MAX_VALUE, 3)),
+					ids(index.withinRadius(lat, lon, 3, Integer.MAX_VALUE)));
+		}
+	}
+
+	@Test
+	void movedAndRemovedPointsAreNotReturned() {
+		GeoGridIndex<Integer> index = new GeoGridIndex<>(0.01);
+		index.put(1, LAT, LON, 1);
+		index.put(2, LAT + 0.001, LON, 2);
+		index.put(1, LAT + 1, LON + 1, 1);
+		index.remove(2);
+
+		assertEquals(List.of(), index.withinRadius(LAT, LON, 5, 10));
+		assertEquals(List.of(1L), ids(index.nearest(LAT + 1, LON + 1, 5, 5)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void nearestMatchesLinearScanAtHighLatitude() {
+		Random random = new Random(78);
+		// Around Longyearbyen, where a cell is about a fifth as wide as it is high
+		double[][] points = randomPoints(random, 5_000, 78.22, 15.65);
+		GeoGridIndex<Integer> index = build(points);
+
+		for (int q = 0; q < 50; q++) {
+			double lat = 78.22 + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			double lon = 15.65 + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			assertEquals(ids(linearNearest(points, lat, lon, 10, 100)), ids(index.nearest(lat, lon, 10, 100)));
+		}
+	}
+
+	@Test
+	void emptyNeighbourhoodCostsNoMoreThanItsWindow() {
+		GeoGridIndex<Integer> index = new GeoGridIndex<>(0.01);
+		index.put(1, -30, -60, 1);
+
+		// Fewer than k points in reach: every cell of the 100 km window is visited, but no more
+		assertTimeout(Duration.ofSeconds(1), () -> {
+			for (int i = 0; i < 10; i++) {
+				assertEquals(List.of(), index.nearest(LAT, LON, 20, 100));
+				assertEquals(List.of(), index.nearest(79.0, 15.0, 20, 100));
+			}
+		});
+	}
+
+	@Test
+	void polarSearchesAreRejected() {
+		GeoGridIndex<Integer> index = new GeoGridIndex<>(0.01);
+		index.put(1, 88.5, 10, 1);
+
+		assertThrows(IllegalArgumentException.class, () -> index.nearest(88.5, 10, 20, 100));
+		assertThrows(IllegalArgumentException.class, () -> index.withinRadius(-88.5, 10, 5, 20));
+		assertThrows(IllegalArgumentException.class, () -> index.allWithinRadius(79.5, 10, 100));
+	}
+
+	@Test
+	void searchesWrapAtTheAntimeridian() {
+		Random random = new Random(180);
+		// Around Taveuni, Fiji, which the 180th meridian runs through
+		double[][] points = randomPoints(random, 5_000, -16.8, 180);
+		for (double[] point : points) {
+			point[1] = wrapLongitude(point[1]);
+		}
+		GeoGridIndex<Integer> index = build(points);
+
+		for (int q = 0; q < 50; q++) {
+			double lat = -16.8 + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+			double lon = wrapLongitude(180 + (random.nextDouble() - 0.5) * SPREAD_DEGREES);
+			assertEquals(ids(linearNearest(points, lat, lon, 10, 100)), ids(index.nearest(lat, lon, 10, 100)));
+			assertEquals(ids(linearNearest(points, lat, lon, Integer.MAX_VALUE, 5)),
+					ids(index.withinRadius(lat, lon, 5, Integer.MAX_VALUE)));
+			assertEquals(linearNearest(points, lat, lon, Integer.MAX_VALUE, 5).size(), index.allWithinRadius(lat, lon, 5).size());
+		}
+
+		// A point on 180° is the same place as one on -180°
+		GeoGridIndex<Integer> seam = new GeoGridIndex<>(0.01);
+		seam.put(1, 0, 180, 1);
+		assertEquals(List.of(1L), ids(seam.withinRadius(0, -179.999, 1, 10)));
+	}
+
+	@Test
+	void cellsMustTileTheGlobe() {
+		assertThrows(IllegalArgumentException.class, () -> new GeoGridIndex<>(0.07));
+		assertThrows(IllegalArgumentException.class, () -> new GeoGridIndex<>(0));
+		// A coarse grid cannot be searched wider than one lap of its columns
+		assertThrows(IllegalArgumentException.class, () -> new GeoGridIndex<Integer>(10).nearest(70, 0, 1, 1_000));
+	}
+
+	// mvn test -Dtest=GeoGridIndexTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkAgainstLinearScan() {
+		for (int size : new int[] {100_000, 1_000_000}) {
+			Random random = new Random(size);
+			double[][] points = randomPoints(random, size);
+			GeoGridIndex<Integer> index = build(points);
+			double[][] queries = randomPoints(random, 1_000);
+
+			long gridKnn = time(() -> { for (double[] q : queries) index.nearest(q[0], q[1], 10, 100); });
+			long gridRadius = time(() -> { for (double[] q : queries) index.withinRadius(q[0], q[1], 2, 50); });
+			int linearQueries = size >= 1_000_000 ? 20 : 100;
+			long linearKnn = time(() -> { for (int i = 0; i < linearQueries; i++) linearTopK(points, queries[i][0], queries[i][1], 10); });
+
+			System.out.printf("%,d listings: grid kNN %.1f us/query, grid radius %.1f us/query, linear scan %.1f us/query%n",
+					size, gridKnn / 1e3 / queries.length, gridRadius / 1e3 / queries.length, linearKnn / 1e3 / linearQueries);
+		}
+	}
+
+	private static double[][] randomPoints(Random random, int count) {
+		return randomPoints(random, count, LAT, LON);
+	}
+
+	private static double[][] randomPoints(Random random, int count, double lat, double lon) {
+		double[][] points = new double[count][];
+		for (int i = 0; i < count; i++) {
+			points[i] = new double[] {
+					lat + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+					lon + (random.nextDouble() - 0.5) * SPREAD_DEGREES };
+		}
+		return points;
+	}
+
+	private static double wrapLongitude(double lon) {
+		return lon >= 180 ? lon - 360 : lon;
+	}
+
+	private static GeoGridIndex<Integer> build(double[][] points) {
+		GeoGridIndex<Integer> index = new GeoGridIndex<>(0.01);
+		for (int i = 0; i < points.length; i++) {
+			index.put(i, points[i][0], points[i][1], i);
+		}
+		return index;
+	}
+
+	private static List<long[]> linearNearest(double[][] points, double lat, double lon, int k, double radiusKm) {
+		List<long[]> all = new ArrayList<>();
+		for (int i = 0; i < points.length; i++) {
+			double d = GeoMath.haversineKm(lat, lon, points[i][0], points[i][1]);
+			if (d <= radiusKm) {
+				all.add(new long[] { i, Double.doubleToLongBits(d) });
+			}
+		}
+		all.sort(Comparator.comparingDouble(e -> Double.longBitsToDouble(e[1])));
+		return all.subList(0, Math.min(k, all.size()));
+	}
+
+	// What a scan without an index costs: one distance per listing, bounded heap for the top k
+	private static double linearTopK(double[][] points, double lat, double lon, int k) {
+		PriorityQueue<Double> best = new PriorityQueue<>(Comparator.reverseOrder());
+		for (double[] p : points) {
+			double d = GeoMath.haversineKm(lat, lon, p[0], p[1]);
+			if (best.size() < k) {
+				best.add(d);
+			} else if (d < best.peek()) {
+				best.poll();
+				best.add(d);
+			}
+		}
+		return best.isEmpty() ? Double.NaN : best.peek();
+	}
+
+	private static List<Long> ids(List<?> results) {
+		List<Long> ids = new ArrayList<>();
+		for (Object r : results) {
+			ids.add(r instanceof long[] pair ? pair[0] : ((Neighbor<?>) r).id());
+		}
+		return ids;
+	}
+
+	private static long time(Runnable work) {
+		work.run(); // warm-up
+		long start = System.nanoTime();
+		work.run();
+		return System.nanoTime() - start;
+	}
+}
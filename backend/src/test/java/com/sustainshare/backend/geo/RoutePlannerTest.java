@@ -0,0 +1,171 @@
+package com.sustainshare.backend.geo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.sustainshare.backend.geo.RoutePlanner.Route;
+import com.sustainshare.backend.geo.RoutePlanner.Stop;
+
+class RoutePlannerTest {
+
+	// Roughly the Hyderabad metro area
+	private static final double LAT = 17.385;
+	private static final double LON = 78.4867;
+	private static final double SPREAD_DEGREES = 0.3;
+
+	// 30 km/h, 5 minutes at each stop
+	private final RoutePlanner planner = new RoutePlanner(30, 300, 50);
+
+	@Test
+	void visitsEveryStopOnce() {
+		List<Stop> stops = randomStops(new Random(1), 300, false);
+		Route route = planner.plan(LAT, LON, stops);
+
+		int[] sorted = route.order().clone();
+		Arrays.sort(sorted);
+		assertArrayEquals(IntStream.range(0, stops.size()).toArray(), sorted);
+		assertEquals(Arrays.stream(route.legKm()).sum(), route.totalKm(), 1e-9);
+	}
+
+	@Test
+	void walksStopsOnALineInOrder() {
+		List<Integer> positions = new ArrayList<>(IntStream.range(1, 41).boxed().toList());
+		Collections.shuffle(positions, new Random(3));
+		List<Stop> stops = new ArrayList<>();
+		for (int p : positions) {
+			stops.add(new Stop(LAT, LON + p * 0.001, RoutePlanner.NO_DEADLINE));
+		}
+		Route route = planner.plan(LAT, LON, stops);
+
+		for (int i = 0; i < route.order().length; i++) {
+			assertEquals(i + 1, positions.get(route.order()[i]));
+		}
+	}
+
+	@Test
+	void leavesNoImprovingTwoOptMove() {
+		List<Stop> stops = randomStops(new Random(5), 200, false);
+		Route route = planner.plan(LAT, LON, stops);
+
+		double[][] path = new double[stops.size() + 1][];
+		path[0] = new double[] { LAT, LON };
+		for (int i = 0; i < route.order().length; i++) {
+			Stop s = stops.get(route.order()[i]);
+			path[i + 1] = new double[] { s.latitude(), s.longitude() };
+		}
+		int n = path.length - 1;
+		for (int i = 1; i < n; i++) {
+			for (int k = i + 1; k <= n; k++) {
+				double delta = km(path[i - 1], path[k]) - km(path[i - 1], path[i]);
+				if (k < n) {
+					delta += km(path[i], path[k + 1]) - km(path[k], path[k + 1]);
+				}
+				assertTrue(delta > -1e-6, "2-opt move " + i + ".." + k + " would save " + -delta + " km");
+			}
+		}
+	}
+
+	@Test
+	void urgentFarStopGoesFirst() {
+		List<Stop> stops = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			stops.add(new Stop(LAT + 0.001 * i, LON, RoutePlanner.NO_DEADLINE));
+		}
+		// About 11 km east; reachable in time only when driven to straight away
+		stops.add(new Stop(LAT, LON + 0.1, 25 * 60));
+		Route route = planner.plan(LAT, LON, stops);
+
+		assertEquals(10, route.order()[0]);
+		assertEquals(0, route.lateStops());
+	}
+
+	@Test
+	void keepsDeadlinesWhileShortening() {
+		List<Stop> stops = randomStops(new Random(9), 150, true);
+		Route route = planner.plan(LAT, LON, stops);
+		Route unconstrained = planner.plan(LAT, LON, stops.stream()
+				.map(s -> new Stop(s.latitude(), s.longitude(), RoutePlanner.NO_DEADLINE)).toList());
+
+		int lateInUnconstrained = 0;
+		for (int i = 0; i < unconstrained.order().length; i++) {
+			if (unconstrained.arrivalSeconds()[i] > stops.get(unconstrained.order()[i]).deadlineSeconds()) {
+				lateInUnconstrained++;
+			}
+		}
+		assertTrue(route.lateStops() <= lateInUnconstrained,
+				route.lateStops() + " late with deadlines, " + lateInUnconstrained + " without");
+	}
+
+	@Test
+	void startsAtFirstStopWithoutAStartPoint() {
+		List<Stop> stops = List.of(
+				new Stop(LAT, LON + 0.02, RoutePlanner.NO_DEADLINE),
+				new Stop(LAT, LON, RoutePlanner.NO_DEADLINE),
+				new Stop(LAT, LON + 0.01, RoutePlanner.NO_DEADLINE));
+		Route route = planner.plan(null, null, stops);
+
+		assertEquals(0, route.legKm()[0]);
+		assertEquals(km(new double[] { LAT, LON }, new double[] { LAT, LON + 0.02 }), route.totalKm(), 1e-9);
+	}
+
+	// mvn test -Dtest=RoutePlannerTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkPlanning() {
+		for (int size : new int[] { 100, 300, 1000 }) {
+			List<Stop> stops = randomStops(new Random(size), size, true);
+			double unconstrainedKm = planner.plan(LAT, LON, stops.stream()
+					.map(s -> new Stop(s.latitude(), s.longitude(), RoutePlanner.NO_DEADLINE)).toList()).totalKm();
+			int runs = size >= 1000 ? 3 : 10;
+			long start = System.nanoTime();
+			Route route = null;
+			for (int r = 0; r < runs; r++) {
+				route = planner.plan(LAT, LON, stops);
+			}
+			System.out.printf("%,d stops: %.1f ms/plan, %.1f km (%.1f km ignoring deadlines), %d late%n",
+					size, (System.nanoTime() - start) / 1e6 / runs, route.totalKm(), unconstrainedKm, route.lateStops());
+		}
+
+		List<List<Stop>> charities = new ArrayList<>();
+		for (int c = 0; c < 64; c++) {
+			charities.add(randomStops(new Random(c), 200, true));
+		}
+		long sequential = System.nanoTime();
+		charities.forEach(stops -> planner.plan(LAT, LON, stops));
+		sequential = System.nanoTime() - sequential;
+		long parallel = System.nanoTime();
+		charities.parallelStream().forEach(stops -> planner.plan(LAT, LON, stops));
+		parallel = System.nanoTime() - parallel;
+		System.out.printf("64 charities x 200 stops: sequential %.0f ms, parallel %.0f ms on %d CPUs%n",
+				sequential / 1e6, parallel / 1e6, Runtime.getRuntime().availableProcessors());
+	}
+
+	// Deadlines from 30 minutes up to about ten minutes per stop after departure,
+	// so a good order can make most of them
+	private static List<Stop> randomStops(Random random, int count, boolean deadlines) {
+		List<Stop> stops = new ArrayList<>(count);
+		int latest = Math.max(3600, count * 600);
+		for (int i = 0; i < count; i++) {
+			stops.add(new Stop(
+					LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+					LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+					deadlines ? 1800 + random.nextInt(latest - 1800) : RoutePlanner.NO_DEADLINE));
+		}
+		return stops;
+	}
+
+	private static double km(double[] a, double[] b) {
+		return GeoMath.haversineKm(a[0], a[1], b[0], b[1]);
+	}
+}
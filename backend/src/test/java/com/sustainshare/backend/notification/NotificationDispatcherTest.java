@@ -0,0 +1,86 @@
+package com.sustainshare.backend.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationDispatcherTest {
+
+	@Test
+	void linesForOneRecipientAreCoalescedIntoOneMessage() throws Exception {
+		List<Notification> delivered = new CopyOnWriteArrayList<>();
+		NotificationDispatcher dispatcher = dispatcher(batch -> {
+			delivered.addAll(batch);
+			return List.of();
+		}, 3, 5);
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(dispatcher.enqueue("c1", "+15550002", "listing " + i));
+		}
+		dispatcher.enqueue("c2", "+15550003", "listing 9");
+		assertFalse(dispatcher.enqueue("c3", null, "no phone"));
+
+		assertEquals(2, dispatcher.flush());
+		waitFor(() -> delivered.size() == 2);
+		Notification c1 = delivered.stream().filter(n -> n.getRecipientId().equals("c1")).findFirst().orElseThrow();
+		assertEquals("listing 0\nlisting 1\nlisting 2\n(+2 more)", c1.getMessage());
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void failedSendsAreRetriedUntilDelivered() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		List<Notification> delivered = new CopyOnWriteArrayList<>();
+		NotificationDispatcher dispatcher = dispatcher(batch -> {
+			if (calls.incrementAndGet() <= 2) {
+				return batch;
+			}
+			delivered.addAll(batch);
+			return List.of();
+		}, 5, 5);
+
+		dispatcher.enqueue("d1", "+15550001", "pickup scheduled");
+		dispatcher.flush();
+		waitFor(() -> delivered.size() == 1);
+		assertEquals(2, delivered.get(0).getAttempt());
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		NotificationDispatcher dispatcher = dispatcher(batch -> {
+			calls.incrementAndGet();
+			return batch;
+		}, 5, 3);
+
+		dispatcher.enqueue("d1", "+15550001", "never arrives");
+		dispatcher.flush();
+		Thread.sleep(500);
+		assertEquals(3, calls.get());
+		dispatcher.shutdown();
+	}
+
+	private static NotificationDispatcher dispatcher(NotificationSender sender, int maxLines, int maxAttempts) {
+		return new NotificationDispatcher(sender, new SimpleMeterRegistry(), 2, 50, 100, maxLines, maxAttempts,
+				Duration.ofMillis(10), Duration.ofMillis(40));
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(condition.getAsBoolean(), "timed out");
+	}
+}
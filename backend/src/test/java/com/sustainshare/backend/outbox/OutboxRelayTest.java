@@ -0,0 +1,194 @@
+package com.sustainshare.backend.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.sustainshare.backend.event.DonationLoggedEvent;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.OutboxEvent;
+import com.sustainshare.backend.model.OutboxStatus;
+import com.sustainshare.backend.repository.OutboxEventRepository;
+import com.sustainshare.backend.service.DonationLogService;
+
+// Own database: relays of other cached test contexts would otherwise drain these events
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:outbox-relay-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.outbox.poll-interval=PT0.2S" })
+class OutboxRelayTest {
+
+	// Donations with this quantity fail on their first delivery
+	private static final int FAIL_ONCE = 13;
+
+	@Autowired
+	private DonationLogService donationLogService;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private RecordingSubscriber recorder;
+
+	@TestConfiguration
+	static class Config {
+		@Bean
+		RecordingSubscriber recordingSubscriber() {
+			return new RecordingSubscriber();
+		}
+	}
+
+	static class RecordingSubscriber implements OutboxSubscriber<DonationLoggedEvent> {
+
+		final ConcurrentLinkedQueue<Long> eventIds = new ConcurrentLinkedQueue<>();
+		final ConcurrentLinkedQueue<Long> donationIds = new ConcurrentLinkedQueue<>();
+		final ConcurrentLinkedQueue<Long> lagMicros = new ConcurrentLinkedQueue<>();
+		final AtomicInteger failures = new AtomicInteger();
+
+		@Override
+		public Class<DonationLoggedEvent> payloadType() {
+			return DonationLoggedEvent.class;
+		}
+
+		@Override
+		public void handle(long eventId, DonationLoggedEvent event) {
+			if (event.getQuantity() == FAIL_ONCE && failures.getAndIncrement() == 0) {
+				throw new IllegalStateException("downstream unavailable");
+			}
+			lagMicros.add(Duration.between(event.getDonatedAt(), LocalDateTime.now()).toNanos() / 1000);
+			eventIds.add(eventId);
+			donationIds.add(event.getDonationId());
+		}
+
+		void reset() {
+			eventIds.clear();
+			donationIds.clear();
+			lagMicros.clear();
+			failures.set(0);
+		}
+	}
+
+	@BeforeEach
+	void reset() {
+		recorder.reset();
+	}
+
+	@Test
+	void deliversCommittedDonationsInOrder() throws Exception {
+		List<Long> saved = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			saved.add(donationLogService.saveDonation(donation(1 + i % 5)).getId());
+		}
+
+		awaitDelivered(saved.size());
+		assertEquals(saved, new ArrayList<>(recorder.donationIds));
+		assertAscending(new ArrayList<>(recorder.eventIds));
+		awaitNothingPending();
+	}
+
+	@Test
+	void failedEventIsRetriedBeforeLaterEvents() throws Exception {
+		Long first = donationLogService.saveDonation(donation(2)).getId();
+		Long failing = donationLogService.saveDonation(donation(FAIL_ONCE)).getId();
+		Long last = donationLogService.saveDonation(donation(3)).getId();
+
+		awaitDelivered(3);
+		assertEquals(List.of(first, failing, last), new ArrayList<>(recorder.donationIds));
+		assertEquals(2, recorder.failures.get());
+		awaitNothingPending();
+		OutboxEvent retried = outboxEventRepository.findAll().stream()
+				.filter(e -> e.getAggregateId().equals(failing)).findFirst().orElseThrow();
+		assertEquals(OutboxStatus.PUBLISHED, retried.getStatus());
+		assertEquals(1, retried.getAttempts());
+	}
+
+	// mvn test -Dtest=OutboxRelayTest -Dbenchmark=true
+	// Saturating writers give relay throughput; a paced writer gives lag under sustainable load.
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkRelayLagAndThroughput() throws Exception {
+		int writers = 8;
+		int perWriter = 2_500;
+		ExecutorService pool = Executors.newFixedThreadPool(writers);
+		long start = System.nanoTime();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			futures.add(pool.submit(() -> {
+				for (int i = 0; i < perWriter; i++) {
+					donationLogService.saveDonation(donation(1));
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		pool.shutdown();
+		int total = writers * perWriter;
+		awaitDelivered(total);
+		System.out.printf("saturated: %,d donations relayed at %.0f/s end to end%n",
+				total, total / ((System.nanoTime() - start) / 1e9));
+
+		recorder.reset();
+		int rate = 200;
+		int paced = rate * 10;
+		long interval = 1_000_000_000L / rate;
+		start = System.nanoTime();
+		for (int i = 0; i < paced; i++) {
+			long due = start + i * interval;
+			LockSupport.parkNanos(due - System.nanoTime());
+			donationLogService.saveDonation(donation(1));
+		}
+		awaitDelivered(paced);
+		long[] lags = recorder.lagMicros.stream().mapToLong(Long::longValue).sorted().toArray();
+		System.out.printf("paced %d/s: lag p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+				rate, lags[lags.length / 2] / 1e3, lags[(int) (lags.length * 0.99)] / 1e3, lags[lags.length - 1] / 1e3);
+	}
+
+	private static DonationLog donation(int quantity) {
+		DonationLog log = new DonationLog(null, null, null, null);
+		log.setQuantity(quantity);
+		return log;
+	}
+
+	private void awaitDelivered(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+		while (recorder.donationIds.size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, recorder.donationIds.size());
+	}
+
+	// Events are marked published after the whole batch has been handed over
+	private void awaitNothingPending() throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (outboxEventRepository.countByStatus(OutboxStatus.PENDING) > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+	}
+
+	private static void assertAscending(List<Long> ids) {
+		for (int i = 1; i < ids.size(); i++) {
+			assertTrue(ids.get(i - 1) < ids.get(i), "out of order at " + i);
+		}
+	}
+}
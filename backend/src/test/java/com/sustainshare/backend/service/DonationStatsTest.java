@@ -0,0 +1,150 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import com.sustainshare.backend.controller.StatsController;
+import com.sustainshare.backend.dto.StatsSummary;
+import com.sustainshare.backend.dto.StatsTotals;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Own database and archive: the rebuild reads every donation and pickup there is
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:donation-stats-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.archive.dir=${java.io.tmpdir}/sustainshare-stats-test-${random.uuid}" })
+class DonationStatsTest {
+
+	@Autowired
+	private DonationStatsService donationStatsService;
+
+	@Autowired
+	private DonationLogService donationLogService;
+
+	@Autowired
+	private PickupScheduleService pickupScheduleService;
+
+	@Autowired
+	private FoodClaimService foodClaimService;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private PickupScheduleRepository pickupScheduleRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void deletedDonationsLeaveTheRollups() {
+		User donor = user("stats-donor", Role.DONOR);
+		User charity = user("stats-donation-charity", Role.CHARITY);
+		LocalDateTime at = LocalDateTime.now().withNano(0);
+		DonationLog first = donation(donor, charity, 6, at);
+		donation(donor, charity, 4, at);
+		assertTotals(donationStatsService.getDonorTotals(donor.getId()), 2, 10, 0, 0);
+
+		donationLogService.deleteDonation(first.getId());
+		assertTotals(donationStatsService.getDonorTotals(donor.getId()), 1, 4, 0, 0);
+		assertTotals(donationStatsService.getCharityTotals(charity.getId()), 1, 4, 0, 0);
+		// Deleting it again, or a donation that never was, changes nothing
+		donationLogService.deleteDonation(first.getId());
+		donationLogService.deleteDonation(-1L);
+		assertTotals(donationStatsService.getDonorTotals(donor.getId()), 1, 4, 0, 0);
+
+		donationStatsService.rebuild();
+		assertTotals(donationStatsService.getDonorTotals(donor.getId()), 1, 4, 0, 0);
+	}
+
+	@Test
+	void deletedPickupsLeaveTheRollupsOnce() {
+		User charity = user("stats-pickup-charity", Role.CHARITY);
+		Long dal = foodItemService.addFood(new FoodItem("Dal", 10, "Uppal", null, null)).getId();
+		LocalDateTime evening = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0).withSecond(0).withNano(0);
+		PickupSchedule scheduled = foodClaimService.claim(dal, charity.getId(), 3, evening);
+		PickupSchedule completed = foodClaimService.claim(dal, charity.getId(), 2, evening.plusHours(1));
+		PickupSchedule plain = pickupScheduleService.schedulePickup(new PickupSchedule(evening.plusHours(2), null, null, charity));
+		assertTotals(donationStatsService.getCharityTotals(charity.getId()), 0, 0, 3, 5);
+
+		completed.setStatus(PickupStatus.COMPLETED);
+		pickupScheduleRepository.save(completed);
+		pickupScheduleService.deletePickup(completed.getId());
+		assertTotals(donationStatsService.getCharityTotals(charity.getId()), 0, 0, 2, 3);
+		pickupScheduleService.deletePickup(scheduled.getId());
+		pickupScheduleService.deletePickup(scheduled.getId());
+		assertTotals(donationStatsService.getCharityTotals(charity.getId()), 0, 0, 1, 0);
+
+		// A missed pickup has already left the stats (as MissedPickupSweeper marks it)
+		PickupSchedule missed = foodClaimService.claim(dal, charity.getId(), 1, evening.plusHours(3));
+		donationStatsService.retractPickup(charity.getId(), 1, missed.getScheduledTime());
+		missed.setStatus(PickupStatus.MISSED);
+		pickupScheduleRepository.save(missed);
+		pickupScheduleService.deletePickup(missed.getId());
+		assertTotals(donationStatsService.getCharityTotals(charity.getId()), 0, 0, 1, 0);
+
+		donationStatsService.rebuild();
+		assertTotals(donationStatsService.getCharityTotals(charity.getId()), 0, 0, 1, plain.getQuantity());
+	}
+
+	@Test
+	void donorsWithNothingLeftAreNoLongerActive() {
+		User donor = user("stats-leaving-donor", Role.DONOR);
+		User charity = user("stats-leaving-charity", Role.CHARITY);
+		DonationLog only = donation(donor, charity, 5, LocalDateTime.now().withNano(0));
+		StatsSummary before = donationStatsService.getSummary();
+
+		donationLogService.deleteDonation(only.getId());
+		StatsSummary after = donationStatsService.getSummary();
+		assertEquals(before.getActiveDonors() - 1, after.getActiveDonors());
+		assertEquals(before.getActiveCharities() - 1, after.getActiveCharities());
+		assertTotals(donationStatsService.getDonorTotals(donor.getId()), 0, 0, 0, 0);
+
+		// Retracting for someone the rollup has never seen creates no counter to go negative
+		donationStatsService.retractDonation("stats-unknown-donor", "stats-unknown-charity", 3, LocalDateTime.now());
+		donationStatsService.retractPickup("stats-unknown-charity", 2, LocalDateTime.now());
+		assertTotals(donationStatsService.getDonorTotals("stats-unknown-donor"), 0, 0, 0, 0);
+		assertTotals(donationStatsService.getCharityTotals("stats-unknown-charity"), 0, 0, 0, 0);
+		assertEquals(after.getActiveDonors(), donationStatsService.getSummary().getActiveDonors());
+		assertEquals(after.getActiveCharities(), donationStatsService.getSummary().getActiveCharities());
+		donationStatsService.rebuild();
+	}
+
+	@Test
+	void rebuildIsNotExposedOverHttp() {
+		assertEquals(0, Arrays.stream(StatsController.class.getDeclaredMethods())
+				.filter(method -> method.isAnnotationPresent(PostMapping.class))
+				.count());
+	}
+
+	private DonationLog donation(User donor, User charity, int meals, LocalDateTime at) {
+		DonationLog log = new DonationLog(donor, charity, null, at);
+		log.setQuantity(meals);
+		return donationLogService.saveDonation(log);
+	}
+
+	private User user(String id, Role role) {
+		return userRepository.save(new User(id, "User " + id, id, id + "@example.org", "pw", role));
+	}
+
+	private static void assertTotals(StatsTotals totals, long donations, long meals, long pickups, long portions) {
+		assertEquals(donations, totals.getDonations());
+		assertEquals(meals, totals.getMealsDonated());
+		assertEquals(pickups, totals.getPickups());
+		assertEquals(portions, totals.getPortionsPickedUp());
+	}
+}
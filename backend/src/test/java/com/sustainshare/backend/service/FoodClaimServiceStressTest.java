@@ -0,0 +1,119 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class FoodClaimServiceStressTest {
+
+	private static final int THREADS = 32;
+
+	@Autowired
+	private FoodClaimService foodClaimService;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private PickupScheduleRepository pickupScheduleRepository;
+
+	@Test
+	void concurrentPartialClaimsNeverOverAllocate() throws Exception {
+		int initial = 2_000;
+		Long id = foodItemService.addFood(new FoodItem("Biryani trays", initial, "Gachibowli", null, 1L)).getId();
+
+		AtomicInteger claims = new AtomicInteger();
+		AtomicInteger rejections = new AtomicInteger();
+		AtomicInteger claimedUnits = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			String charityId = null;
+			workers.add(pool.submit(() -> {
+				start.await();
+				while (true) {
+					int want = ThreadLocalRandom.current().nextInt(1, 5);
+					try {
+						foodClaimService.claim(id, charityId, want, null);
+						claims.incrementAndGet();
+						claimedUnits.addAndGet(want);
+					} catch (ClaimRejectedException e) {
+						rejections.incrementAndGet();
+						if (e.getMessage().contains("fully claimed")) {
+							return null;
+						}
+					}
+				}
+			}));
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		double seconds = (System.nanoTime() - began) / 1e9;
+		pool.shutdown();
+
+		int reserved = pickupScheduleRepository.findAll().stream()
+				.filter(p -> p.getFoodItem() != null && id.equals(p.getFoodItem().getId()))
+				.mapToInt(p -> p.getQuantity())
+				.sum();
+		assertEquals(initial, claimedUnits.get());
+		assertEquals(initial, reserved);
+		assertEquals(0, foodItemRepository.findById(id).orElseThrow().getQuantity());
+
+		System.out.printf("%d threads: %d claims, %d rejections in %.2fs (%.0f claims/s)%n",
+				THREADS, claims.get(), rejections.get(), seconds, claims.get() / seconds);
+	}
+
+	@Test
+	void exactlyOneCharityWinsASinglePortion() throws Exception {
+		Long id = foodItemService.addFood(new FoodItem("Last plate", 1, "Ameerpet", null, 1L)).getId();
+
+		AtomicInteger winners = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> racers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			racers.add(pool.submit(() -> {
+				start.await();
+				try {
+					foodClaimService.claim(id, null, null, null);
+					winners.incrementAndGet();
+				} catch (ClaimRejectedException expected) {
+					// lost the race
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> racer : racers) {
+			racer.get();
+		}
+		pool.shutdown();
+
+		assertEquals(1, winners.get());
+		assertEquals(0, foodItemRepository.findById(id).orElseThrow().getQuantity());
+	}
+}
@@ -0,0 +1,103 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sustainshare.backend.event.FoodListingEvent;
+
+// One drain thread, so a single stuck send would stop the whole feed without the send timeout
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"sustainshare.feed.dispatch-threads=1",
+		"sustainshare.feed.send-timeout=PT0.3S",
+		"sustainshare.feed.stall-check=PT0.1S" })
+class FoodEventBroadcasterTest {
+
+	@Autowired
+	private FoodEventBroadcaster foodEventBroadcaster;
+
+	@Test
+	void clientsThatStopReadingDoNotHoldUpTheFeed() throws Exception {
+		CountDownLatch unblock = new CountDownLatch(1);
+		StuckEmitter first = new StuckEmitter(unblock);
+		StuckEmitter second = new StuckEmitter(unblock);
+		RecordingEmitter reader = new RecordingEmitter();
+		int before = foodEventBroadcaster.subscriberCount();
+		long drops = foodEventBroadcaster.stalledDrops();
+		try {
+			foodEventBroadcaster.subscribe(first);
+			foodEventBroadcaster.subscribe(second);
+			foodEventBroadcaster.subscribe(reader);
+			assertTrue(first.entered.await(5, TimeUnit.SECONDS) || second.entered.await(5, TimeUnit.SECONDS));
+
+			for (long id = 1; id <= 3; id++) {
+				foodEventBroadcaster.onFoodListingEvent(FoodListingEvent.deleted(id));
+			}
+			// connected + three events, while both stuck clients are still blocked in a write
+			assertTrue(reader.awaitMessages(4, 5_000), "reader got " + reader.messages.size());
+			assertEquals(drops + 2, foodEventBroadcaster.stalledDrops());
+			assertEquals(before + 1, foodEventBroadcaster.subscriberCount());
+		} finally {
+			unblock.countDown();
+		}
+
+		// Once the stuck writes return, the feed keeps flowing on the usual pool
+		foodEventBroadcaster.onFoodListingEvent(FoodListingEvent.deleted(4L));
+		assertTrue(reader.awaitMessages(5, 5_000), "reader got " + reader.messages.size());
+		reader.complete();
+	}
+
+	// A client that never reads: every write blocks until the socket would time out
+	private static final class StuckEmitter extends SseEmitter {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch unblock;
+
+		StuckEmitter(CountDownLatch unblock) {
+			super(0L);
+			this.unblock = unblock;
+		}
+
+		@Override
+		public synchronized void send(Set<DataWithMediaType> items) {
+			entered.countDown();
+			try {
+				unblock.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static final class RecordingEmitter extends SseEmitter {
+		final List<Set<DataWithMediaType>> messages = new CopyOnWriteArrayList<>();
+
+		RecordingEmitter() {
+			super(0L);
+		}
+
+		@Override
+		public synchronized void send(Set<DataWithMediaType> items) {
+			messages.add(items);
+		}
+
+		boolean awaitMessages(int count, long timeoutMillis) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + timeoutMillis;
+			while (messages.size() < count && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+			return messages.size() >= count;
+		}
+	}
+}
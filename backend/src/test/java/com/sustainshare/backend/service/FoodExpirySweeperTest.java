@@ -0,0 +1,148 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.sustainshare.backend.controller.FoodItemController;
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// Own database: the sweeps retire every expired listing in the database. The scheduled sweep is
+// pushed out of the way so only the test sweeps.
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:food-expiry-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.expiry.sweep-interval=PT1H",
+		"sustainshare.expiry.sweep-batch-size=2" })
+@RecordApplicationEvents
+class FoodExpirySweeperTest {
+
+	@Autowired
+	private FoodExpirySweeper foodExpirySweeper;
+
+	@Autowired
+	private ExpiryIndex expiryIndex;
+
+	@Autowired
+	private FoodItemController foodItemController;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private FoodLocationIndex foodLocationIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@Test
+	void expiringListingsComeSoonestFirstWithinTheWindow() {
+		LocalDateTime now = LocalDateTime.now();
+		Long later = food("Biryani", now.plusMinutes(50));
+		Long soon = food("Halwa", now.plusMinutes(10));
+		Long outside = food("Pickle", now.plusHours(3));
+		Long middle = food("Sambar", now.plusMinutes(30));
+
+		List<Long> hour = ids(foodItemController.getExpiringFood(Duration.ofHours(1), null));
+		assertEquals(List.of(soon, middle, later), hour.stream().filter(List.of(soon, middle, later, outside)::contains).toList());
+		assertTrue(ids(foodItemController.getExpiringFood(Duration.ofMinutes(20), null)).contains(soon));
+		assertFalse(ids(foodItemController.getExpiringFood(Duration.ofMinutes(20), null)).contains(middle));
+		assertTrue(ids(foodItemController.getExpiringFood(Duration.ofHours(4), null)).contains(outside));
+		assertEquals(1, foodItemController.getExpiringFood(Duration.ofHours(4), 1).size());
+	}
+
+	@Test
+	void expiredListingsAreRetiredInBatchesAndKeptWhenABatchFails() {
+		LocalDateTime now = LocalDateTime.now();
+		List<Long> expired = new ArrayList<>();
+		for (int i = 5; i > 0; i--) {
+			expired.add(food("Leftover " + i, now.minusMinutes(i)));
+		}
+		Long live = food("Fresh", now.plusHours(2));
+
+		// The retirement fails: nothing leaves the index, and the next sweep tries again
+		jdbcTemplate.execute("alter table food_item rename to food_item_offline");
+		try {
+			assertThrows(RuntimeException.class, () -> foodExpirySweeper.sweep(now));
+		} finally {
+			jdbcTemplate.execute("alter table food_item_offline rename to food_item");
+		}
+		assertEquals(expired, expiryIndex.peekExpired(now, 10));
+
+		// Three batches of at most two, oldest first
+		assertEquals(5, foodExpirySweeper.sweep(now));
+		assertTrue(expiryIndex.peekExpired(now, 10).isEmpty());
+		for (Long id : expired) {
+			assertFalse(foodItemRepository.findById(id).orElseThrow().isAvailable());
+		}
+		assertTrue(foodItemRepository.findById(live).orElseThrow().isAvailable());
+		assertTrue(ids(foodItemController.getExpiringFood(Duration.ofHours(3), null)).contains(live));
+		assertEquals(0, foodExpirySweeper.sweep(now));
+	}
+
+	@Test
+	void listingRefreshedBeforeItsRetirementCommitsStaysIndexed() {
+		LocalDateTime now = LocalDateTime.now();
+		FoodItem listed = new FoodItem("Pongal", 4, "Tarnaka", now.minusMinutes(1), null);
+		listed.setLatitude(17.43);
+		listed.setLongitude(78.54);
+		Long id = foodItemService.addFood(listed).getId();
+		assertTrue(expiryIndex.peekExpired(now, 10).contains(id));
+
+		// The donor extends the listing; the row commits before the index hears of it
+		FoodItem extended = foodItemRepository.findById(id).orElseThrow();
+		extended.setExpiryTime(now.plusHours(2));
+		foodItemRepository.save(extended);
+		events.clear();
+
+		assertEquals(0, foodExpirySweeper.sweep(now));
+		FoodItem row = foodItemRepository.findById(id).orElseThrow();
+		assertTrue(row.isAvailable());
+		assertEquals(now.plusHours(2).withNano(0), row.getExpiryTime().withNano(0));
+		assertTrue(events.stream(FoodListingEvent.class).noneMatch(event -> id.equals(event.getFoodItemId())));
+		assertTrue(foodLocationIndex.withinRadius(17.43, 78.54, 1, 10).stream().anyMatch(neighbor -> neighbor.id() == id));
+		foodItemService.indexListing(row);
+		assertTrue(ids(foodItemController.getExpiringFood(Duration.ofHours(3), null)).contains(id));
+
+		// Had the index heard of the new expiry first, the sweep's cleanup keeps the fresh entry
+		ExpiryIndex index = new ExpiryIndex();
+		FoodItem item = new FoodItem("Curd rice", 3, "Tarnaka", now.minusMinutes(1), null);
+		item.setId(1L);
+		index.track(item);
+		assertEquals(List.of(1L), index.peekExpired(now, 10));
+		item.setExpiryTime(now.plusHours(1));
+		index.track(item);
+		index.removeExpired(List.of(1L), now);
+		assertEquals(1, index.size());
+		assertTrue(index.peekExpired(now, 10).isEmpty());
+	}
+
+	private Long food(String name, LocalDateTime expiry) {
+		return foodItemService.addFood(new FoodItem(name, 4, "Tarnaka", expiry, null)).getId();
+	}
+
+	private static List<Long> ids(List<FoodItem> items) {
+		return items.stream().map(FoodItem::getId).toList();
+	}
+}
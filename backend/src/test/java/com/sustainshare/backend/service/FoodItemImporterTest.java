@@ -0,0 +1,155 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.dto.BatchImportResult;
+import com.sustainshare.backend.model.FoodItem;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+class FoodItemImporterTest {
+
+	@Autowired
+	private FoodItemImporter foodItemImporter;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void csvImportSavesValidRowsAndReportsBadOnes() throws Exception {
+		String csv = String.join("\n",
+				"name,quantity,pickup_location,expiry_time,latitude,longitude",
+				"Veg pulao,12,\"Kukatpally, Hyderabad\",2030-01-01T20:00,17.49,78.39",
+				",5,Nowhere,,,",
+				"Chapati,lots,Ameerpet,,,",
+				"Dal,8,Ameerpet,,17.43,");
+		BatchImportResult result = foodItemImporter.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(4, result.getReceived());
+		assertEquals(1, result.getSaved());
+		assertEquals(3, result.getRejected());
+		assertEquals(List.of(3, 4, 5), result.getErrors().stream().map(BatchImportResult.RowError::getRow).toList());
+	}
+
+	@Test
+	void csvExpiryAndDonorIdAcceptWhatTheFormsSend() throws Exception {
+		String csv = String.join("\n",
+				"name,quantity,pickup_location,expiry_time,donor_id",
+				"Lemon rice,6,Miyapur,21:30,3000000000",
+				"Curd rice,6,Miyapur,2030-01-01T20:00:00Z,7",
+				"Bisi bele bath,6,Miyapur,tonight,7");
+		BatchImportResult result = foodItemImporter.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(2, result.getSaved());
+		assertEquals(List.of(4), result.getErrors().stream().map(BatchImportResult.RowError::getRow).toList());
+		FoodItem lemonRice = imported("Lemon rice");
+		assertEquals(3_000_000_000L, lemonRice.getDonorId());
+		assertEquals(LocalTime.of(21, 30), lemonRice.getExpiryTime().toLocalTime());
+		assertTrue(lemonRice.getExpiryTime().isAfter(LocalDateTime.now()));
+		assertEquals(OffsetDateTime.parse("2030-01-01T20:00:00Z").atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(),
+				imported("Curd rice").getExpiryTime());
+	}
+
+	@Test
+	void csvQuotedFieldsMaySpanLines() throws Exception {
+		String csv = String.join("\n",
+				"name,quantity,pickup_location",
+				"Khichdi,5,\"Gate 2,",
+				"Ameerpet \"\"Metro\"\"\"",
+				"Upma,5,Ameerpet",
+				"Poha,5,\"Gate 3");
+		BatchImportResult result = foodItemImporter.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(3, result.getReceived());
+		assertEquals(2, result.getSaved());
+		assertEquals("Gate 2,\nAmeerpet \"Metro\"", imported("Khichdi").getPickupLocation());
+		assertEquals("Ameerpet", imported("Upma").getPickupLocation());
+		// The unclosed quote is reported against the line its record starts on
+		assertEquals(List.of(5), result.getErrors().stream().map(BatchImportResult.RowError::getRow).toList());
+	}
+
+	@Test
+	void batchItemsCannotSetServerManagedFields() {
+		FoodItem claimed = new FoodItem("Rava kesari", 3, "Ameerpet", null, null);
+		claimed.setAvailable(false);
+		claimed.setChangeVersion(Long.MAX_VALUE);
+
+		assertEquals(1, foodItemImporter.importItems(List.of(claimed)).getSaved());
+		FoodItem saved = imported("Rava kesari");
+		assertTrue(saved.isAvailable());
+		assertTrue(saved.getChangeVersion() < Long.MAX_VALUE);
+	}
+
+	@Test
+	void batchInsertsAreSentAsJdbcBatches() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		BatchImportResult result = foodItemImporter.importItems(items(1_000));
+
+		assertEquals(1_000, result.getSaved());
+		// One prepared insert per batch of 50 plus a sequence call per 50 ids, far below one per row
+		assertTrue(statistics.getPrepareStatementCount() <= 60,
+				"prepared statements: " + statistics.getPrepareStatementCount());
+	}
+
+	private FoodItem imported(String name) {
+		return foodItemService.getAllFoodItems().stream().filter(item -> name.equals(item.getName())).findFirst().orElseThrow();
+	}
+
+	// mvn test -Dtest=FoodItemImporterTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkBatchAgainstOneByOne() {
+		int rows = 20_000;
+		foodItemImporter.importItems(items(2_000)); // warm-up
+		items(2_000).forEach(foodItemService::addFood);
+
+		long started = System.nanoTime();
+		items(rows).forEach(foodItemService::addFood);
+		double oneByOne = rows / ((System.nanoTime() - started) / 1e9);
+
+		started = System.nanoTime();
+		for (int i = 0; i < rows; i += FoodItemImporter.MAX_BATCH_ITEMS) {
+			foodItemImporter.importItems(items(Math.min(FoodItemImporter.MAX_BATCH_ITEMS, rows - i)));
+		}
+		double batched = rows / ((System.nanoTime() - started) / 1e9);
+
+		System.out.printf("%,d rows: one-by-one %.0f rows/s, batched %.0f rows/s (%.1fx)%n",
+				rows, oneByOne, batched, batched / oneByOne);
+	}
+
+	private static List<FoodItem> items(int count) {
+		List<FoodItem> items = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			FoodItem item = new FoodItem("Meal box " + i, 1 + i % 20, "Banjara Hills", null, (long) (i % 100));
+			item.setLatitude(17.41 + (i % 100) * 0.001);
+			item.setLongitude(78.44 + (i % 100) * 0.001);
+			items.add(item);
+		}
+		return items;
+	}
+}
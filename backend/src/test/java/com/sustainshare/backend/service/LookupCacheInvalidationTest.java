@@ -0,0 +1,152 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import com.sustainshare.backend.config.CacheConfig;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class LookupCacheInvalidationTest {
+
+	private static final int READERS = 8;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private FoodClaimService foodClaimService;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void cachedFoodItemFollowsConcurrentClaims() throws Exception {
+		int initial = 200;
+		Long id = foodItemService.addFood(new FoodItem("Idli batter", initial, "Madhapur", null, 1L)).getId();
+		long hitsBefore = stats(CacheConfig.FOOD_ITEMS).hitCount();
+
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ExecutorService pool = Executors.newFixedThreadPool(READERS + 4);
+		List<Future<?>> readers = new ArrayList<>();
+		for (int r = 0; r < READERS; r++) {
+			readers.add(pool.submit(() -> {
+				while (writing.get()) {
+					foodItemService.getFoodById(id);
+				}
+				return null;
+			}));
+		}
+		List<Future<?>> writers = new ArrayList<>();
+		for (int w = 0; w < 4; w++) {
+			writers.add(pool.submit(() -> {
+				for (int i = 0; i < initial / 4; i++) {
+					while (true) {
+						try {
+							foodClaimService.claim(id, null, 1, null);
+							break;
+						} catch (ClaimRejectedException e) {
+							// busy or lost an optimistic race, try again
+						}
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> writer : writers) {
+			writer.get();
+		}
+		writing.set(false);
+		for (Future<?> reader : readers) {
+			reader.get();
+		}
+		pool.shutdown();
+
+		assertEquals(0, foodItemRepository.findById(id).orElseThrow().getQuantity());
+		assertEquals(0, foodItemService.getFoodById(id).getQuantity());
+		assertTrue(stats(CacheConfig.FOOD_ITEMS).hitCount() > hitsBefore, "readers should have been served from the cache");
+	}
+
+	@Test
+	void deleteAndCreateEvictCachedEntries() {
+		Long id = foodItemService.addFood(new FoodItem("Dal", 5, "Kondapur", null, 1L)).getId();
+		assertEquals(5, foodItemService.getFoodById(id).getQuantity());
+		foodItemService.deleteFoodItem(id);
+		assertNull(foodItemService.getFoodById(id));
+
+		// A cached miss for an id must not hide the listing once it exists
+		Long next = id + 1;
+		assertNull(foodItemService.getFoodById(next));
+		FoodItem created = foodItemService.addFood(new FoodItem("Roti", 3, "Kondapur", null, 1L));
+		assertEquals(created.getId(), foodItemService.getFoodById(created.getId()).getId());
+	}
+
+	@Test
+	void registrationInvalidatesCachedMissesUnderConcurrentLookups() throws Exception {
+		String prefix = UUID.randomUUID().toString().substring(0, 8);
+		ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+		for (int n = 0; n < 25; n++) {
+			String email = prefix + "-" + n + "@cache.test";
+			User user = new User(prefix + "-" + n, "Charity " + n, prefix + "-" + n, email, "pw", Role.CHARITY);
+
+			AtomicBoolean registering = new AtomicBoolean(true);
+			CountDownLatch readersRunning = new CountDownLatch(READERS);
+			List<Future<?>> readers = new ArrayList<>();
+			for (int r = 0; r < READERS; r++) {
+				readers.add(pool.submit(() -> {
+					readersRunning.countDown();
+					while (registering.get()) {
+						userRepository.findByEmail(email);
+						userRepository.findById(user.getId());
+					}
+					return null;
+				}));
+			}
+			readersRunning.await();
+			pool.submit(() -> userService.registerUser(user)).get();
+			registering.set(false);
+			for (Future<?> reader : readers) {
+				reader.get();
+			}
+
+			assertTrue(userRepository.findByEmail(email).isPresent(), "stale miss cached for " + email);
+			assertTrue(userRepository.findById(user.getId()).isPresent(), "stale miss cached for " + user.getId());
+		}
+		pool.shutdown();
+	}
+
+	private CacheStats stats(String cacheName) {
+		return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+	}
+}
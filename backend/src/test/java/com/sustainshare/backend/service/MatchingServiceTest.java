@@ -0,0 +1,157 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.sustainshare.backend.dto.MatchProposal;
+import com.sustainshare.backend.event.FoodListingEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+// Own database: charities added here would otherwise be candidates in other tests' contexts
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:matching-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.matching.auto-reserve=true" })
+class MatchingServiceTest {
+
+	@Autowired
+	private MatchingService matchingService;
+
+	@Autowired
+	private CharityLocationIndex charityLocationIndex;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private PickupScheduleRepository pickupScheduleRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	// Each test works around its own point so charities from other tests are out of range
+	private static double baseLat = 10.0;
+
+	@Test
+	void nearerCharityRanksFirstAndUnreachableOnesAreLeftOut() {
+		double lat = nextBase();
+		User near = charity(lat + 0.005, 20.0);   // ~0.5 km
+		User mid = charity(lat + 0.03, 20.0);     // ~3.3 km
+		User far = charity(lat + 0.08, 20.0);     // ~8.9 km, over 20 minutes at 25 km/h
+
+		List<MatchProposal> matches = matchingService.match(listing(lat, 20.0, 4, LocalDateTime.now().plusMinutes(15)));
+
+		assertEquals(List.of(near.getId(), mid.getId()), matches.stream().map(MatchProposal::getCharityId).toList());
+		assertTrue(matches.get(0).getScore() > matches.get(1).getScore());
+		assertFalse(matches.stream().anyMatch(m -> m.getCharityId().equals(far.getId())));
+	}
+
+	@Test
+	void recentlyBusyCharityRanksBelowAnIdleOneAtTheSameDistance() {
+		double lat = nextBase();
+		User busy = charity(lat + 0.01, 20.0);
+		User idle = charity(lat - 0.01, 20.0);
+		FoodItem claimed = listing(lat, 20.0, 0, null);
+		claimed.setId(Long.MAX_VALUE);
+		for (int i = 0; i < 5; i++) {
+			eventPublisher.publishEvent(FoodListingEvent.claimed(claimed, null, busy.getId()));
+		}
+
+		List<MatchProposal> matches = matchingService.match(listing(lat, 20.0, 4, null));
+
+		assertEquals(idle.getId(), matches.get(0).getCharityId());
+		assertTrue(matches.get(1).getLoadScore() < matches.get(0).getLoadScore());
+	}
+
+	@Test
+	void newListingIsReservedForTheBestMatch() throws Exception {
+		double lat = nextBase();
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		User charity = new User("charity-" + suffix, "Food Bank " + suffix, "fb" + suffix, "fb" + suffix + "@example.org", "pw", Role.CHARITY);
+		charity.setLatitude(lat + 0.002);
+		charity.setLongitude(20.0);
+		userService.registerUser(charity);
+
+		FoodItem item = new FoodItem("Biryani", 12, "Gachibowli", LocalDateTime.now().plusHours(3), 1L);
+		item.setLatitude(lat);
+		item.setLongitude(20.0);
+		Long id = foodItemService.addFood(item).getId();
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (pickupScheduleRepository.countByCharitySince(LocalDateTime.now().minusHours(1)).stream()
+				.noneMatch(row -> charity.getId().equals(row[0])) && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertEquals(0, foodItemService.getFoodById(id).getQuantity());
+	}
+
+	// mvn test -Dtest=MatchingServiceTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkMatchLatency() {
+		double lat = nextBase();
+		Random random = new Random(11);
+		// 50,000 charities across a 40 km square; a 10 km radius reaches about 8,000 of them
+		for (int i = 0; i < 50_000; i++) {
+			charity(lat + (random.nextDouble() - 0.5) * 0.36, 20.0 + (random.nextDouble() - 0.5) * 0.36);
+		}
+		for (int i = 0; i < 200; i++) {
+			matchingService.match(listing(lat, 20.0, 5, LocalDateTime.now().plusHours(2)));
+		}
+		int runs = 2_000;
+		long[] micros = new long[runs];
+		for (int i = 0; i < runs; i++) {
+			FoodItem item = listing(lat + (random.nextDouble() - 0.5) * 0.2, 20.0 + (random.nextDouble() - 0.5) * 0.2,
+					1 + random.nextInt(20), LocalDateTime.now().plusHours(2));
+			long start = System.nanoTime();
+			matchingService.match(item);
+			micros[i] = (System.nanoTime() - start) / 1000;
+		}
+		Arrays.sort(micros);
+		System.out.printf("%,d charities indexed: match p50 %.2f ms, p99 %.2f ms, max %.2f ms on %d CPUs%n",
+				charityLocationIndex.size(), micros[runs / 2] / 1e3, micros[runs * 99 / 100] / 1e3,
+				micros[runs - 1] / 1e3, Runtime.getRuntime().availableProcessors());
+	}
+
+	private static synchronized double nextBase() {
+		baseLat += 1.0;
+		return baseLat;
+	}
+
+	// Indexed only; not saved
+	private User charity(double lat, double lon) {
+		String id = UUID.randomUUID().toString();
+		User user = new User(id, "Charity " + id.substring(0, 8), id, id + "@example.org", "pw", Role.CHARITY);
+		user.setLatitude(lat);
+		user.setLongitude(lon);
+		charityLocationIndex.track(user);
+		return user;
+	}
+
+	private static FoodItem listing(double lat, double lon, int quantity, LocalDateTime expiry) {
+		FoodItem item = new FoodItem("Meals", quantity, "Somewhere", expiry, 1L);
+		item.setLatitude(lat);
+		item.setLongitude(lon);
+		return item;
+	}
+}
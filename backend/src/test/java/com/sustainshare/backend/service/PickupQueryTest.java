@@ -0,0 +1,169 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sustainshare.backend.dto.PickupView;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Own database: the benchmark fills the pickup table with millions of rows
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:pickup-query-test;DB_CLOSE_DELAY=-1" })
+class PickupQueryTest {
+
+	// The SQL Hibernate generates for the three lookups
+	private static final String SELECT = "select p.id, p.scheduled_time, p.status, p.quantity, f.name, c.name"
+			+ " from pickup_schedule p left join food_item f on f.id = p.food_item_id"
+			+ " left join users c on c.id = p.charity_id";
+	private static final String BY_FOOD = SELECT + " where p.food_item_id = %d order by p.scheduled_time, p.id";
+	private static final String BY_CHARITY = SELECT + " where p.charity_id = '%s'"
+			+ " and p.scheduled_time >= timestamp '%s' and p.scheduled_time < timestamp '%s'"
+			+ " order by p.scheduled_time, p.id fetch first 50 rows only";
+	private static final String BY_STATUS = SELECT + " where p.status = '%s'"
+			+ " and p.scheduled_time >= timestamp '%s' and p.scheduled_time < timestamp '%s'"
+			+ " order by p.scheduled_time, p.id fetch first 50 rows only";
+
+	@Autowired
+	private PickupScheduleService pickupScheduleService;
+
+	@Autowired
+	private PickupScheduleRepository pickupScheduleRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void lookupsByFoodCharityAndStatusUseTheirIndexes() {
+		User charity = userRepository.save(new User("pq-charity", "Seva Sadan", "pq", "pq@example.org", "pw", Role.CHARITY));
+		FoodItem food = foodItemRepository.save(new FoodItem("Upma", 9, "Secunderabad", null, null));
+		LocalDateTime base = LocalDateTime.of(2024, 6, 1, 10, 0); // before the benchmark's year
+		PickupSchedule later = save(base.plusHours(5), PickupStatus.SCHEDULED, food, charity);
+		PickupSchedule earlier = save(base.plusHours(1), PickupStatus.COMPLETED, food, charity);
+		save(base.plusDays(3), PickupStatus.SCHEDULED, null, charity);
+
+		assertEquals(List.of(earlier.getId(), later.getId()), ids(pickupScheduleService.getPickupsForFood(food.getId())));
+		assertEquals(List.of(earlier.getId(), later.getId()),
+				ids(pickupScheduleService.getPickupsForCharity(charity.getId(), base, base.plusDays(1), null)));
+		List<PickupView> scheduled = pickupScheduleService.getPickupsByStatus("scheduled", base, base.plusDays(1), null);
+		assertEquals(List.of(later.getId()), ids(scheduled));
+		assertEquals(PickupStatus.SCHEDULED, scheduled.get(0).getStatus());
+		assertThrows(IllegalArgumentException.class,
+				() -> pickupScheduleService.getPickupsByStatus("Lost", base, base.plusDays(1), null));
+		assertThrows(IllegalArgumentException.class,
+				() -> pickupScheduleService.getPickupsForCharity(charity.getId(), base, base.plusDays(40), null));
+
+		assertPlansUseIndexes(food.getId(), charity.getId(), base);
+	}
+
+	// mvn test -Dtest=PickupQueryTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkLookupsStayIndexBackedAsTheTableGrows() {
+		int charities = 1_000;
+		int foods = 100_000;
+		jdbcTemplate.update("insert into users (id, name, username, email, password, role)"
+				+ " select 'bench-c' || x, 'Charity ' || x, 'bench-c' || x, 'bench-c' || x || '@example.org', 'pw', 'CHARITY'"
+				+ " from system_range(0, ?)", charities - 1);
+		jdbcTemplate.update("insert into food_item (id, name, quantity, available, pickup_location)"
+				+ " select 50000000 + x, 'Bench food ' || x, 10, true, 'Hyderabad' from system_range(0, ?)", foods - 1);
+
+		Random random = new Random(42);
+		LocalDateTime yearStart = LocalDateTime.of(2025, 1, 1, 0, 0);
+		long inserted = 0;
+		for (long size : new long[] { 10_000, 100_000, 1_000_000 }) {
+			// Pickups spread over a year, across charities, listings and statuses
+			jdbcTemplate.update("insert into pickup_schedule (scheduled_time, status, quantity, charity_id, food_item_id)"
+					+ " select dateadd('SECOND', mod(x * 7919, 31536000), timestamp '2025-01-01 00:00:00'),"
+					+ " case mod(x, 5) when 0 then 'SCHEDULED' when 1 then 'IN_PROGRESS' when 2 then 'COMPLETED'"
+					+ " when 3 then 'MISSED' else 'CANCELLED' end,"
+					+ " 1, 'bench-c' || mod(x, ?), 50000000 + mod(x, ?)"
+					+ " from system_range(?, ?)", charities, foods, inserted + 1, size);
+			inserted = size;
+			jdbcTemplate.execute("analyze");
+
+			long[] food = new long[200];
+			long[] charity = new long[200];
+			long[] status = new long[200];
+			for (int i = 0; i < food.length; i++) {
+				LocalDateTime from = yearStart.plusHours(random.nextInt(24 * 358));
+				long start = System.nanoTime();
+				pickupScheduleService.getPickupsForFood(50_000_000L + random.nextInt(foods));
+				food[i] = System.nanoTime() - start;
+				start = System.nanoTime();
+				pickupScheduleService.getPickupsForCharity("bench-c" + random.nextInt(charities), from, from.plusDays(7), 50);
+				charity[i] = System.nanoTime() - start;
+				start = System.nanoTime();
+				pickupScheduleService.getPickupsByStatus("Scheduled", from, from.plusHours(6), 50);
+				status[i] = System.nanoTime() - start;
+			}
+			System.out.printf("%,10d pickups: by food p50 %s p99 %s | by charity+window p50 %s p99 %s"
+					+ " | by status+window p50 %s p99 %s%n", size,
+					micros(food, 50), micros(food, 99), micros(charity, 50), micros(charity, 99),
+					micros(status, 50), micros(status, 99));
+			assertPlansUseIndexes(50_000_000L + random.nextInt(foods), "bench-c" + random.nextInt(charities),
+					yearStart.plusDays(random.nextInt(300)));
+		}
+		System.out.println(plan(String.format(BY_CHARITY, "bench-c7", "2025-03-01 00:00:00", "2025-03-08 00:00:00")));
+	}
+
+	private void assertPlansUseIndexes(long foodItemId, String charityId, LocalDateTime from) {
+		String start = from.toString().replace('T', ' ');
+		String end = from.plusDays(7).toString().replace('T', ' ');
+		// H2 may seek on the index it creates for the food_item_id foreign key instead; both are seeks
+		assertSeeks("FOOD_ITEM_ID =", String.format(BY_FOOD, foodItemId));
+		assertSeeks("IDX_PICKUP_CHARITY_TIME", String.format(BY_CHARITY, charityId, start, end));
+		assertSeeks("IDX_PICKUP_STATUS_TIME", String.format(BY_STATUS, "SCHEDULED", start, end));
+	}
+
+	// The access path H2 reports for the pickup table: an index condition, not a table scan
+	private void assertSeeks(String expected, String sql) {
+		String plan = plan(sql);
+		int from = plan.indexOf("\"PICKUP_SCHEDULE\" \"P\"");
+		String access = plan.substring(from, plan.indexOf("*/", from));
+		assertTrue(access.contains(expected) && !access.contains("tableScan"), plan);
+	}
+
+	private String plan(String sql) {
+		return jdbcTemplate.queryForObject("explain " + sql, String.class);
+	}
+
+	private PickupSchedule save(LocalDateTime at, PickupStatus status, FoodItem food, User charity) {
+		return pickupScheduleRepository.save(new PickupSchedule(at, status, food, charity));
+	}
+
+	private static List<Long> ids(List<PickupView> rows) {
+		return rows.stream().map(PickupView::getId).toList();
+	}
+
+	private static String micros(long[] nanos, int percentile) {
+		long[] sorted = nanos.clone();
+		Arrays.sort(sorted);
+		return String.format("%,d us", sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1000);
+	}
+}
@@ -0,0 +1,229 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sustainshare.backend.dto.StatsTotals;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Own database: the sweeps mark every overdue pickup in the database as missed
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:mem:pickup-slot-test;DB_CLOSE_DELAY=-1",
+		"sustainshare.slots.length=PT30M",
+		"sustainshare.slots.location-capacity=2",
+		"sustainshare.slots.missed-after=PT2H",
+		"sustainshare.slots.tick=PT1M",
+		"sustainshare.slots.wheel-size=1440" })
+class PickupSlotSchedulerTest {
+
+	@Autowired
+	private FoodClaimService foodClaimService;
+
+	@Autowired
+	private PickupScheduleService pickupScheduleService;
+
+	@Autowired
+	private MissedPickupSweeper missedPickupSweeper;
+
+	@Autowired
+	private PickupSlotScheduler pickupSlotScheduler;
+
+	@Autowired
+	private FoodItemService foodItemService;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private PickupScheduleRepository pickupScheduleRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private DonationStatsService donationStatsService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void overlappingSlotsAreRejected() {
+		User annapurna = charity("slot-a");
+		User roti = charity("slot-b");
+		User seva = charity("slot-c");
+		Long idli = food("Idli", "Madhapur");
+		Long dosa = food("Dosa", " madhapur ");
+		Long upma = food("Upma", "Kondapur");
+		LocalDateTime ten = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.DAYS).plusHours(10);
+
+		foodClaimService.claim(idli, annapurna.getId(), 1, ten);
+		// Same location in an overlapping slot: collected in the same visit
+		foodClaimService.claim(dosa, annapurna.getId(), 1, ten.plusMinutes(10));
+		// Elsewhere while the charity is still at Madhapur (until 10:40)
+		assertThrows(ClaimRejectedException.class, () -> foodClaimService.claim(upma, annapurna.getId(), 1, ten.plusMinutes(20)));
+		foodClaimService.claim(upma, annapurna.getId(), 1, ten.plusMinutes(40));
+
+		// Madhapur serves two charities at a time
+		PickupSchedule second = foodClaimService.claim(idli, roti.getId(), 1, ten);
+		assertThrows(ClaimRejectedException.class, () -> foodClaimService.claim(dosa, seva.getId(), 1, ten.plusMinutes(15)));
+		// The rejected claim left nothing behind
+		assertEquals(9, quantity(dosa));
+		assertEquals(3, pickupScheduleService.getPickupsForCharity(annapurna.getId(), ten, ten.plusDays(1), null).size());
+		assertTrue(pickupScheduleService.getPickupsForCharity(seva.getId(), ten, ten.plusDays(1), null).isEmpty());
+
+		// A cancelled pickup frees its slot and gives its portion back
+		assertEquals(8, quantity(idli));
+		pickupScheduleService.deletePickup(second.getId());
+		assertEquals(9, quantity(idli));
+		assertEquals(9, foodItemService.getFoodById(idli).getQuantity());
+		foodClaimService.claim(dosa, seva.getId(), 1, ten.plusMinutes(15));
+	}
+
+	@Test
+	void cancellingAFullClaimMakesTheListingClaimableAgain() {
+		User charity = charity("slot-cancel");
+		Long khichdi = food("Khichdi", "Begumpet");
+		LocalDateTime noon = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS).plusHours(12);
+		PickupSchedule all = foodClaimService.claim(khichdi, charity.getId(), null, noon);
+		assertEquals(0, quantity(khichdi));
+		assertThrows(ClaimRejectedException.class, () -> foodClaimService.claim(khichdi, charity.getId(), 1, noon.plusHours(2)));
+
+		pickupScheduleService.deletePickup(all.getId());
+		assertEquals(10, quantity(khichdi));
+		assertFalse(pickupScheduleRepository.existsById(all.getId()));
+		foodClaimService.claim(khichdi, charity.getId(), 4, noon.plusHours(2));
+		assertEquals(6, quantity(khichdi));
+
+		// A completed pickup keeps its portions
+		PickupSchedule done = foodClaimService.claim(khichdi, charity.getId(), 2, noon.plusHours(4));
+		done.setStatus(PickupStatus.COMPLETED);
+		pickupScheduleRepository.save(done);
+		pickupScheduleService.deletePickup(done.getId());
+		assertEquals(4, quantity(khichdi));
+	}
+
+	@Test
+	void overduePickupsTurnMissedAndReleaseTheirFood() {
+		User charity = charity("slot-missed");
+		Long rice = food("Rice", "Ameerpet");
+		LocalDateTime now = LocalDateTime.now();
+		PickupSchedule late = foodClaimService.claim(rice, charity.getId(), 4, now.minusHours(3));
+		PickupSchedule done = foodClaimService.claim(rice, charity.getId(), 1, now.plusMinutes(30));
+		done.setStatus(PickupStatus.COMPLETED);
+		pickupScheduleRepository.save(done);
+		PickupSchedule soon = foodClaimService.claim(rice, charity.getId(), 3, now.plusHours(1));
+		// Beyond the one-day wheel: read from the database once the wheel gets there
+		PickupSchedule nextWeek = foodClaimService.claim(rice, null, 2, now.plusDays(7));
+		assertEquals(0, quantity(rice));
+		assertPickupStats(charity, 3, 8);
+
+		missedPickupSweeper.sweep(now.plusMinutes(2));
+		assertEquals(PickupStatus.MISSED, status(late));
+		assertPickupStats(charity, 2, 4);
+		assertEquals(PickupStatus.COMPLETED, status(done));
+		assertEquals(PickupStatus.SCHEDULED, status(soon));
+		assertEquals(4, quantity(rice));
+		assertEquals(4, foodItemService.getFoodById(rice).getQuantity());
+
+		missedPickupSweeper.sweep(now.plusHours(3).plusMinutes(2));
+		assertEquals(PickupStatus.MISSED, status(soon));
+		assertEquals(PickupStatus.COMPLETED, status(done));
+		assertEquals(PickupStatus.SCHEDULED, status(nextWeek));
+		assertEquals(7, quantity(rice));
+		// Missed pickups stay out of the stats, live and rebuilt
+		assertPickupStats(charity, 1, 1);
+		donationStatsService.rebuild();
+		assertPickupStats(charity, 1, 1);
+
+		// Far past the horizon: the wheel restarts and the rest is found in the database
+		missedPickupSweeper.sweep(now.plusDays(7).plusHours(2).plusMinutes(2));
+		assertEquals(PickupStatus.MISSED, status(nextWeek));
+		assertEquals(9, quantity(rice));
+		assertFalse(pickupScheduleService.getPickupsByStatus("Missed", now.minusHours(4), now.plusDays(8), null).isEmpty());
+		// Released portions can be claimed again, and sweeping twice changes nothing
+		foodClaimService.claim(rice, null, 9, now.plusDays(8));
+		assertEquals(0, missedPickupSweeper.sweep(now.plusDays(7).plusHours(2).plusMinutes(3)));
+	}
+
+	// mvn test -Dtest=PickupSlotSchedulerTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkTickCostStaysFlatAsPendingPickupsGrow() {
+		int ticks = 300;
+		int warmup = 50;
+		long pending = 0;
+		LocalDateTime start = LocalDateTime.of(2031, 1, 1, 0, 0);
+		for (long size : new long[] { 10_000, 100_000, 1_000_000, 2_000_000 }) {
+			// The backlog: pickups spread over the following years, beyond the wheel's one day
+			jdbcTemplate.update("insert into pickup_schedule (scheduled_time, status, quantity)"
+					+ " select dateadd('SECOND', mod(x * 7919, 94608000), timestamp '2032-01-01 00:00:00'), 'SCHEDULED', 1"
+					+ " from system_range(?, ?)", pending + 1, size);
+			pending = size;
+			// And the same two overdue pickups per minute over the measured ticks every time
+			jdbcTemplate.update("insert into pickup_schedule (scheduled_time, status, quantity)"
+					+ " select dateadd('SECOND', x * 30, cast(? as timestamp)), 'SCHEDULED', 1 from system_range(0, ?)",
+					start.minusHours(2), 2 * (warmup + ticks) - 1);
+			jdbcTemplate.execute("analyze");
+
+			long began = System.nanoTime();
+			pickupSlotScheduler.restart(start);
+			long restart = System.nanoTime() - began;
+			long[] tick = new long[ticks];
+			int missed = 0;
+			for (int i = 0; i < warmup + ticks; i++) {
+				began = System.nanoTime();
+				missed += missedPickupSweeper.sweep(start.plusMinutes(i + 1));
+				if (i >= warmup) {
+					tick[i - warmup] = System.nanoTime() - began;
+				}
+			}
+			Arrays.sort(tick);
+			System.out.printf("%,10d pending: restart %,d ms | tick p50 %,d us p99 %,d us | %d missed%n",
+					size, restart / 1_000_000, tick[ticks / 2] / 1000, tick[ticks * 99 / 100] / 1000, missed);
+			assertEquals(2 * (warmup + ticks), missed);
+			start = start.plusDays(1);
+		}
+	}
+
+	private void assertPickupStats(User charity, long pickups, long portions) {
+		StatsTotals totals = donationStatsService.getCharityTotals(charity.getId());
+		assertEquals(pickups, totals.getPickups());
+		assertEquals(portions, totals.getPortionsPickedUp());
+	}
+
+	private User charity(String id) {
+		return userRepository.save(new User(id, "Charity " + id, id, id + "@example.org", "pw", Role.CHARITY));
+	}
+
+	private Long food(String name, String location) {
+		return foodItemService.addFood(new FoodItem(name, 10, location, null, null)).getId();
+	}
+
+	private int quantity(Long foodItemId) {
+		return foodItemRepository.findById(foodItemId).orElseThrow().getQuantity();
+	}
+
+	private PickupStatus status(PickupSchedule pickup) {
+		return pickupScheduleRepository.findById(pickup.getId()).orElseThrow().getStatus();
+	}
+}
@@ -0,0 +1,115 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.dto.CursorPage;
+import com.sustainshare.backend.dto.DonationLogView;
+import com.sustainshare.backend.dto.PickupView;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.PickupStatus;
+import com.sustainshare.backend.model.Role;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		// The outbox relay polls in the background and would show up in the counts
+		"sustainshare.outbox.relay-enabled=false" })
+class ReadModelQueryCountTest {
+
+	private static final int ROWS = 40;
+
+	@Autowired
+	private DonationLogService donationLogService;
+
+	@Autowired
+	private PickupScheduleService pickupScheduleService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private DonationLogRepository donationLogRepository;
+
+	@Autowired
+	private PickupScheduleRepository pickupScheduleRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private String charityId;
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		String suffix = Long.toString(System.nanoTime());
+		charityId = "charity-" + suffix;
+		User charity = userRepository.save(new User(charityId, "Roti Bank", "roti" + suffix, "roti" + suffix + "@example.org", "pw", Role.CHARITY));
+		for (int i = 0; i < ROWS; i++) {
+			// A different donor and food item per row is the worst case for per-row selects
+			User donor = userRepository.save(new User("donor-" + suffix + "-" + i, "Donor " + i,
+					"donor" + suffix + "-" + i, "donor" + suffix + "-" + i + "@example.org", "pw", Role.DONOR));
+			FoodItem food = foodItemRepository.save(new FoodItem("Meal " + i, 10, "Secunderabad", null, null));
+			donationLogRepository.save(new DonationLog(donor, charity, food, LocalDateTime.now()));
+			pickupScheduleRepository.save(new PickupSchedule(LocalDateTime.now(), PickupStatus.SCHEDULED, food, charity));
+		}
+	}
+
+	@Test
+	void donationPagesTakeOneStatementEach() {
+		statistics.clear();
+		CursorPage<DonationLogView> first = donationLogService.getDonationViews(null, 25, null, charityId);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(25, first.getItems().size());
+		assertNotNull(first.getItems().get(0).getDonorName());
+
+		statistics.clear();
+		CursorPage<DonationLogView> second = donationLogService.getDonationViews(first.getNextCursor(), 25, null, charityId);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(ROWS - 25, second.getItems().size());
+		assertNull(second.getNextCursor());
+	}
+
+	@Test
+	void pickupPagesTakeOneStatementEach() {
+		statistics.clear();
+		CursorPage<PickupView> page = pickupScheduleService.getPickupViews(null, ROWS, charityId, "Scheduled");
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(ROWS, page.getItems().size());
+		assertEquals("Roti Bank", page.getItems().get(0).getCharityName());
+	}
+
+	@Test
+	void entityListsNoLongerSelectPerRow() {
+		statistics.clear();
+		List<DonationLog> donations = donationLogService.getAllDonations();
+		List<PickupSchedule> pickups = pickupScheduleService.getAllPickups();
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertNotNull(donations.get(donations.size() - 1).getDonor().getName());
+		assertNotNull(pickups.get(pickups.size() - 1).getFoodItem().getName());
+	}
+}
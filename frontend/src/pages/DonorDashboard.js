@@ -17,6 +17,7 @@ import {
 import { AuthContext } from "../contexts/AuthContext";
 import { getAllFoodItems } from "../data/indianFoodData";
 import MapView from "../components/MapView";
+import { addressToCoordinates } from "../utils/geocode";
 import "./DonorDashboard.css";
 
 const DonorDashboard = () => {
@@ -131,8 +132,12 @@ const DonorDashboard = () => {
     setIsSubmitting(true);
 
     try {
+      // Geocode once at write time so the backend can answer "what's near me"
+      const coords = await addressToCoordinates(formData.pickupLocation);
       const donationData = {
         ...formData,
+        latitude: coords ? coords[0] : null,
+        longitude: coords ? coords[1] : null,
         id: `food_${Date.now()}`,
         createdAt: new Date().toISOString(),
         status: "available",
@@ -34,7 +34,16 @@ const TrackPickup = () => {
 
       // Try to fetch pickup schedule
       const pickupRes = await API.get(`/pickups/food/${donationId}`);
-      setPickupData(pickupRes.data);
+      // Every pickup of the listing comes back, earliest first; track the latest one
+      const pickups = Array.isArray(pickupRes.data) ? pickupRes.data : [pickupRes.data];
+      if (pickups.length === 0) {
+        throw new Error("No pickup scheduled for this donation yet");
+      }
+      const latest = pickups[pickups.length - 1];
+      setPickupData({
+        ...latest,
+        charity: latest.charity || { id: latest.charityId, name: latest.charityName },
+      });
     } catch (error) {
       console.error("Error fetching tracking data:", error);
 
@@ -0,0 +1,105 @@
+package com.sustainshare.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Sends the frontend's requests and times each one into its endpoint's stats. HTTP/1.1 like the
+// browser; the shared client pools connections across all virtual users.
+final class ApiClient {
+
+    record Response(int status, String body) {
+
+        boolean isOk() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    ApiClient(URI baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    EndpointStats stats(Endpoint endpoint) {
+        return stats.get(endpoint);
+    }
+
+    // Not timed: account setup before the run. 400 means the account is there already.
+    Response signup(Map<String, Object> user) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(post("/api/auth/signup", user), HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    Response login(String email, String password) throws InterruptedException {
+        return send(Endpoint.LOGIN, post("/api/auth/login", Map.of("email", email, "password", password)));
+    }
+
+    Response postFood(Map<String, Object> listing) throws InterruptedException {
+        return send(Endpoint.POST_FOOD, post("/api/food", listing));
+    }
+
+    Response getFood() throws InterruptedException {
+        return send(Endpoint.GET_FOOD, request("/api/food").GET().build());
+    }
+
+    Response postPickup(Map<String, Object> pickup) throws InterruptedException {
+        return send(Endpoint.POST_PICKUP, post("/api/pickups", pickup));
+    }
+
+    JsonNode parse(String body) throws JsonProcessingException {
+        return json.readTree(body);
+    }
+
+    // null when the request got no response; the failure is counted
+    private Response send(Endpoint endpoint, HttpRequest request) throws InterruptedException {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.record((System.nanoTime() - started) / 1000, response.statusCode());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            endpointStats.fail(e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout);
+    }
+}
@@ -0,0 +1,30 @@
+package com.sustainshare.loadtest;
+
+import java.util.SplittableRandom;
+
+// Gaps between session arrivals of an open workload: sessions start on this schedule whatever
+// the backend's response times, so a slow backend builds up concurrent sessions instead of
+// quietly receiving less traffic. Poisson arrivals (exponential gaps) or a constant rate.
+final class Arrivals {
+
+    private final double meanGapNanos;
+    private final boolean poisson;
+    private final SplittableRandom random;
+
+    Arrivals(double ratePerSecond, boolean poisson, long seed) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        this.meanGapNanos = 1e9 / ratePerSecond;
+        this.poisson = poisson;
+        this.random = new SplittableRandom(seed);
+    }
+
+    long nextGapNanos() {
+        if (!poisson) {
+            return Math.round(meanGapNanos);
+        }
+        // 1 - nextDouble() is in (0, 1], so the log is finite
+        return Math.round(-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+    }
+}
@@ -0,0 +1,19 @@
+package com.sustainshare.loadtest;
+
+// The requests the frontend makes, one latency histogram each
+enum Endpoint {
+    LOGIN("POST /api/auth/login"),
+    POST_FOOD("POST /api/food"),
+    GET_FOOD("GET /api/food"),
+    POST_PICKUP("POST /api/pickups");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sustainshare.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Latencies (microseconds, 3 significant digits) and outcomes of one endpoint. Safe to record
+// from any number of threads; 409 is counted apart from failures because losing a claim race
+// or a clashing pickup slot is a normal answer under load.
+final class EndpointStats {
+
+    private final Recorder latencies = new Recorder(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    void record(long micros, int status) {
+        latencies.recordValue(Math.max(1, micros));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status == 409) {
+            conflicts.increment();
+        } else {
+            fail(String.valueOf(status));
+        }
+    }
+
+    // No response at all (timeout, refused connection); not in the latency histogram
+    void fail(String reason) {
+        failures.computeIfAbsent(reason, k -> new LongAdder()).increment();
+    }
+
+    // Everything recorded since the previous call, the latencies handed over and the counts copied
+    Snapshot snapshot() {
+        Map<String, Long> failed = new TreeMap<>();
+        failures.forEach((reason, count) -> failed.put(reason, count.sum()));
+        return new Snapshot(latencies.getIntervalHistogram(), ok.sum(), conflicts.sum(), failed);
+    }
+
+    record Snapshot(Histogram latencies, long ok, long conflicts, Map<String, Long> failures) {
+
+        long failed() {
+            return failures.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        long requests() {
+            return ok + conflicts + failed();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        ok.reset();
+        conflicts.reset();
+        failures.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package com.sustainshare.loadtest;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load test of a running backend. Donor and charity sessions arrive at fixed rates,
+// each on its own virtual thread, for a warmup and then the measured duration; the report has
+// throughput and latency percentiles per endpoint over the measured part only.
+public final class LoadTest {
+
+    private interface Session {
+        void run() throws InterruptedException;
+    }
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+    private final Scenarios scenarios;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder crashed = new LongAdder();
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.api = new ApiClient(config.baseUrl(), config.requestTimeout());
+        this.scenarios = new Scenarios(api, config);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + " (options are listed in LoadTestConfig)");
+            System.exit(2);
+            return;
+        }
+        new LoadTest(config).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        System.out.printf("Signing up %d donors and %d charities at %s%n", config.donors(), config.charities(), config.baseUrl());
+        scenarios.createAccounts();
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        Thread donors = arrivals("donor", config.donorRate(), config.seed(), start, end, scenarios::donorSession);
+        Thread charities = arrivals("charity", config.charityRate(), config.seed() + 1, start, end, scenarios::charitySession);
+        System.out.printf("Warming up for %s, then measuring for %s (%.1f donor + %.1f charity sessions/s, %s arrivals)%n",
+                config.warmup(), config.duration(), config.donorRate(), config.charityRate(),
+                config.poisson() ? "poisson" : "constant");
+
+        sleepUntil(measureFrom);
+        for (Endpoint endpoint : Endpoint.values()) {
+            api.stats(endpoint).reset();
+        }
+        started.reset();
+        dropped.reset();
+        crashed.reset();
+        peak.set(active.get());
+
+        sleepUntil(end);
+        Map<Endpoint, EndpointStats.Snapshot> measured = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            measured.put(endpoint, api.stats(endpoint).snapshot());
+        }
+        Report report = new Report(config, measured, started.sum(), dropped.sum(), crashed.sum(), peak.get());
+
+        // Sessions still running are cut off; they are outside the measured window anyway
+        donors.join();
+        charities.join();
+        sessions.shutdownNow();
+        sessions.awaitTermination(10, TimeUnit.SECONDS);
+        report.print(System.out);
+        report.writeHistograms();
+    }
+
+    // Starts sessions on the arrival schedule until end; the schedule never waits for responses
+    private Thread arrivals(String name, double rate, long seed, long start, long end, Session session) {
+        return Thread.ofPlatform().name("arrivals-" + name).start(() -> {
+            if (rate <= 0) {
+                return;
+            }
+            Arrivals gaps = new Arrivals(rate, config.poisson(), seed);
+            long next = start + gaps.nextGapNanos();
+            while (next < end) {
+                LockSupport.parkNanos(next - System.nanoTime());
+                if (System.nanoTime() < next) {
+                    continue; // woke early
+                }
+                begin(session);
+                next += gaps.nextGapNanos();
+            }
+        });
+    }
+
+    private void begin(Session session) {
+        if (active.get() >= config.maxSessions()) {
+            dropped.increment();
+            return;
+        }
+        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+        started.increment();
+        try {
+            sessions.execute(() -> {
+                try {
+                    session.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    crashed.increment();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            active.decrementAndGet(); // shutting down
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long left;
+        while ((left = nanoTime - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(left);
+        }
+    }
+}
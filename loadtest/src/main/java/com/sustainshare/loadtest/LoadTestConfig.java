@@ -0,0 +1,90 @@
+package com.sustainshare.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command line options, each key=value (a leading "--" is allowed):
+//   base-url         backend to load (http://localhost:8080)
+//   donor-rate       donor sessions started per second (1)
+//   charity-rate     charity sessions started per second (10)
+//   arrivals         poisson (exponential gaps) or constant (poisson)
+//   warmup           run before measuring starts (PT15S)
+//   duration         measured run (PT1M)
+//   donors           donor accounts signed up and logged in as (50)
+//   charities        charity accounts (500)
+//   listings         listings a donor session posts, at most (3)
+//   polls            GET /api/food polls per charity session before it claims (3)
+//   think            mean pause between a user's requests (PT2S)
+//   request-timeout  per request (PT30S)
+//   max-sessions     concurrent sessions; arrivals beyond it are counted as dropped (100000)
+//   report-dir       percentile distributions (.hgrm) per endpoint (target/loadtest)
+//   seed             random seed (42)
+public record LoadTestConfig(
+        URI baseUrl,
+        double donorRate,
+        double charityRate,
+        boolean poisson,
+        Duration warmup,
+        Duration duration,
+        int donors,
+        int charities,
+        int listings,
+        int polls,
+        Duration think,
+        Duration requestTimeout,
+        int maxSessions,
+        Path reportDir,
+        long seed) {
+
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(option.substring(0, eq), option.substring(eq + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(stripSlash(take(options, "base-url", "http://localhost:8080"))),
+                Double.parseDouble(take(options, "donor-rate", "1")),
+                Double.parseDouble(take(options, "charity-rate", "10")),
+                switch (take(options, "arrivals", "poisson")) {
+                    case "poisson" -> true;
+                    case "constant" -> false;
+                    default -> throw new IllegalArgumentException("arrivals must be poisson or constant");
+                },
+                Duration.parse(take(options, "warmup", "PT15S")),
+                Duration.parse(take(options, "duration", "PT1M")),
+                Integer.parseInt(take(options, "donors", "50")),
+                Integer.parseInt(take(options, "charities", "500")),
+                Integer.parseInt(take(options, "listings", "3")),
+                Integer.parseInt(take(options, "polls", "3")),
+                Duration.parse(take(options, "think", "PT2S")),
+                Duration.parse(take(options, "request-timeout", "PT30S")),
+                Integer.parseInt(take(options, "max-sessions", "100000")),
+                Path.of(take(options, "report-dir", "target/loadtest")),
+                Long.parseLong(take(options, "seed", "42")));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+        if (config.donorRate < 0 || config.charityRate < 0 || config.donors < 1 || config.charities < 1
+                || config.listings < 1 || config.polls < 1 || config.maxSessions < 1 || config.duration.isZero()) {
+            throw new IllegalArgumentException("Rates must not be negative; counts and duration must be positive");
+        }
+        return config;
+    }
+
+    private static String take(Map<String, String> options, String key, String defaultValue) {
+        String value = options.remove(key);
+        return value == null ? defaultValue : value;
+    }
+
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
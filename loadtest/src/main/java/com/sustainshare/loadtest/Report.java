@@ -0,0 +1,67 @@
+package com.sustainshare.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+// Throughput and latency percentiles per endpoint over the measured window, plus each
+// endpoint's full percentile distribution as an .hgrm file (milliseconds) for the HdrHistogram
+// plotter. Latencies exclude requests that got no response; those count as failed.
+final class Report {
+
+    private final LoadTestConfig config;
+    private final Map<Endpoint, EndpointStats.Snapshot> measured;
+    private final long sessionsStarted;
+    private final long sessionsDropped;
+    private final long sessionsCrashed;
+    private final int peakSessions;
+
+    Report(LoadTestConfig config, Map<Endpoint, EndpointStats.Snapshot> measured,
+           long sessionsStarted, long sessionsDropped, long sessionsCrashed, int peakSessions) {
+        this.config = config;
+        this.measured = measured;
+        this.sessionsStarted = sessionsStarted;
+        this.sessionsDropped = sessionsDropped;
+        this.sessionsCrashed = sessionsCrashed;
+        this.peakSessions = peakSessions;
+    }
+
+    void print(PrintStream out) {
+        double seconds = config.duration().toNanos() / 1e9;
+        out.printf(Locale.ROOT, "%nSessions: %d started (%.1f/s), %d dropped at max-sessions, %d crashed, %d at most at once%n",
+                sessionsStarted, sessionsStarted / seconds, sessionsDropped, sessionsCrashed, peakSessions);
+        out.printf(Locale.ROOT, "%-22s %9s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "ok", "409", "failed", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats.Snapshot stats = measured.get(endpoint);
+            Histogram histogram = stats.latencies();
+            out.printf(Locale.ROOT, "%-22s %9d %9.1f %9d %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.label(), stats.requests(), stats.requests() / seconds, stats.ok(), stats.conflicts(),
+                    stats.failed(), millis(histogram, 50), millis(histogram, 95), millis(histogram, 99),
+                    histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+            if (stats.failed() > 0) {
+                out.printf("%-22s failures %s%n", "", stats.failures());
+            }
+        }
+    }
+
+    void writeHistograms() throws IOException {
+        Files.createDirectories(config.reportDir());
+        for (Endpoint endpoint : Endpoint.values()) {
+            Path file = config.reportDir().resolve(endpoint.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                measured.get(endpoint).latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Latency distributions written to " + config.reportDir().toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
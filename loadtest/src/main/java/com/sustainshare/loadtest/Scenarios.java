@@ -0,0 +1,152 @@
+package com.sustainshare.loadtest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// One session of a donor or a charity, shaped on what the frontend does: log in, then the
+// donor dashboard posts listings, the charity dashboard polls the food list and schedules a
+// pickup. Pauses between requests are exponential around the configured think time.
+final class Scenarios {
+
+    // Areas the donor form is typically filled in with, and roughly where they are
+    private static final String[] AREAS = { "Charminar", "Madhapur", "Gachibowli", "Kondapur", "Ameerpet",
+            "Secunderabad", "Banjara Hills", "Jubilee Hills", "Kukatpally", "Begumpet" };
+    private static final double CITY_LAT = 17.385;
+    private static final double CITY_LON = 78.4867;
+    private static final String[] FOODS = { "Rice", "Dal", "Chapati", "Biryani", "Idli", "Sambar", "Upma",
+            "Khichdi", "Bread", "Fruit" };
+
+    private final ApiClient api;
+    private final LoadTestConfig config;
+
+    Scenarios(ApiClient api, LoadTestConfig config) {
+        this.api = api;
+        this.config = config;
+    }
+
+    static String donorEmail(int i) {
+        return "lt-donor-" + i + "@loadtest.local";
+    }
+
+    static String charityEmail(int i) {
+        return "lt-charity-" + i + "@loadtest.local";
+    }
+
+    // Signs up the accounts the sessions log in as; existing ones are kept
+    void createAccounts() throws IOException, InterruptedException {
+        for (int i = 0; i < config.donors(); i++) {
+            signup("lt-donor-" + i, donorEmail(i), "donor");
+        }
+        for (int i = 0; i < config.charities(); i++) {
+            signup("lt-charity-" + i, charityEmail(i), "charity");
+        }
+    }
+
+    void donorSession() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int donor = random.nextInt(config.donors());
+        if (!loggedIn(donorEmail(donor))) {
+            return;
+        }
+        int listings = 1 + random.nextInt(config.listings());
+        for (int i = 0; i < listings; i++) {
+            think(random);
+            int area = random.nextInt(AREAS.length);
+            Map<String, Object> listing = new HashMap<>();
+            listing.put("name", FOODS[random.nextInt(FOODS.length)]);
+            listing.put("quantity", 5 + random.nextInt(46));
+            listing.put("pickupLocation", AREAS[area] + ", Hyderabad");
+            listing.put("latitude", CITY_LAT + (area - AREAS.length / 2) * 0.01 + random.nextDouble(-0.005, 0.005));
+            listing.put("longitude", CITY_LON + (area % 3 - 1) * 0.02 + random.nextDouble(-0.005, 0.005));
+            listing.put("expiryTime", LocalDateTime.now().plusHours(2 + random.nextInt(22))
+                    .truncatedTo(ChronoUnit.MINUTES).toString());
+            api.postFood(listing);
+        }
+    }
+
+    void charitySession() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int charity = random.nextInt(config.charities());
+        if (!loggedIn(charityEmail(charity))) {
+            return;
+        }
+        List<Long> available = List.of();
+        for (int poll = 0; poll < config.polls(); poll++) {
+            think(random);
+            ApiClient.Response food = api.getFood();
+            if (food != null && food.isOk()) {
+                available = availableIds(food.body());
+            }
+        }
+        if (available.isEmpty()) {
+            return;
+        }
+        think(random);
+        // Like the claim dialog, a clock time the charity types in: here the next eight hours on a
+        // 15 minute grid. Unlike the frontend it asks for a few portions rather than the whole
+        // listing, so listings last long enough to be contended.
+        LocalDateTime next = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        next = next.plusMinutes(15 - next.getMinute() % 15);
+        LocalDateTime scheduled = next.plusMinutes(15L * random.nextInt(32));
+        Map<String, Object> pickup = new HashMap<>();
+        pickup.put("scheduledTime", scheduled.toString());
+        pickup.put("foodItem", Map.of("id", available.get(random.nextInt(available.size()))));
+        pickup.put("charity", Map.of("id", "lt-charity-" + charity));
+        pickup.put("status", "Scheduled");
+        pickup.put("quantity", 1 + random.nextInt(3));
+        api.postPickup(pickup);
+    }
+
+    private boolean loggedIn(String email) throws InterruptedException {
+        ApiClient.Response response = api.login(email, "loadtest");
+        return response != null && response.isOk();
+    }
+
+    private List<Long> availableIds(String body) {
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (JsonNode item : api.parse(body)) {
+                if (item.path("available").asBoolean(true) && item.path("quantity").asInt() > 0) {
+                    ids.add(item.path("id").asLong());
+                }
+            }
+        } catch (IOException e) {
+            // Counted as a successful request; the session just has nothing to claim
+        }
+        return ids;
+    }
+
+    private void think(ThreadLocalRandom random) throws InterruptedException {
+        long mean = config.think().toMillis();
+        if (mean > 0) {
+            Thread.sleep(Math.round(-Math.log(1.0 - random.nextDouble()) * mean));
+        }
+    }
+
+    private void signup(String id, String email, String role) throws IOException, InterruptedException {
+        Map<String, Object> user = new HashMap<>();
+        user.put("id", id);
+        user.put("name", id);
+        user.put("username", id);
+        user.put("email", email);
+        user.put("password", "loadtest");
+        user.put("role", role);
+        if (role.equals("charity")) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            user.put("latitude", CITY_LAT + random.nextDouble(-0.05, 0.05));
+            user.put("longitude", CITY_LON + random.nextDouble(-0.05, 0.05));
+        }
+        ApiClient.Response response = api.signup(user);
+        if (!response.isOk() && response.status() != 400) {
+            throw new IOException("Signup of " + id + " failed with " + response.status() + ": " + response.body());
+        }
+    }
+}
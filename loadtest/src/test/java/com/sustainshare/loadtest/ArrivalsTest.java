@@ -0,0 +1,49 @@
+package com.sustainshare.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class ArrivalsTest {
+
+	@Test
+	void constantRateSpacesArrivalsEvenly() {
+		Arrivals arrivals = new Arrivals(4, false, 1);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(250_000_000L, arrivals.nextGapNanos());
+		}
+	}
+
+	@Test
+	void poissonArrivalsKeepTheRateOnAverage() {
+		Arrivals arrivals = new Arrivals(50, true, 7);
+		int samples = 200_000;
+		double total = 0;
+		double squares = 0;
+		for (int i = 0; i < samples; i++) {
+			double gap = arrivals.nextGapNanos();
+			assertTrue(gap >= 0);
+			total += gap;
+			squares += gap * gap;
+		}
+		double mean = total / samples;
+		double stddev = Math.sqrt(squares / samples - mean * mean);
+		// Exponential gaps: mean 1/rate (20 ms) and a standard deviation as large as the mean
+		assertEquals(20_000_000, mean, 200_000);
+		assertEquals(mean, stddev, mean * 0.02);
+	}
+
+	@Test
+	void configReadsKeyValueOptions() {
+		LoadTestConfig config = LoadTestConfig.parse("--charity-rate=25", "duration=PT30S", "base-url=http://localhost:9090/");
+		assertEquals(25, config.charityRate());
+		assertEquals(Duration.ofSeconds(30), config.duration());
+		assertEquals("http://localhost:9090", config.baseUrl().toString());
+		assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("charity-rate"));
+		assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("users=10"));
+	}
+}